@@ -0,0 +1,83 @@
+import java.util.*;
+
+/**
+ * Measures the Bloom prefilter on the neighbor-generation workload: every word in the
+ * dictionary probes 25 candidates per letter, as {@link Word#getNeighbors()} does for
+ * words outside the neighbor index.
+ * Reports the share of probes that miss, the filter's false-positive rate on those
+ * misses, and probe throughput with and without the prefilter.
+ * <p>
+ * Usage: {@code java BloomPrefilterBenchmark [wordFile]} (default word_ladder_words.txt).
+ */
+public class BloomPrefilterBenchmark {
+
+    public static void main(String[] args) {
+        String file = args.length > 0 ? args[0] : "word_ladder_words.txt";
+        Dictionary exact = new Dictionary(file);
+        Dictionary filtered = exact.withBloomPrefilter();
+
+        long probes = 0;
+        long misses = 0;
+        long falsePositives = 0;
+        for (String word : exact.getAllWords()) {
+            char[] chars = word.toCharArray();
+            for (int i = 0; i < chars.length; i++) {
+                char original = chars[i];
+                for (char c = 'a'; c <= 'z'; c++) {
+                    if (c == original) {
+                        continue;
+                    }
+                    chars[i] = c;
+                    probes++;
+                    if (!exact.isValidWord(new String(chars))) {
+                        misses++;
+                        if (filtered.mightContain(chars)) {
+                            falsePositives++;
+                        }
+                    }
+                }
+                chars[i] = original;
+            }
+        }
+        System.out.printf("Probes: %,d, misses: %.1f%%, false-positive rate: %.3f%%%n",
+                probes, 100.0 * misses / probes, 100.0 * falsePositives / misses);
+
+        List<String> words = new ArrayList<>(exact.getAllWords());
+
+        int rounds = Math.max(1, 2_000_000 / Math.max(1, (int) probes));
+        for (int round = 0; round < 5; round++) {
+            double exactRate = probesPerSecond(exact, words, probes, rounds);
+            double filteredRate = probesPerSecond(filtered, words, probes, rounds);
+            System.out.printf("Exact only: %6.1f M probes/s, with prefilter: %6.1f M probes/s (%.2fx)%n",
+                    exactRate / 1e6, filteredRate / 1e6, filteredRate / exactRate);
+        }
+    }
+
+    private static double probesPerSecond(Dictionary dictionary, List<String> words, long probesPerPass, int rounds) {
+        long start = System.nanoTime();
+        int found = 0;
+        for (int r = 0; r < rounds; r++) {
+            for (String w : words) {
+                char[] chars = w.toCharArray();
+                for (int i = 0; i < chars.length; i++) {
+                    char original = chars[i];
+                    for (char c = 'a'; c <= 'z'; c++) {
+                        if (c == original) {
+                            continue;
+                        }
+                        chars[i] = c;
+                        if (dictionary.mightContain(chars) && dictionary.isValidWord(new String(chars))) {
+                            found++;
+                        }
+                    }
+                    chars[i] = original;
+                }
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        if (found < 0) {
+            System.out.println(found);
+        }
+        return probesPerPass * rounds / (nanos / 1e9);
+    }
+}
@@ -0,0 +1,69 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Compares the original {@code BufferedReader.readLine()} loading path with the
+ * memory-mapped, parallel {@link DictionaryLoader} on a synthetic word file.
+ * <p>
+ * Usage: {@code java DictionaryLoadBenchmark [megabytes]} (default 200).
+ */
+public class DictionaryLoadBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        Path file = Files.createTempFile("bench-words", ".txt");
+        try {
+            writeSyntheticWords(file, megabytes * 1_000_000L);
+            long bytes = Files.size(file);
+            System.out.printf("Synthetic word file: %.1f MB%n", bytes / 1e6);
+
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                int count = loadWithBufferedReader(file);
+                long nanos = System.nanoTime() - start;
+                System.out.printf("BufferedReader       : %,d words, %8.1f MB/s%n",
+                        count, (bytes / 1e6) / (nanos / 1e9));
+
+                for (int threads : new int[]{1, 2, 4, Runtime.getRuntime().availableProcessors()}) {
+                    DictionaryLoader.Result result = DictionaryLoader.load(file, threads);
+                    System.out.printf("DictionaryLoader x%-3d: %,d words, %8.1f MB/s%n",
+                            threads, result.getWords().length, result.megabytesPerSecond());
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static int loadWithBufferedReader(Path file) throws IOException {
+        Set<String> words = new HashSet<>();
+        try (BufferedReader br = Files.newBufferedReader(file)) {
+            String word;
+            while ((word = br.readLine()) != null) {
+                words.add(word.trim().toLowerCase());
+            }
+        }
+        String[] sorted = words.toArray(new String[0]);
+        Arrays.sort(sorted);
+        return sorted.length;
+    }
+
+    private static void writeSyntheticWords(Path file, long targetBytes) throws IOException {
+        Random random = new Random(42);
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            long written = 0;
+            char[] w = new char[16];
+            while (written < targetBytes) {
+                int len = 3 + random.nextInt(10);
+                for (int i = 0; i < len; i++) {
+                    char c = (char) ('a' + random.nextInt(26));
+                    w[i] = random.nextInt(10) == 0 ? Character.toUpperCase(c) : c;
+                }
+                out.write(w, 0, len);
+                out.write('\n');
+                written += len + 1;
+            }
+        }
+    }
+}
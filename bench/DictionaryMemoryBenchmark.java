@@ -0,0 +1,89 @@
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Reports the heap cost per word of the {@code HashSet} and DAWG dictionary backends.
+ * <p>
+ * Usage: {@code java DictionaryMemoryBenchmark [wordFile]}. Without a file, a synthetic
+ * list of about two million words of mixed length is generated.
+ */
+public class DictionaryMemoryBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String[] words = args.length > 0
+                ? DictionaryLoader.load(Paths.get(args[0])).getWords()
+                : syntheticWords(2_000_000);
+        System.out.printf("Words: %,d%n", words.length);
+
+        long base = usedHeap();
+        Set<String> hashSet = new HashSet<>(Arrays.asList(words));
+        long hashBytes = usedHeap() - base;
+
+        base = usedHeap();
+        Dawg dawg = new Dawg(words);
+        long dawgBytes = usedHeap() - base;
+
+        // The strings themselves are only kept alive by the HashSet variant.
+        long stringBytes = 0;
+        for (String w : words) {
+            stringBytes += 24 + 16 + w.length(); // String header + byte[] header + Latin-1 payload
+        }
+
+        System.out.printf("HashSet<String>  : %6.1f bytes/word (+ %.1f bytes/word for the Strings)%n",
+                (double) hashBytes / words.length, (double) stringBytes / words.length);
+        System.out.printf("DAWG (measured)  : %6.1f bytes/word%n", (double) dawgBytes / words.length);
+        System.out.printf("DAWG (arrays)    : %6.1f bytes/word, %,d nodes, %,d edges%n",
+                (double) dawg.memoryBytes() / words.length, dawg.nodeCount(), dawg.edgeCount());
+
+        // Keep both structures reachable until after measuring.
+        if (hashSet.size() != dawg.size()) {
+            throw new IllegalStateException("Backends disagree on size");
+        }
+
+        String[] probes = Arrays.copyOf(words, Math.min(words.length, 500_000));
+        Collections.shuffle(Arrays.asList(probes), new Random(1));
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            int hits = 0;
+            for (String p : probes) {
+                if (hashSet.contains(p)) {
+                    hits++;
+                }
+            }
+            long hashNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (String p : probes) {
+                if (dawg.contains(p)) {
+                    hits--;
+                }
+            }
+            long dawgNanos = System.nanoTime() - start;
+            System.out.printf("Lookup: HashSet %5.1f ns, DAWG %5.1f ns (check %d)%n",
+                    (double) hashNanos / probes.length, (double) dawgNanos / probes.length, hits);
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    private static String[] syntheticWords(int count) {
+        Random random = new Random(42);
+        String letters = "eeeeaaaiiioootnnrrssllcdugpmhbyfvkwzxjq";
+        TreeSet<String> words = new TreeSet<>();
+        char[] w = new char[15];
+        while (words.size() < count) {
+            int len = 3 + random.nextInt(12);
+            for (int i = 0; i < len; i++) {
+                w[i] = letters.charAt(random.nextInt(letters.length()));
+            }
+            words.add(new String(w, 0, len));
+        }
+        return words.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,111 @@
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Compares serving filtered word lists as subsets of one shared base dictionary
+ * against loading each filtered list as a dictionary of its own: heap cost, time to
+ * build, and the cost of solving ladders inside the subset.
+ * <p>
+ * The filters keep a pseudo-random share of the words (as a kid-friendly or
+ * profanity-filtered list would), so the ladder graphs of the subsets differ.
+ * <p>
+ * Usage: {@code java DictionaryRegistryBenchmark [wordFile] [subsets] [laddersPerSubset]}
+ */
+public class DictionaryRegistryBenchmark {
+
+    private static final double[] KEEP = {0.98, 0.9, 0.75, 0.5};
+
+    public static void main(String[] args) throws Exception {
+        String file = args.length > 0 ? args[0] : "word_ladder_words.txt";
+        int subsets = args.length > 1 ? Integer.parseInt(args[1]) : KEEP.length;
+        int ladders = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+
+        DictionaryRegistry registry = new DictionaryRegistry();
+        registry.registerFile("base", file);
+        for (int i = 0; i < subsets; i++) {
+            double keep = KEEP[i % KEEP.length];
+            int salt = i;
+            registry.registerSubset("subset-" + i, "base", word -> (mix(word.hashCode() + salt) & 1023) < keep * 1024);
+        }
+
+        long before = usedHeap();
+        long started = System.nanoTime();
+        Dictionary base = registry.get("base");
+        long baseNanos = System.nanoTime() - started;
+        long baseBytes = usedHeap() - before;
+
+        before = usedHeap();
+        started = System.nanoTime();
+        Dictionary[] shared = new Dictionary[subsets];
+        for (int i = 0; i < subsets; i++) {
+            shared[i] = registry.get("subset-" + i);
+        }
+        long sharedNanos = System.nanoTime() - started;
+        long sharedBytes = usedHeap() - before;
+
+        before = usedHeap();
+        started = System.nanoTime();
+        Dictionary[] separate = new Dictionary[subsets];
+        for (int i = 0; i < subsets; i++) {
+            separate[i] = new Dictionary(shared[i].getAllWords());
+        }
+        long separateNanos = System.nanoTime() - started;
+        long separateBytes = usedHeap() - before;
+
+        System.out.printf("Base: %,d words, %,.1f MB, loaded in %d ms%n",
+                base.wordCount(), baseBytes / 1e6, baseNanos / 1_000_000);
+        System.out.printf("%d subsets as bitsets   : %,8.2f MB, built in %5d ms%n",
+                subsets, sharedBytes / 1e6, sharedNanos / 1_000_000);
+        System.out.printf("%d subsets as new lists : %,8.2f MB, built in %5d ms%n",
+                subsets, separateBytes / 1e6, separateNanos / 1_000_000);
+
+        // Solve the same ladders inside each subset both ways; the answers must agree.
+        Random random = new Random(7);
+        SearchContext search = SearchContext.forThread();
+        for (int round = 0; round < 3; round++) {
+            long sharedSearch = 0;
+            long separateSearch = 0;
+            int solved = 0;
+            for (int i = 0; i < subsets; i++) {
+                List<String> words = new ArrayList<>(shared[i].getAllWords());
+                Collections.sort(words);
+                for (int q = 0; q < ladders; q++) {
+                    String from = words.get(random.nextInt(words.size()));
+                    String to = words.get(random.nextInt(words.size()));
+                    long t0 = System.nanoTime();
+                    int a = search.shortestPath(shared[i], shared[i].idOf(from), shared[i].idOf(to));
+                    long t1 = System.nanoTime();
+                    int b = search.shortestPath(separate[i], separate[i].idOf(from), separate[i].idOf(to));
+                    long t2 = System.nanoTime();
+                    if (a != b) {
+                        throw new IllegalStateException("Subset and separate list disagree on " + from + " -> " + to);
+                    }
+                    sharedSearch += t1 - t0;
+                    separateSearch += t2 - t1;
+                    if (a >= 0) {
+                        solved++;
+                    }
+                }
+            }
+            int queries = subsets * ladders;
+            System.out.printf("Ladders (%d solvable of %d): subset %7.1f us, separate list %7.1f us%n",
+                    solved, queries, sharedSearch / 1e3 / queries, separateSearch / 1e3 / queries);
+        }
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h & 0x7FFFFFFF;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
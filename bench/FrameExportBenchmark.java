@@ -0,0 +1,71 @@
+import javax.imageio.ImageIO;
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures headless rendering throughput in frames per second: drawing only, and
+ * drawing plus PNG encoding (into memory, so disk speed does not count), for 1 up to
+ * the given number of worker threads. A baseline that allocates a fresh image per
+ * frame shows what buffer reuse saves.
+ * <p>
+ * Usage: {@code java -Djava.awt.headless=true FrameExportBenchmark [frames] [maxThreads]}
+ */
+public class FrameExportBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 120;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Dictionary dictionary = new Dictionary("word_ladder_words.txt");
+
+        List<String> path = Arrays.asList("cold", "cord", "card", "ward", "warm");
+        List<FrameExporter.Frame> ladder = FrameExporter.ladderFrames(dictionary, path);
+        List<FrameExporter.Frame> frames = new ArrayList<>();
+        while (frames.size() < count) {
+            frames.addAll(ladder);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            long started = System.nanoTime();
+            for (FrameExporter.Frame frame : frames) {
+                frame.draw(new WordLadderGUI(new ImageCanvas(WordLadderGUI.WIDTH, WordLadderGUI.HEIGHT)));
+            }
+            System.out.printf("Fresh image per frame, 1 thread: %6.1f fps%n", fps(frames.size(), started));
+
+            started = System.nanoTime();
+            ImageCanvas canvas = new ImageCanvas(WordLadderGUI.WIDTH, WordLadderGUI.HEIGHT);
+            WordLadderGUI gui = new WordLadderGUI(canvas);
+            for (FrameExporter.Frame frame : frames.subList(0, 20)) {
+                frame.draw(gui);
+                ImageIO.write(canvas.getImage(), "png", new ByteArrayOutputStream(1 << 20));
+            }
+            System.out.printf("Default ImageIO PNG encoding, 1 thread: %6.1f fps%n", fps(20, started));
+
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                try (FrameExporter exporter = new FrameExporter(threads, WordLadderGUI.WIDTH, WordLadderGUI.HEIGHT)) {
+                    exporter.render(frames.subList(0, threads), (i, image) -> { }); // warm up the workers
+
+                    started = System.nanoTime();
+                    exporter.render(frames, (i, image) -> { });
+                    double drawFps = fps(frames.size(), started);
+
+                    LongAdder bytes = new LongAdder();
+                    started = System.nanoTime();
+                    exporter.render(frames, (i, image) -> {
+                        ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 20);
+                        exporter.writePng(image, out);
+                        bytes.add(out.size());
+                    });
+                    double pngFps = fps(frames.size(), started);
+
+                    System.out.printf("Reused buffers, %d thread(s): draw %6.1f fps, draw + PNG %6.1f fps (%,d B/frame)%n",
+                            threads, drawFps, pngFps, bytes.sum() / frames.size());
+                }
+            }
+        }
+    }
+
+    private static double fps(int frames, long startedNanos) {
+        return frames / ((System.nanoTime() - startedNanos) / 1e9);
+    }
+}
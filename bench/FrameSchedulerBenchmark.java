@@ -0,0 +1,106 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Compares the old game loop, which busy-polls for input and blocks for 200 ms per
+ * changed letter while animating a move, with the {@link FrameScheduler} loop and its
+ * time-based {@link WordTween}s. Runs headless: a typist thread queues keystrokes at
+ * human pace (every fifth one submits a move) and drawing is simulated with a short
+ * sleep. Reports input latency (keystroke queued to keystroke handled), CPU used by the
+ * loop thread, and the scheduler's frame pacing.
+ * <p>
+ * Usage: {@code java FrameSchedulerBenchmark [seconds]}
+ */
+public class FrameSchedulerBenchmark {
+
+    private static final long DRAW_NANOS = 2_000_000L;
+    private static final long STEP_NANOS = 200_000_000L;
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        for (int round = 0; round < 2; round++) {
+            report("busy-poll + blocking animation", run(seconds, false));
+            report("frame scheduler + tweens       ", run(seconds, true));
+        }
+    }
+
+    /**
+     * @return latencies in nanoseconds, followed by the loop thread's CPU time as the last element
+     */
+    private static long[] run(int seconds, boolean scheduled) throws Exception {
+        BlockingQueue<Long> keys = new LinkedBlockingQueue<>();
+        ScheduledExecutorService typist = Executors.newSingleThreadScheduledExecutor();
+        typist.scheduleAtFixedRate(() -> keys.add(System.nanoTime()), 37, 83, TimeUnit.MILLISECONDS);
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Long> latencies = new ArrayList<>();
+        FrameScheduler frames = new FrameScheduler(60);
+        WordTween animation = null;
+        int typed = 0;
+        boolean needsRedraw = true;
+
+        while (System.nanoTime() < end) {
+            long now = scheduled ? frames.awaitNextFrame() : System.nanoTime();
+            Long key;
+            while ((key = keys.poll()) != null) {
+                latencies.add(System.nanoTime() - key);
+                needsRedraw = true;
+                if (++typed % 5 == 0) { // ENTER: a move changing one letter
+                    if (scheduled) {
+                        animation = new WordTween("cold", "cord", now, STEP_NANOS);
+                    } else {
+                        draw();
+                        Thread.sleep(STEP_NANOS / 1_000_000); // StdDraw.pause(200)
+                    }
+                }
+                if (!scheduled) {
+                    break; // the old loop handled one key per iteration
+                }
+            }
+            if (animation != null) {
+                animation.wordAt(now);
+                if (animation.isFinished(now)) {
+                    animation = null;
+                }
+                needsRedraw = true;
+            }
+            if (needsRedraw) {
+                draw();
+                needsRedraw = false;
+            }
+        }
+        long cpu = threads.getCurrentThreadCpuTime() - cpuStart;
+        typist.shutdownNow();
+        if (scheduled) {
+            System.out.println("  pacing: " + frames);
+        }
+        long[] result = new long[latencies.size() + 1];
+        for (int i = 0; i < latencies.size(); i++) {
+            result[i] = latencies.get(i);
+        }
+        result[latencies.size()] = cpu / seconds;
+        return result;
+    }
+
+    private static void draw() throws InterruptedException {
+        Thread.sleep(0, (int) (DRAW_NANOS % 1_000_000));
+        Thread.sleep(DRAW_NANOS / 1_000_000);
+    }
+
+    private static void report(String name, long[] result) {
+        long cpuPerSecond = result[result.length - 1];
+        long[] latencies = Arrays.copyOf(result, result.length - 1);
+        Arrays.sort(latencies);
+        System.out.printf("%s: %,d keys, input latency p50 %6.2f ms, p99 %6.2f ms, max %6.2f ms; CPU %5.1f%%%n",
+                name, latencies.length, percentile(latencies, 0.50), percentile(latencies, 0.99),
+                latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6, cpuPerSecond / 1e7);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, p * sorted.length)] / 1e6;
+    }
+}
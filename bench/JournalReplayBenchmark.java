@@ -0,0 +1,79 @@
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Writes a large synthetic game journal and replays it through the engine.
+ * Each game is a random walk over the word graph with occasional invalid guesses,
+ * recorded from several threads at once to exercise group commit.
+ * <p>
+ * Usage: {@code java JournalReplayBenchmark [games]} (default 1,000,000).
+ */
+public class JournalReplayBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int threads = 4;
+        Dictionary dictionary = new Dictionary("word_ladder_words.txt");
+        Path file = Files.createTempFile("bench", ".journal");
+        Files.delete(file);
+        try {
+            long start = System.nanoTime();
+            try (GameJournal journal = GameJournal.open(file, dictionary)) {
+                List<Thread> writers = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    long seed = t;
+                    Thread writer = new Thread(() -> writeGames(journal, dictionary, games / threads, seed));
+                    writers.add(writer);
+                    writer.start();
+                }
+                for (Thread writer : writers) {
+                    writer.join();
+                }
+            }
+            double writeSeconds = (System.nanoTime() - start) / 1e9;
+            long bytes = Files.size(file);
+            System.out.printf("Wrote %,d games in %.2f s (%,.0f games/s), %.1f MB, %.1f bytes/game%n",
+                    games, writeSeconds, games / writeSeconds, bytes / 1e6, (double) bytes / games);
+
+            for (int round = 0; round < 3; round++) {
+                JournalReplayer replayer = new JournalReplayer(dictionary);
+                start = System.nanoTime();
+                replayer.replay(file);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("Replayed %,d games, %,d guesses in %.2f s: %,.0f games/s, %,.0f guesses/s, %,d mismatches%n",
+                        replayer.getGames(), replayer.getGuesses(), seconds,
+                        replayer.getGames() / seconds, replayer.getGuesses() / seconds, replayer.getMismatches());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void writeGames(GameJournal journal, Dictionary dictionary, int games, long seed) {
+        Random random = new Random(seed);
+        NeighborIndex index = dictionary.getNeighborIndex();
+        for (int g = 0; g < games; g++) {
+            int startId = random.nextInt(dictionary.size());
+            String start = dictionary.wordAt(startId);
+            Player player = new Player(start, dictionary);
+            int gameId = journal.beginGame(start, start);
+            int current = startId;
+            int moves = 1 + random.nextInt(6);
+            for (int m = 0; m < moves && index.degree(current) > 0; m++) {
+                String guess;
+                if (random.nextInt(5) == 0) {
+                    guess = dictionary.wordAt(random.nextInt(dictionary.size())); // usually invalid
+                } else {
+                    int[] neighbors = index.neighbors(current);
+                    guess = dictionary.wordAt(neighbors[random.nextInt(neighbors.length)]);
+                }
+                boolean accepted = player.makeMove(guess);
+                journal.recordGuess(gameId, guess, accepted);
+                if (accepted) {
+                    current = dictionary.idOf(guess);
+                }
+            }
+            journal.endGame(gameId, random.nextBoolean() ? GameJournal.Outcome.SOLVED : GameJournal.Outcome.GAVE_UP);
+        }
+    }
+}
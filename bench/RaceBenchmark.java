@@ -0,0 +1,117 @@
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives many race rooms at once in one JVM and reports sustained move throughput,
+ * fan-out latency (from a guess entering its room to a listener receiving the update)
+ * and retained heap per room.
+ * <p>
+ * Every seat is a bot that plays the optimal ladder. One driver thread submits the
+ * bots' guesses round-robin, so all rooms stay busy at the same time.
+ * <p>
+ * Usage: {@code java RaceBenchmark [rooms] [playersPerRoom] [loopThreads] [wordFile]}
+ */
+public class RaceBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int roomCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int loopThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        String file = args.length > 3 ? args[3] : "word_ladder_words.txt";
+        Dictionary dictionary = new Dictionary(file);
+
+        for (int round = 0; round < 3; round++) {
+            LongAdder delivered = new LongAdder();
+            LongAdder latencyNanos = new LongAdder();
+            AtomicLong maxLatency = new AtomicLong();
+            LongAdder finished = new LongAdder();
+            RaceRoom.Listener listener = (room, batch) -> {
+                long now = System.nanoTime();
+                for (RaceRoom.Update u : batch) {
+                    long latency = now - u.getSubmittedNanos();
+                    latencyNanos.add(latency);
+                    maxLatency.accumulateAndGet(latency, Math::max);
+                    if (u.getKind() == RaceRoom.Update.Kind.FINISHED) {
+                        finished.increment();
+                    }
+                }
+                delivered.add(batch.size());
+            };
+
+            long heapBefore = usedHeap();
+            try (RaceServer server = new RaceServer(dictionary, loopThreads)) {
+                RaceRoom[] rooms = new RaceRoom[roomCount];
+                String[][] ladders = new String[roomCount][];
+                int[][] seats = new int[roomCount][players];
+                int moves = 0;
+                for (int r = 0; r < roomCount; r++) {
+                    rooms[r] = server.createRoom("room-" + r, r, 5, players, 4 * players);
+                    ladders[r] = ladder(dictionary, rooms[r].getPuzzle());
+                    for (int p = 0; p < players; p++) {
+                        seats[r][p] = rooms[r].join("bot" + p, listener);
+                    }
+                    moves += players * (ladders[r].length - 1);
+                }
+                while (delivered.sum() < (long) roomCount * players * players) {
+                    Thread.sleep(1); // wait for the joins to be broadcast
+                }
+                long heapRooms = usedHeap() - heapBefore;
+                delivered.reset();
+                latencyNanos.reset();
+                maxLatency.set(0);
+
+                long started = System.nanoTime();
+                for (int step = 1; ; step++) {
+                    boolean any = false;
+                    for (int r = 0; r < roomCount; r++) {
+                        if (step >= ladders[r].length) {
+                            continue;
+                        }
+                        any = true;
+                        for (int p = 0; p < players; p++) {
+                            while (!rooms[r].submit(seats[r][p], ladders[r][step])) {
+                                Thread.yield(); // room inbox full: back off
+                            }
+                        }
+                    }
+                    if (!any) {
+                        break;
+                    }
+                }
+                while (finished.sum() < (long) roomCount * players * players) {
+                    Thread.sleep(1);
+                }
+                long nanos = System.nanoTime() - started;
+
+                System.out.printf("%,d rooms x %d players, %d loops: %,.0f moves/s, %,.0f updates/s delivered, "
+                                + "fan-out latency avg %.2f ms max %.1f ms, %,d B retained per room%n",
+                        roomCount, players, loopThreads, moves / (nanos / 1e9), delivered.sum() / (nanos / 1e9),
+                        latencyNanos.sum() / 1e6 / delivered.sum(), maxLatency.get() / 1e6,
+                        heapRooms / roomCount);
+            }
+        }
+    }
+
+    private static String[] ladder(Dictionary dictionary, PuzzleGenerator.Puzzle puzzle) {
+        SearchContext search = SearchContext.forThread();
+        int end = dictionary.idOf(puzzle.getEndWord());
+        search.shortestPath(dictionary.getNeighborIndex(), dictionary.idOf(puzzle.getStartWord()), end);
+        int[] ids = new int[search.pathLength(end)];
+        search.copyPath(end, ids);
+        String[] words = new String[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            words[i] = dictionary.wordAt(ids[i]);
+        }
+        return words;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
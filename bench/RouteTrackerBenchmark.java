@@ -0,0 +1,84 @@
+import java.util.*;
+
+/**
+ * Compares the cost of re-checking "is the target still reachable?" after every move:
+ * the incremental {@link RouteTracker} against a full exclusion search from the current
+ * word each time. Simulated players follow the hint half of the time and otherwise make
+ * a random move to an unvisited neighbor.
+ * <p>
+ * Usage: {@code java RouteTrackerBenchmark [wordFile] [games]}
+ */
+public class RouteTrackerBenchmark {
+
+    public static void main(String[] args) {
+        String file = args.length > 0 ? args[0] : "word_ladder_words.txt";
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        Dictionary dictionary = new Dictionary(file);
+        NeighborIndex index = dictionary.getNeighborIndex();
+
+        for (int round = 0; round < 3; round++) {
+            Random random = new Random(round);
+            SearchContext search = new SearchContext();
+            long trackerNanos = 0;
+            long fullNanos = 0;
+            long trackerExplored = 0;
+            long fullExplored = 0;
+            int moves = 0;
+            int deadEnds = 0;
+            for (int g = 0; g < games; g++) {
+                int start = random.nextInt(dictionary.size());
+                int target = random.nextInt(dictionary.size());
+                BitSet visited = new BitSet(dictionary.size());
+                visited.set(start);
+                RouteTracker tracker = new RouteTracker(dictionary, dictionary.wordAt(start),
+                        dictionary.wordAt(target), visited);
+                if (!tracker.isSolvable()) {
+                    continue;
+                }
+                int current = start;
+                while (current != target) {
+                    int next;
+                    String hint = tracker.hint();
+                    if (random.nextBoolean() && hint != null) {
+                        next = dictionary.idOf(hint);
+                    } else {
+                        List<Integer> options = new ArrayList<>();
+                        for (int e = index.firstEdge(current); e < index.endEdge(current); e++) {
+                            if (!visited.get(index.targetAt(e))) {
+                                options.add(index.targetAt(e));
+                            }
+                        }
+                        if (options.isEmpty()) {
+                            break;
+                        }
+                        next = options.get(random.nextInt(options.size()));
+                    }
+                    current = next;
+                    visited.set(current);
+                    moves++;
+
+                    long t0 = System.nanoTime();
+                    boolean solvable = tracker.moveTo(dictionary.wordAt(current));
+                    long t1 = System.nanoTime();
+                    boolean full = search.shortestPath(index, current, target, visited) >= 0;
+                    long t2 = System.nanoTime();
+                    trackerNanos += t1 - t0;
+                    fullNanos += t2 - t1;
+                    trackerExplored += tracker.lastExplored();
+                    fullExplored += search.queued();
+                    if (solvable != full) {
+                        throw new IllegalStateException("Tracker disagrees with full search");
+                    }
+                    if (!solvable) {
+                        deadEnds++;
+                        break;
+                    }
+                }
+            }
+            System.out.printf("%,d moves (%d dead ends): tracker %6.2f us/move, %,7.1f words explored | "
+                            + "full search %8.2f us/move, %,9.1f words explored%n",
+                    moves, deadEnds, trackerNanos / 1e3 / moves, (double) trackerExplored / moves,
+                    fullNanos / 1e3 / moves, (double) fullExplored / moves);
+        }
+    }
+}
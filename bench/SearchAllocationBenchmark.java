@@ -0,0 +1,112 @@
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+/**
+ * Compares heap allocation and throughput of the original object-based breadth-first
+ * search ({@code LinkedList} of path lists, {@code HashSet} of visited words, a
+ * {@code Word} per neighbor, found by trying every letter at every position and checking
+ * each candidate String against the dictionary) with the id-based search in a pooled {@link SearchContext}.
+ * Allocation is read from the JVM's per-thread allocation counter, which reports the
+ * same bytes as a GC profiler would attribute to the benchmarked thread.
+ * <p>
+ * Usage: {@code java SearchAllocationBenchmark [wordFile] [solves]}
+ */
+public class SearchAllocationBenchmark {
+
+    public static void main(String[] args) {
+        String file = args.length > 0 ? args[0] : "word_ladder_words.txt";
+        int solves = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        Dictionary dictionary = new Dictionary(file);
+
+        // Random connected pairs, the same for both searches
+        Random random = new Random(42);
+        int[][] pairs = new int[solves][];
+        for (int i = 0; i < solves; ) {
+            int a = random.nextInt(dictionary.size());
+            int b = random.nextInt(dictionary.size());
+            if (SearchContext.forThread().shortestPath(dictionary.getNeighborIndex(), a, b) >= 0) {
+                pairs[i++] = new int[]{a, b};
+            }
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        for (int round = 0; round < 5; round++) {
+            long checksum = 0;
+            long bytes = threads.getThreadAllocatedBytes(thread);
+            long started = System.nanoTime();
+            for (int[] pair : pairs) {
+                checksum += legacyShortestPath(dictionary, dictionary.wordAt(pair[0]), dictionary.wordAt(pair[1])).size();
+            }
+            long legacyNanos = System.nanoTime() - started;
+            long legacyBytes = threads.getThreadAllocatedBytes(thread) - bytes;
+
+            SearchContext context = SearchContext.forThread();
+            NeighborIndex index = dictionary.getNeighborIndex();
+            bytes = threads.getThreadAllocatedBytes(thread);
+            started = System.nanoTime();
+            for (int[] pair : pairs) {
+                checksum -= context.shortestPath(index, pair[0], pair[1]) + 1;
+            }
+            long contextNanos = System.nanoTime() - started;
+            long contextBytes = threads.getThreadAllocatedBytes(thread) - bytes;
+
+            System.out.printf("Legacy: %,9.0f B/solve %7.1f us/solve | SearchContext: %,6.1f B/solve %6.1f us/solve%s%n",
+                    (double) legacyBytes / solves, legacyNanos / 1e3 / solves,
+                    (double) contextBytes / solves, contextNanos / 1e3 / solves,
+                    checksum == 0 ? "" : "  (path lengths differ!)");
+        }
+    }
+
+    /** The search as it was before SearchContext, kept here as the baseline. */
+    private static List<String> legacyShortestPath(Dictionary dictionary, String start, String end) {
+        Queue<List<Word>> queue = new LinkedList<>();
+        Set<String> visited = new HashSet<>();
+        Word endW = new Word(end, dictionary);
+        queue.add(new ArrayList<>(Collections.singletonList(new Word(start, dictionary))));
+        visited.add(start);
+        while (!queue.isEmpty()) {
+            List<Word> path = queue.poll();
+            Word last = path.get(path.size() - 1);
+            if (last.equals(endW)) {
+                List<String> result = new ArrayList<>();
+                for (Word w : path) {
+                    result.add(w.getWord());
+                }
+                return result;
+            }
+            for (Word neighbor : legacyNeighbors(dictionary, last.getWord())) {
+                if (visited.add(neighbor.getWord())) {
+                    List<Word> newPath = new ArrayList<>(path);
+                    newPath.add(neighbor);
+                    queue.add(newPath);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Neighbor generation as it was before the neighbor index: every one-letter
+     * substitution built as a String and checked against the dictionary.
+     */
+    private static Set<Word> legacyNeighbors(Dictionary dictionary, String word) {
+        Set<Word> neighbors = new HashSet<>();
+        char[] wordChars = word.toCharArray();
+        for (int i = 0; i < word.length(); i++) {
+            char originalChar = wordChars[i];
+            for (char c = 'a'; c <= 'z'; c++) {
+                if (c != originalChar) {
+                    wordChars[i] = c;
+                    String newWord = new String(wordChars);
+                    if (dictionary.isValidWord(newWord)) {
+                        neighbors.add(new Word(newWord, dictionary));
+                    }
+                }
+            }
+            wordChars[i] = originalChar;
+        }
+        return neighbors;
+    }
+}
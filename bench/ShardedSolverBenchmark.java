@@ -0,0 +1,119 @@
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Measures how solving throughput scales with the number of {@link SolverWorker}
+ * processes behind a {@link SolverCoordinator}, against solving in this JVM with one
+ * thread and with one thread per core.
+ * <p>
+ * Queries are the ends of random walks through the ladder graph, so nearly all of them
+ * are solvable and every one is sent to a worker. They are submitted all at once, which
+ * lets the coordinator batch them per connection. The share of queries each shard
+ * receives is printed too: a component never spans shards, so one dominant component
+ * caps the speed-up however many workers there are.
+ * <p>
+ * Usage: {@code java ShardedSolverBenchmark [wordFile] [queries] [maxWorkers]}
+ */
+public class ShardedSolverBenchmark {
+
+    private static final Random RANDOM = new Random(46);
+
+    public static void main(String[] args) throws Exception {
+        String file = args.length > 0 ? args[0] : "word_ladder_words.txt";
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int maxWorkers = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        Dictionary dictionary = Dictionary.load(file);
+        List<String[]> queries = randomWalks(dictionary, count, 8);
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%,d words, %,d queries, %d cores%n", dictionary.wordCount(), queries.size(), cores);
+
+        for (int round = 0; round < 2; round++) {
+            report("in-process, 1 thread", queries.size(), inProcess(dictionary, queries, 1));
+            if (cores > 1) {
+                report("in-process, " + cores + " threads", queries.size(), inProcess(dictionary, queries, cores));
+            }
+            for (SolverCoordinator.Partitioning partitioning : SolverCoordinator.Partitioning.values()) {
+                for (int workers = 1; workers <= maxWorkers; workers *= 2) {
+                    sharded(dictionary, queries, workers, partitioning);
+                }
+            }
+        }
+    }
+
+    private static long inProcess(Dictionary dictionary, List<String[]> queries, int threads) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long started = System.nanoTime();
+        List<Future<?>> parts = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            parts.add(pool.submit(() -> {
+                for (int i = first; i < queries.size(); i += threads) {
+                    Game.findShortestPath(dictionary, queries.get(i)[0], queries.get(i)[1]);
+                }
+            }));
+        }
+        for (Future<?> part : parts) {
+            part.get();
+        }
+        long nanos = System.nanoTime() - started;
+        pool.shutdown();
+        return nanos;
+    }
+
+    private static void sharded(Dictionary dictionary, List<String[]> queries, int workers,
+                                SolverCoordinator.Partitioning partitioning) throws Exception {
+        try (SolverCoordinator coordinator = SolverCoordinator.start(dictionary, workers, partitioning)) {
+            coordinator.findShortestPaths(queries.subList(0, Math.min(2_000, queries.size()))); // warm the workers
+            long requests = coordinator.requestsSent();
+            long batches = coordinator.batchesSent();
+
+            long started = System.nanoTime();
+            coordinator.findShortestPaths(queries);
+            long nanos = System.nanoTime() - started;
+
+            int[] perShard = new int[workers];
+            for (String[] query : queries) {
+                int shard = coordinator.shardOf(query[0]);
+                if (shard >= 0) {
+                    perShard[shard]++;
+                }
+            }
+            StringBuilder shares = new StringBuilder();
+            for (int share : perShard) {
+                shares.append(String.format(" %.0f%%", 100.0 * share / queries.size()));
+            }
+            report(String.format("%-9s %d worker%s", partitioning.name().toLowerCase(), workers, workers == 1 ? " " : "s"),
+                    queries.size(), nanos);
+            System.out.printf("      mean batch %.1f, queries per shard:%s%n",
+                    (double) (coordinator.requestsSent() - requests) / (coordinator.batchesSent() - batches), shares);
+        }
+    }
+
+    /**
+     * @return start and end pairs at most {@code steps} moves apart
+     */
+    private static List<String[]> randomWalks(Dictionary dictionary, int count, int steps) {
+        NeighborIndex index = dictionary.getNeighborIndex();
+        List<String[]> queries = new ArrayList<>(count);
+        while (queries.size() < count) {
+            int start = RANDOM.nextInt(dictionary.size());
+            if (index.degree(start) == 0) {
+                continue;
+            }
+            int word = start;
+            for (int i = 0; i < steps; i++) {
+                int[] neighbors = index.neighbors(word);
+                word = neighbors[RANDOM.nextInt(neighbors.length)];
+            }
+            if (word != start) {
+                queries.add(new String[] {dictionary.wordAt(start), dictionary.wordAt(word)});
+            }
+        }
+        return queries;
+    }
+
+    private static void report(String name, int queries, long nanos) {
+        System.out.printf("%-24s: %8.0f queries/s (%,d ms)%n", name, queries / (nanos / 1e9), nanos / 1_000_000);
+    }
+}
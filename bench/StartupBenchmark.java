@@ -0,0 +1,121 @@
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Measures engine startup in fresh JVMs, as a player launching the game sees it: the
+ * time from JVM start until the dictionary and neighbor index are usable (what the game
+ * needs before its first frame), and until the first hardness-picked puzzle is ready.
+ * <p>
+ * Each configuration runs in its own child JVM several times:
+ * <ul>
+ *   <li>cold: parse the word file and build every index</li>
+ *   <li>warm: restore an {@link EngineSnapshot} in one read</li>
+ *   <li>warm + AppCDS: the same with a dynamic class-data sharing archive, created by a
+ *       first run with {@code -XX:ArchiveClassesAtExit}; class-data sharing only
+ *       archives classes loaded from JAR files, so this needs the classes in a JAR</li>
+ * </ul>
+ * Usage: {@code java -cp wordladder.jar StartupBenchmark [wordFile] [runs]}
+ */
+public class StartupBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--child")) {
+            child(args[1], args[2], Paths.get(args[3]));
+            return;
+        }
+        String wordFile = args.length > 0 ? args[0] : "word_ladder_words.txt";
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Path dir = Files.createTempDirectory("startup");
+        Path snapshot = dir.resolve("engine.snapshot");
+        Path archive = dir.resolve("engine.jsa");
+
+        Dictionary dictionary = Dictionary.load(wordFile);
+        new EngineSnapshot(dictionary, HardnessIndex.build(dictionary)).save(snapshot, Paths.get(wordFile));
+
+        report("cold", runs, Collections.emptyList(), "cold", wordFile, snapshot);
+        report("warm", runs, Collections.emptyList(), "warm", wordFile, snapshot);
+        boolean jarsOnly = true;
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            jarsOnly &= entry.endsWith(".jar");
+        }
+        if (jarsOnly) {
+            run(Collections.singletonList("-XX:ArchiveClassesAtExit=" + archive), "warm", wordFile, snapshot);
+            report("cold + AppCDS", runs, Collections.singletonList("-XX:SharedArchiveFile=" + archive),
+                    "cold", wordFile, snapshot);
+            report("warm + AppCDS", runs, Collections.singletonList("-XX:SharedArchiveFile=" + archive),
+                    "warm", wordFile, snapshot);
+        } else {
+            System.out.println("AppCDS skipped: run with the classes in a JAR to include it");
+        }
+
+        Files.deleteIfExists(snapshot);
+        Files.deleteIfExists(archive);
+        Files.delete(dir);
+    }
+
+    private static void report(String label, int runs, List<String> jvmOptions, String mode, String wordFile,
+                               Path snapshot) throws Exception {
+        long[] engine = new long[runs];
+        long[] puzzle = new long[runs];
+        for (int r = 0; r < runs; r++) {
+            long[] times = run(jvmOptions, mode, wordFile, snapshot);
+            engine[r] = times[0];
+            puzzle[r] = times[1];
+        }
+        Arrays.sort(engine);
+        Arrays.sort(puzzle);
+        System.out.printf("%-14s engine ready %5d ms, first puzzle %5d ms (median of %d JVMs)%n",
+                label, engine[runs / 2], puzzle[runs / 2], runs);
+    }
+
+    private static long[] run(List<String> jvmOptions, String mode, String wordFile, Path snapshot) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.addAll(Arrays.asList("StartupBenchmark", "--child", mode, wordFile, snapshot.toString()));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String line;
+        long[] times = null;
+        try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            while ((line = out.readLine()) != null) {
+                if (line.startsWith("times ")) {
+                    String[] parts = line.split(" ");
+                    times = new long[]{Long.parseLong(parts[1]), Long.parseLong(parts[2])};
+                }
+            }
+        }
+        if (process.waitFor() != 0 || times == null) {
+            throw new IOException("Child JVM failed: " + command);
+        }
+        return times;
+    }
+
+    /** Runs in the child JVM: starts the engine and prints milliseconds since JVM start. */
+    private static void child(String mode, String wordFile, Path snapshotFile) throws IOException {
+        Dictionary dictionary;
+        HardnessIndex hardness = null;
+        if (mode.equals("warm")) {
+            EngineSnapshot snapshot = EngineSnapshot.load(snapshotFile, Paths.get(wordFile));
+            dictionary = snapshot.getDictionary();
+            hardness = snapshot.getHardnessIndex();
+        } else {
+            dictionary = Dictionary.load(wordFile);
+        }
+        new PuzzleGenerator(dictionary);
+        long engine = sinceStart();
+        if (hardness == null) {
+            hardness = HardnessIndex.build(dictionary);
+        }
+        PuzzleGenerator.Puzzle puzzle = hardness.select(PuzzleGenerator.Difficulty.MEDIUM, 1);
+        long first = sinceStart();
+        System.out.println("times " + engine + " " + first + " " + puzzle);
+    }
+
+    private static long sinceStart() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+}
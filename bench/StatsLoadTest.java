@@ -0,0 +1,72 @@
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes many concurrent game completions through {@link StatsStore} and reports
+ * throughput per thread count, with periodic snapshots running in the background.
+ * <p>
+ * Usage: {@code java StatsLoadTest [completionsPerThread] [players] [puzzles]}
+ * (defaults 500,000, 100,000 and 20,000).
+ */
+public class StatsLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int perThread = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        int puzzles = args.length > 2 ? Integer.parseInt(args[2]) : 20_000;
+
+        String[] playerNames = new String[players];
+        for (int i = 0; i < players; i++) {
+            playerNames[i] = "player" + i;
+        }
+        String[] starts = new String[puzzles];
+        for (int i = 0; i < puzzles; i++) {
+            starts[i] = "w" + i;
+        }
+
+        int maxThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            Path snapshot = Files.createTempFile("stats-load", ".snapshot");
+            Files.delete(snapshot); // start from an empty store
+            StatsStore store = new StatsStore(100, snapshot, 250);
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            LongAdder done = new LongAdder();
+            CountDownLatch ready = new CountDownLatch(threads);
+            CountDownLatch go = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long seed = t;
+                futures.add(pool.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    ready.countDown();
+                    go.await();
+                    for (int i = 0; i < perThread; i++) {
+                        int optimal = 1 + random.nextInt(8);
+                        boolean solved = random.nextInt(4) != 0;
+                        store.recordCompletion(playerNames[random.nextInt(players)],
+                                starts[random.nextInt(puzzles)], "target", solved,
+                                optimal + random.nextInt(5), optimal, 10_000 + random.nextInt(100_000));
+                    }
+                    done.add(perThread);
+                    return null;
+                }));
+            }
+            ready.await();
+            long start = System.nanoTime();
+            go.countDown();
+            for (Future<?> f : futures) {
+                f.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            pool.shutdown();
+            store.close();
+
+            System.out.printf("%2d threads: %,12.0f completions/s  (top player %s, snapshot %.1f MB)%n",
+                    threads, done.sum() / seconds, store.topPlayers(1).get(0),
+                    Files.size(snapshot) / 1e6);
+            Files.deleteIfExists(snapshot);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+/**
+ * Measures the extended ladder rules on a large mixed-length dictionary: the one-time
+ * build of the {@link LadderGraph}, then per-search time, words expanded and heap
+ * allocation of {@link WeightedSearch} under unit-cost add/remove rules and under
+ * Scrabble letter costs, next to classic breadth-first search in a {@link SearchContext}.
+ * <p>
+ * Without a word file, a seeded synthetic list of 300,000 words of 3 to 7 letters is
+ * used, drawn with English letter frequencies so the graph is well connected.
+ * <p>
+ * Usage: {@code java WeightedSearchBenchmark [searches] [wordFile]}
+ */
+public class WeightedSearchBenchmark {
+
+    private static final String LETTERS = "eeeeeeeeeeeetttttttttaaaaaaaaooooooooiiiiiiinnnnnnnsssssshhhhhhrrrrrrddddllllcccuuummwwffggyyppbbvkjxqz";
+
+    public static void main(String[] args) {
+        int searches = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        long started = System.nanoTime();
+        Dictionary dictionary = args.length > 1 ? new Dictionary(args[1]) : new Dictionary(syntheticWords(300_000, 42));
+        System.out.printf("Dictionary: %,d words in %,d ms%n", dictionary.size(), (System.nanoTime() - started) / 1_000_000);
+
+        started = System.nanoTime();
+        LadderGraph graph = dictionary.getLadderGraph();
+        System.out.printf("LadderGraph: %,d add/remove pairs in %,d ms%n",
+                graph.edgeCount(), (System.nanoTime() - started) / 1_000_000);
+
+        // Random pairs connected under add/remove rules, the same for every variant
+        Random random = new Random(7);
+        WeightedSearch search = WeightedSearch.forThread();
+        int[][] pairs = new int[searches][];
+        for (int i = 0; i < searches; ) {
+            int a = random.nextInt(dictionary.size());
+            int b = random.nextInt(dictionary.size());
+            if (search.shortestPath(dictionary, LadderRules.ADD_REMOVE, a, b) >= 0) {
+                pairs[i++] = new int[]{a, b};
+            }
+        }
+
+        LadderRules scrabble = LadderRules.scrabble(true, 2, 2);
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        for (int round = 0; round < 3; round++) {
+            SearchContext bfs = SearchContext.forThread();
+            long bytes = threads.getThreadAllocatedBytes(thread);
+            started = System.nanoTime();
+            int found = 0;
+            for (int[] pair : pairs) {
+                found += bfs.shortestPath(dictionary.getNeighborIndex(), pair[0], pair[1]) >= 0 ? 1 : 0;
+            }
+            report("classic BFS       ", pairs.length, started, bytes, threads, thread, 0, found);
+
+            for (LadderRules rules : new LadderRules[]{LadderRules.ADD_REMOVE, scrabble}) {
+                long expanded = 0;
+                bytes = threads.getThreadAllocatedBytes(thread);
+                started = System.nanoTime();
+                found = 0;
+                for (int[] pair : pairs) {
+                    found += search.shortestPath(dictionary, rules, pair[0], pair[1]) >= 0 ? 1 : 0;
+                    expanded += search.expanded();
+                }
+                report(rules == scrabble ? "A*, Scrabble costs" : "A*, unit costs    ", pairs.length,
+                        started, bytes, threads, thread, expanded, found);
+            }
+        }
+    }
+
+    private static void report(String label, int searches, long started, long bytes,
+                               com.sun.management.ThreadMXBean threads, long thread, long expanded, int found) {
+        long nanos = System.nanoTime() - started;
+        System.out.printf("%s: %,8.1f us/search, %,7.0f words expanded, %,6.1f B/search (%d of %d connected)%n",
+                label, nanos / 1e3 / searches, (double) expanded / searches,
+                (double) (threads.getThreadAllocatedBytes(thread) - bytes) / searches, found, searches);
+    }
+
+    private static List<String> syntheticWords(int count, long seed) {
+        Random random = new Random(seed);
+        Set<String> words = new HashSet<>();
+        char[] chars = new char[7];
+        while (words.size() < count) {
+            int length = 3 + random.nextInt(5);
+            for (int i = 0; i < length; i++) {
+                chars[i] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+            }
+            words.add(new String(chars, 0, length));
+        }
+        return new ArrayList<>(words);
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * A cache-line-blocked Bloom filter over words.
+ * <p>
+ * All probe bits for a word fall inside one 512-bit block (eight longs, the size of a
+ * cache line), so a query touches one or at most two cache lines regardless of the
+ * number of hash functions. A negative answer is exact: the word is definitely absent.
+ * A positive answer must be confirmed against the real word store.
+ * <p>
+ * Words are hashed character by character, so a {@code String} and a {@code char[]}
+ * holding the same letters hash identically and callers can test candidates before
+ * building a String.
+ */
+final class BloomFilter {
+
+    private static final int LONGS_PER_BLOCK = 8;
+    private static final int BITS_PER_KEY = 10;
+    private static final int PROBES = 7;
+
+    private final long[] bits;
+    private final int blocks;
+
+    /**
+     * @param expectedWords the number of words that will be added
+     */
+    BloomFilter(int expectedWords) {
+        long totalBits = Math.max(512L, (long) expectedWords * BITS_PER_KEY);
+        this.blocks = (int) ((totalBits + 511) / 512);
+        this.bits = new long[blocks * LONGS_PER_BLOCK];
+    }
+
+    void add(String word) {
+        set(hash(word));
+    }
+
+    boolean mightContain(String word) {
+        return test(hash(word));
+    }
+
+    boolean mightContain(char[] word) {
+        return test(hash(word));
+    }
+
+    /**
+     * @return the number of bytes used by the bit array
+     */
+    long memoryBytes() {
+        return 8L * bits.length;
+    }
+
+    /**
+     * Sets the probe bits for a hash. The block comes from the high half of {@code h};
+     * the in-block positions are consecutive 9-bit slices of a second, independent hash.
+     */
+    private void set(long h) {
+        int base = block(h);
+        long probes = mix(h + 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < PROBES; i++) {
+            int bit = (int) (probes >>> (i * 9)) & 511;
+            bits[base + (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    private boolean test(long h) {
+        int base = block(h);
+        long probes = mix(h + 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < PROBES; i++) {
+            int bit = (int) (probes >>> (i * 9)) & 511;
+            if ((bits[base + (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Maps the high 32 bits of the hash onto a block without a division.
+     */
+    private int block(long h) {
+        return (int) (((h >>> 32) * blocks) >>> 32) * LONGS_PER_BLOCK;
+    }
+
+    private static long hash(String word) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < word.length(); i++) {
+            h = (h ^ word.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long hash(char[] word) {
+        long h = 0xcbf29ce484222325L;
+        for (char c : word) {
+            h = (h ^ c) * 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    /**
+     * Finalizer from MurmurHash3, spreading FNV-1a's output over all 64 bits.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
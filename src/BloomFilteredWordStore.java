@@ -0,0 +1,70 @@
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * A {@link WordStore} that answers most misses from a {@link BloomFilter} before
+ * consulting the exact store behind it.
+ */
+final class BloomFilteredWordStore implements WordStore {
+
+    private final WordStore exact;
+    private final BloomFilter filter;
+
+    BloomFilteredWordStore(WordStore exact) {
+        this.exact = exact;
+        this.filter = new BloomFilter(exact.size());
+        for (String word : exact.asSet()) {
+            filter.add(word);
+        }
+    }
+
+    /**
+     * @param word a normalized word, as characters
+     * @return false if the word is definitely absent, true if it may be present
+     */
+    boolean mightContain(char[] word) {
+        return filter.mightContain(word);
+    }
+
+    /**
+     * @return the filter in front of the exact store
+     */
+    BloomFilter getFilter() {
+        return filter;
+    }
+
+    @Override
+    public int size() {
+        return exact.size();
+    }
+
+    @Override
+    public boolean contains(String word) {
+        return filter.mightContain(word) && exact.contains(word);
+    }
+
+    @Override
+    public int idOf(String word) {
+        return filter.mightContain(word) ? exact.idOf(word) : -1;
+    }
+
+    @Override
+    public String wordAt(int id) {
+        return exact.wordAt(id);
+    }
+
+    @Override
+    public void forEachMatch(char[] pattern, int wildcard, IntConsumer action) {
+        exact.forEachMatch(pattern, wildcard, action);
+    }
+
+    @Override
+    public NeighborIndex buildNeighborIndex() {
+        return exact.buildNeighborIndex();
+    }
+
+    @Override
+    public Set<String> asSet() {
+        return exact.asSet();
+    }
+}
@@ -0,0 +1,39 @@
+import java.awt.*;
+
+/**
+ * The drawing surface {@link WordLadderGUI} renders onto, in StdDraw's coordinate
+ * system: x and y run from 0 to 1, with the origin at the bottom left.
+ * <p>
+ * {@link StdDrawCanvas} draws into the game window; {@link ImageCanvas} draws into an
+ * offscreen image and works in headless mode, for share images and frame export.
+ */
+public interface Canvas {
+
+    /** Clears the surface to white. */
+    void clear();
+
+    /** Draws an image file centered at (x, y), scaled to the given width and height. */
+    void picture(double x, double y, String filename, double scaledWidth, double scaledHeight);
+
+    void setPenColor(Color color);
+
+    void setFont(Font font);
+
+    /** Draws text centered at (x, y). */
+    void text(double x, double y, String text);
+
+    /** Draws text left-aligned at (x, y). */
+    void textLeft(double x, double y, String text);
+
+    /** Draws text right-aligned at (x, y). */
+    void textRight(double x, double y, String text);
+
+    void square(double x, double y, double halfLength);
+
+    void rectangle(double x, double y, double halfWidth, double halfHeight);
+
+    void filledRectangle(double x, double y, double halfWidth, double halfHeight);
+
+    /** Makes everything drawn since the last call visible. */
+    void show();
+}
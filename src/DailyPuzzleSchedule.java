@@ -0,0 +1,175 @@
+import java.io.*;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * A precomputed calendar of daily puzzles, one per day and difficulty.
+ * <p>
+ * Every entry is generated with {@link PuzzleGenerator#daily} and its optimal length is
+ * re-checked with an independent breadth-first search before it is accepted, so a server
+ * answers "today's puzzle" with an array lookup. The days are computed in one parallel
+ * pass; each task writes only its own slots, so the result does not depend on scheduling.
+ * <p>
+ * The schedule file records the {@link Dictionary#checksum()} it was built against and
+ * is rejected if the word list has changed.
+ */
+public class DailyPuzzleSchedule {
+
+    private static final int MAGIC = 0x574C4450; // "WLDP"
+    private static final int VERSION = 1;
+    private static final int DIFFICULTIES = PuzzleGenerator.Difficulty.values().length;
+
+    private final Dictionary dictionary;
+    private final LocalDate firstDay;
+    private final int days;
+    private final PuzzleGenerator.Puzzle[] puzzles; // day * DIFFICULTIES + difficulty
+
+    private DailyPuzzleSchedule(Dictionary dictionary, LocalDate firstDay, int days,
+                                PuzzleGenerator.Puzzle[] puzzles) {
+        this.dictionary = dictionary;
+        this.firstDay = firstDay;
+        this.days = days;
+        this.puzzles = puzzles;
+    }
+
+    /**
+     * Generates and verifies the puzzles for {@code days} consecutive days.
+     *
+     * @param dictionary the dictionary the puzzles are drawn from
+     * @param firstDay   the first day of the schedule
+     * @param days       the number of days
+     * @return the schedule
+     * @throws IllegalStateException if a generated puzzle fails verification
+     */
+    public static DailyPuzzleSchedule precompute(Dictionary dictionary, LocalDate firstDay, int days) {
+        PuzzleGenerator generator = new PuzzleGenerator(dictionary);
+        PuzzleGenerator.Puzzle[] puzzles = new PuzzleGenerator.Puzzle[days * DIFFICULTIES];
+        ConcurrentHashMap<Integer, String> failures = new ConcurrentHashMap<>();
+
+        IntStream.range(0, puzzles.length).parallel().forEach(slot -> {
+            LocalDate day = firstDay.plusDays(slot / DIFFICULTIES);
+            PuzzleGenerator.Difficulty difficulty = PuzzleGenerator.Difficulty.values()[slot % DIFFICULTIES];
+            PuzzleGenerator.Puzzle puzzle = generator.daily(day, difficulty);
+            if (puzzle == null) {
+                failures.put(slot, day + " " + difficulty + ": no puzzle");
+                return;
+            }
+            int verified = generator.shortestDistance(puzzle.getStartWord(), puzzle.getEndWord());
+            if (verified != puzzle.getOptimalMoves()) {
+                failures.put(slot, day + " " + difficulty + ": " + puzzle + " but shortest is " + verified);
+                return;
+            }
+            puzzles[slot] = puzzle;
+        });
+
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Puzzle verification failed for " + failures.size()
+                    + " entries, e.g. " + failures.values().iterator().next());
+        }
+        return new DailyPuzzleSchedule(dictionary, firstDay, days, puzzles);
+    }
+
+    /**
+     * @param date       the day
+     * @param difficulty the difficulty
+     * @return the scheduled puzzle, or {@code null} if the date is outside the schedule
+     */
+    public PuzzleGenerator.Puzzle lookup(LocalDate date, PuzzleGenerator.Difficulty difficulty) {
+        long day = date.toEpochDay() - firstDay.toEpochDay();
+        if (day < 0 || day >= days) {
+            return null;
+        }
+        return puzzles[(int) day * DIFFICULTIES + difficulty.ordinal()];
+    }
+
+    public LocalDate getFirstDay() {
+        return firstDay;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Writes the schedule as word ids, replacing {@code file} atomically.
+     *
+     * @param file the schedule file
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(dictionary.checksum());
+            out.writeLong(firstDay.toEpochDay());
+            out.writeInt(days);
+            for (PuzzleGenerator.Puzzle puzzle : puzzles) {
+                out.writeInt(dictionary.idOf(puzzle.getStartWord()));
+                out.writeInt(dictionary.idOf(puzzle.getEndWord()));
+                out.writeByte(puzzle.getOptimalMoves());
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a schedule written by {@link #save(Path)}.
+     *
+     * @param file       the schedule file
+     * @param dictionary the current dictionary
+     * @return the schedule
+     * @throws IOException if the file is unreadable or was built from a different word list
+     */
+    public static DailyPuzzleSchedule load(Path file, Dictionary dictionary) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a puzzle schedule: " + file);
+            }
+            if (in.readLong() != dictionary.checksum()) {
+                throw new IOException("Puzzle schedule was built from a different dictionary: " + file);
+            }
+            LocalDate firstDay = LocalDate.ofEpochDay(in.readLong());
+            int days = in.readInt();
+            if (days < 0) {
+                throw new IOException("Corrupt puzzle schedule: " + file);
+            }
+            PuzzleGenerator.Puzzle[] puzzles = new PuzzleGenerator.Puzzle[days * DIFFICULTIES];
+            for (int i = 0; i < puzzles.length; i++) {
+                int start = in.readInt();
+                int end = in.readInt();
+                int moves = in.readUnsignedByte();
+                if (start < 0 || start >= dictionary.size() || end < 0 || end >= dictionary.size()) {
+                    throw new IOException("Corrupt puzzle schedule: " + file);
+                }
+                puzzles[i] = new PuzzleGenerator.Puzzle(dictionary.wordAt(start), dictionary.wordAt(end), moves);
+            }
+            return new DailyPuzzleSchedule(dictionary, firstDay, days, puzzles);
+        }
+    }
+
+    /**
+     * Precomputes a schedule and writes it to disk.
+     * Usage: {@code java DailyPuzzleSchedule [words file] [schedule file] [first day] [days]}
+     */
+    public static void main(String[] args) throws IOException {
+        String wordsFile = args.length > 0 ? args[0] : "word_ladder_words.txt";
+        Path scheduleFile = Paths.get(args.length > 1 ? args[1] : Game.DAILY_SCHEDULE_FILE);
+        LocalDate firstDay = args.length > 2 ? LocalDate.parse(args[2]) : LocalDate.now();
+        int days = args.length > 3 ? Integer.parseInt(args[3]) : 365;
+
+        Dictionary dictionary = Dictionary.load(wordsFile);
+        long started = System.nanoTime();
+        DailyPuzzleSchedule schedule = precompute(dictionary, firstDay, days);
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        schedule.save(scheduleFile);
+
+        System.out.println("Precomputed " + days * DIFFICULTIES + " puzzles for " + days + " days from "
+                + firstDay + " in " + millis + " ms -> " + scheduleFile);
+        System.out.println("Today: " + schedule.lookup(LocalDate.now(), PuzzleGenerator.Difficulty.MEDIUM));
+    }
+}
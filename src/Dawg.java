@@ -0,0 +1,407 @@
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * A minimal acyclic word automaton (DAWG) packed into primitive arrays.
+ * <p>
+ * Shared prefixes and shared suffixes are each stored once, which makes this
+ * {@link WordStore} far smaller than a {@code HashSet<String>} for large word lists.
+ * Every node records how many words are reachable below it, so words can be mapped
+ * to their alphabetical id and back without storing the words themselves.
+ * <p>
+ * Layout: the outgoing edges of node {@code n} occupy positions
+ * {@code firstEdge[n]} to {@code firstEdge[n + 1] - 1} of {@code edgeLabels} and
+ * {@code edgeTargets}, sorted by label. {@code nodeInfo[n]} holds the number of words
+ * accepted from {@code n} shifted left by one, with the low bit set when {@code n} is
+ * itself the end of a word. Node 0 is the root.
+ */
+final class Dawg extends AbstractSet<String> implements WordStore {
+
+    private final int[] firstEdge;
+    private final int[] nodeInfo;
+    private final char[] edgeLabels;
+    private final int[] edgeTargets;
+
+    /**
+     * Builds the minimal automaton incrementally (Daciuk et al.), which requires the
+     * input to be sorted.
+     *
+     * @param sortedWords normalized words, sorted and free of duplicates
+     */
+    Dawg(String[] sortedWords) {
+        Builder builder = new Builder();
+        for (String word : sortedWords) {
+            builder.add(word);
+        }
+        BuildNode root = builder.finish();
+
+        // Number the nodes so the root is 0, then pack them.
+        Map<BuildNode, Integer> numbering = new IdentityHashMap<>();
+        List<BuildNode> order = new ArrayList<>();
+        Deque<BuildNode> pending = new ArrayDeque<>();
+        numbering.put(root, 0);
+        order.add(root);
+        pending.add(root);
+        int edgeCount = 0;
+        while (!pending.isEmpty()) {
+            BuildNode node = pending.poll();
+            edgeCount += node.size;
+            for (int i = 0; i < node.size; i++) {
+                BuildNode child = node.children[i];
+                if (!numbering.containsKey(child)) {
+                    numbering.put(child, order.size());
+                    order.add(child);
+                    pending.add(child);
+                }
+            }
+        }
+
+        int nodes = order.size();
+        firstEdge = new int[nodes + 1];
+        nodeInfo = new int[nodes];
+        edgeLabels = new char[edgeCount];
+        edgeTargets = new int[edgeCount];
+        int edge = 0;
+        for (int n = 0; n < nodes; n++) {
+            BuildNode node = order.get(n);
+            firstEdge[n] = edge;
+            nodeInfo[n] = (node.count << 1) | (node.terminal ? 1 : 0);
+            for (int i = 0; i < node.size; i++) {
+                edgeLabels[edge] = node.labels[i];
+                edgeTargets[edge] = numbering.get(node.children[i]);
+                edge++;
+            }
+        }
+        firstEdge[nodes] = edge;
+    }
+
+    private boolean isTerminal(int node) {
+        return (nodeInfo[node] & 1) != 0;
+    }
+
+    private int wordsBelow(int node) {
+        return nodeInfo[node] >>> 1;
+    }
+
+    /**
+     * @return the number of automaton nodes
+     */
+    int nodeCount() {
+        return nodeInfo.length;
+    }
+
+    /**
+     * @return the number of automaton edges
+     */
+    int edgeCount() {
+        return edgeTargets.length;
+    }
+
+    /**
+     * @return the approximate heap footprint of the packed arrays, in bytes
+     */
+    long memoryBytes() {
+        long arrayHeader = 16;
+        return 4 * arrayHeader
+                + 4L * firstEdge.length + 4L * nodeInfo.length
+                + 2L * edgeLabels.length + 4L * edgeTargets.length;
+    }
+
+    @Override
+    public int size() {
+        return wordsBelow(0);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof String && contains((String) o);
+    }
+
+    @Override
+    public boolean contains(String word) {
+        int node = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int edge = find(node, word.charAt(i));
+            if (edge < 0) {
+                return false;
+            }
+            node = edgeTargets[edge];
+        }
+        return isTerminal(node);
+    }
+
+    @Override
+    public int idOf(String word) {
+        int node = 0;
+        int rank = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (isTerminal(node)) {
+                rank++;
+            }
+            int edge = firstEdge[node];
+            int end = firstEdge[node + 1];
+            while (edge < end && edgeLabels[edge] < c) {
+                rank += wordsBelow(edgeTargets[edge]);
+                edge++;
+            }
+            if (edge == end || edgeLabels[edge] != c) {
+                return -1;
+            }
+            node = edgeTargets[edge];
+        }
+        return isTerminal(node) ? rank : -1;
+    }
+
+    @Override
+    public String wordAt(int id) {
+        if (id < 0 || id >= size()) {
+            throw new IndexOutOfBoundsException("No word with id " + id);
+        }
+        StringBuilder sb = new StringBuilder();
+        int node = 0;
+        int remaining = id;
+        while (true) {
+            if (isTerminal(node)) {
+                if (remaining == 0) {
+                    return sb.toString();
+                }
+                remaining--;
+            }
+            int edge = firstEdge[node];
+            while (remaining >= wordsBelow(edgeTargets[edge])) {
+                remaining -= wordsBelow(edgeTargets[edge]);
+                edge++;
+            }
+            sb.append(edgeLabels[edge]);
+            node = edgeTargets[edge];
+        }
+    }
+
+    @Override
+    public void forEachMatch(char[] pattern, int wildcard, IntConsumer action) {
+        int node = 0;
+        int rank = 0;
+        for (int i = 0; i < wildcard; i++) {
+            if (isTerminal(node)) {
+                rank++;
+            }
+            int edge = find(node, pattern[i]);
+            if (edge < 0) {
+                return;
+            }
+            rank += skippedBefore(node, edge);
+            node = edgeTargets[edge];
+        }
+
+        if (isTerminal(node)) {
+            rank++;
+        }
+        for (int edge = firstEdge[node], end = firstEdge[node + 1]; edge < end; edge++) {
+            int target = edgeTargets[edge];
+            char label = edgeLabels[edge];
+            if (label >= 'a' && label <= 'z') {
+                int id = matchSuffix(target, rank, pattern, wildcard + 1);
+                if (id >= 0) {
+                    action.accept(id);
+                }
+            }
+            rank += wordsBelow(target);
+        }
+    }
+
+    /**
+     * Follows {@code pattern[from..]} exactly, starting at {@code node} whose first word
+     * has id {@code rank}.
+     */
+    private int matchSuffix(int node, int rank, char[] pattern, int from) {
+        for (int i = from; i < pattern.length; i++) {
+            if (isTerminal(node)) {
+                rank++;
+            }
+            int edge = find(node, pattern[i]);
+            if (edge < 0) {
+                return -1;
+            }
+            rank += skippedBefore(node, edge);
+            node = edgeTargets[edge];
+        }
+        return isTerminal(node) ? rank : -1;
+    }
+
+    private int find(int node, char c) {
+        for (int edge = firstEdge[node], end = firstEdge[node + 1]; edge < end; edge++) {
+            if (edgeLabels[edge] == c) {
+                return edge;
+            }
+            if (edgeLabels[edge] > c) {
+                break;
+            }
+        }
+        return -1;
+    }
+
+    private int skippedBefore(int node, int edge) {
+        int skipped = 0;
+        for (int e = firstEdge[node]; e < edge; e++) {
+            skipped += wordsBelow(edgeTargets[e]);
+        }
+        return skipped;
+    }
+
+    @Override
+    public NeighborIndex buildNeighborIndex() {
+        return NeighborIndex.fromWildcardQueries(this);
+    }
+
+    @Override
+    public Set<String> asSet() {
+        return this;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < size();
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return wordAt(next++);
+            }
+        };
+    }
+
+    /**
+     * A mutable automaton node used only while building.
+     * Once registered a node is frozen, so equality can rely on its children being canonical.
+     */
+    private static final class BuildNode {
+        boolean terminal;
+        char[] labels = new char[2];
+        BuildNode[] children = new BuildNode[2];
+        int size;
+        int count;
+        private int hash;
+
+        void add(char label, BuildNode child) {
+            if (size == labels.length) {
+                labels = Arrays.copyOf(labels, size * 2);
+                children = Arrays.copyOf(children, size * 2);
+            }
+            labels[size] = label;
+            children[size] = child;
+            size++;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof BuildNode)) {
+                return false;
+            }
+            BuildNode other = (BuildNode) obj;
+            if (terminal != other.terminal || size != other.size) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (labels[i] != other.labels[i] || children[i] != other.children[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            if (hash == 0) {
+                int h = terminal ? 1 : 0;
+                for (int i = 0; i < size; i++) {
+                    h = 31 * h + labels[i];
+                    h = 31 * h + System.identityHashCode(children[i]);
+                }
+                hash = h == 0 ? 1 : h;
+            }
+            return hash;
+        }
+    }
+
+    /**
+     * Incremental construction of a minimal automaton from sorted input.
+     */
+    private static final class Builder {
+        private final BuildNode root = new BuildNode();
+        private final Map<BuildNode, BuildNode> register = new HashMap<>();
+        private final List<BuildNode> path = new ArrayList<>(); // nodes of the last word not yet minimized
+        private String previous = "";
+
+        Builder() {
+            path.add(root);
+        }
+
+        void add(String word) {
+            int common = 0;
+            int max = Math.min(word.length(), previous.length());
+            while (common < max && word.charAt(common) == previous.charAt(common)) {
+                common++;
+            }
+            minimize(common);
+
+            BuildNode node = path.get(path.size() - 1);
+            for (int i = common; i < word.length(); i++) {
+                BuildNode next = new BuildNode();
+                node.add(word.charAt(i), next);
+                path.add(next);
+                node = next;
+            }
+            node.terminal = true;
+            previous = word;
+        }
+
+        BuildNode finish() {
+            minimize(0);
+            countWords(root, new IdentityHashMap<>());
+            return root;
+        }
+
+        /**
+         * Replaces the nodes of the previous word below depth {@code depth} with their
+         * registered equivalents.
+         */
+        private void minimize(int depth) {
+            for (int i = path.size() - 1; i > depth; i--) {
+                BuildNode child = path.get(i);
+                BuildNode parent = path.get(i - 1);
+                BuildNode existing = register.get(child);
+                if (existing != null) {
+                    parent.children[parent.size - 1] = existing;
+                } else {
+                    register.put(child, child);
+                }
+                path.remove(i);
+            }
+        }
+
+        private int countWords(BuildNode node, Map<BuildNode, Boolean> done) {
+            if (done.containsKey(node)) {
+                return node.count;
+            }
+            int count = node.terminal ? 1 : 0;
+            for (int i = 0; i < node.size; i++) {
+                count += countWords(node.children[i], done);
+            }
+            node.count = count;
+            done.put(node, Boolean.TRUE);
+            return count;
+        }
+    }
+}
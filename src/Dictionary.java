@@ -1,33 +1,285 @@
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
 
-public class Dictionary {
+/**
+ * An immutable snapshot of a word list together with its neighbor index.
+ * <p>
+ * Once constructed a {@code Dictionary} never changes, so a single instance can be
+ * shared freely between threads without locking. Every word also gets a dense int id
+ * (its position in alphabetical order), which the {@link NeighborIndex} is built on,
+ * and one canonical {@link Word} instance, handed out by {@link #wordFor(String)}.
+ * To pick up a changed word file, build a new snapshot through {@link DictionaryProvider}.
+ * <p>
+ * A dictionary can also be a subset of another one, such as a profanity-filtered or
+ * kid-friendly list (see {@link #subset(BitSet)} and {@link DictionaryRegistry}). A subset
+ * shares its base's word store, neighbor index and ladder graph and only adds a bitset
+ * of member ids. Ids stay the base's ids, so {@link #size()} is the size of the id space
+ * and {@link #wordCount()} the number of words; lookups, neighbors and searches skip
+ * ids outside the subset.
+ */
+public final class Dictionary {
 
-    private Set<String> words;
+    /**
+     * The structure used for exact membership and id lookups.
+     */
+    public enum Backend {
+        /** A {@code HashSet} plus a sorted id array; fastest lookups. */
+        HASH,
+        /** A minimal automaton packed into int arrays; a fraction of the memory. */
+        DAWG
+    }
+
+    private final Backend backend;
+    private final WordStore store;
+    private final NeighborIndex neighborIndex;
+    private final AtomicReferenceArray<Word> canonicalWords;
+    private volatile long checksum = -1;
+    private volatile LadderGraph ladderGraph;
+    private volatile char[] characters;
+    private final Dictionary base;   // this dictionary, unless it is a subset
+    private final BitSet members;    // null when every id is a word
+    private final BitSet excluded;   // the complement of members, for searches
+    private volatile Set<String> memberWords;
 
     public Dictionary (String filename){
-        words = new HashSet<>();
-        loadWordsFromFile(filename);
+        this(filename, Backend.HASH);
     }
 
-
     /**
-     * Loads words from a file and adds them to the dictionary.
-     * Words are trimmed and converted to lowercase before storage.
+     * Loads a dictionary from a file into the given backend.
      *
      * @param filename the name of the file to read from
+     * @param backend  the membership structure to build
+     */
+    public Dictionary(String filename, Backend backend) {
+        this(readWordsOrEmpty(filename), backend);
+    }
+
+    /**
+     * Builds a dictionary from an in-memory collection of words.
+     * Words are trimmed and converted to lowercase; blank entries are skipped.
+     *
+     * @param source the words to include
+     */
+    public Dictionary(Collection<String> source) {
+        this(source, Backend.HASH);
+    }
+
+    /**
+     * Builds a dictionary from an in-memory collection of words using the given backend.
+     *
+     * @param source  the words to include
+     * @param backend the membership structure to build
      */
-    private void loadWordsFromFile(String filename) {
-        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
-            String word;
-            while ((word = br.readLine()) != null) {
-                words.add(word.trim().toLowerCase());  // Add word to the set after trimming and converting to lowercase
+    public Dictionary(Collection<String> source, Backend backend) {
+        this(normalize(source), backend);
+    }
+
+    /**
+     * @param sortedWords normalized words, sorted and free of duplicates
+     * @param backend     the membership structure to build
+     */
+    private Dictionary(String[] sortedWords, Backend backend) {
+        this.backend = backend;
+        this.store = backend == Backend.DAWG ? new Dawg(sortedWords) : new HashWordStore(sortedWords);
+        this.neighborIndex = store.buildNeighborIndex();
+        this.canonicalWords = new AtomicReferenceArray<>(store.size());
+        this.base = this;
+        this.members = null;
+        this.excluded = null;
+    }
+
+    private Dictionary(Backend backend, WordStore store, NeighborIndex neighborIndex, long checksum) {
+        this.backend = backend;
+        this.store = store;
+        this.neighborIndex = neighborIndex;
+        this.canonicalWords = new AtomicReferenceArray<>(store.size());
+        this.checksum = checksum;
+        this.base = this;
+        this.members = null;
+        this.excluded = null;
+    }
+
+    private Dictionary(Dictionary base, BitSet members) {
+        this.backend = base.backend;
+        this.store = base.store;
+        this.neighborIndex = base.neighborIndex;
+        this.canonicalWords = new AtomicReferenceArray<>(store.size());
+        this.base = base;
+        this.members = members;
+        this.excluded = (BitSet) members.clone();
+        this.excluded.flip(0, store.size());
+    }
+
+    /**
+     * Rebuilds a dictionary from the parts saved in an {@link EngineSnapshot}, without
+     * rebuilding the neighbor index.
+     *
+     * @param sortedWords the words in id order
+     * @param index       their neighbor index
+     * @param checksum    the checksum of the words
+     * @return the dictionary
+     */
+    static Dictionary restore(String[] sortedWords, NeighborIndex index, long checksum) {
+        if (index.size() != sortedWords.length) {
+            throw new IllegalArgumentException("Neighbor index does not match the words");
+        }
+        return new Dictionary(Backend.HASH, new HashWordStore(sortedWords), index, checksum);
+    }
+
+    /**
+     * Returns a dictionary with the same words and neighbor index whose lookups first
+     * consult a cache-line-blocked Bloom filter. Most misses, which dominate neighbor
+     * generation, are then rejected without touching the exact membership structure.
+     *
+     * @return a prefiltered copy sharing this dictionary's storage, or this dictionary
+     *         if it is already prefiltered
+     */
+    public Dictionary withBloomPrefilter() {
+        if (store instanceof BloomFilteredWordStore) {
+            return this;
+        }
+        if (isSubset()) {
+            return new Dictionary(base.withBloomPrefilter(), members);
+        }
+        return new Dictionary(backend, new BloomFilteredWordStore(store), neighborIndex, checksum);
+    }
+
+    /**
+     * @return true if lookups go through a Bloom filter first
+     */
+    public boolean hasBloomPrefilter() {
+        return store instanceof BloomFilteredWordStore;
+    }
+
+    /**
+     * Returns the subset of this dictionary's words with the given ids, sharing its word
+     * store, neighbor index and ladder graph. A subset of a subset keeps only words that
+     * are in both.
+     *
+     * @param ids the ids of the words to keep; ids outside this dictionary are ignored
+     * @return the subset
+     */
+    public Dictionary subset(BitSet ids) {
+        BitSet kept = (BitSet) ids.clone();
+        if (kept.length() > store.size()) {
+            kept.clear(store.size(), kept.length());
+        }
+        if (members != null) {
+            kept.and(members);
+        }
+        return new Dictionary(base, kept);
+    }
+
+    /**
+     * Returns the subset of this dictionary's words accepted by a filter.
+     *
+     * @param keep decides, for each word, whether the subset contains it
+     * @return the subset
+     */
+    public Dictionary subset(Predicate<String> keep) {
+        BitSet kept = new BitSet(store.size());
+        for (int id = 0; id < store.size(); id++) {
+            if (contains(id) && keep.test(store.wordAt(id))) {
+                kept.set(id);
             }
+        }
+        return new Dictionary(base, kept);
+    }
+
+    /**
+     * @return true if this dictionary is a subset of another one's words
+     */
+    public boolean isSubset() {
+        return members != null;
+    }
+
+    /**
+     * @return the dictionary whose storage this one shares; itself unless it is a subset
+     */
+    public Dictionary getBase() {
+        return base;
+    }
+
+    /**
+     * @param id a word id in {@code [0, size())}
+     * @return true if the word with that id is in this dictionary; always true unless
+     *         this dictionary is a subset
+     */
+    public boolean contains(int id) {
+        return members == null || members.get(id);
+    }
+
+    /**
+     * The ids searches must not step onto: for a subset, every id outside it. Shared,
+     * so callers must not modify it.
+     *
+     * @return the excluded ids, or {@code null} if this dictionary is not a subset
+     */
+    BitSet excludedIds() {
+        return excluded;
+    }
+
+    /**
+     * Loads a dictionary from a file, failing loudly instead of falling back to an
+     * empty word list. Used for hot reloads, where a broken file must never replace
+     * a working snapshot.
+     *
+     * @param filename the name of the file to read from
+     * @return the loaded dictionary
+     * @throws IOException if the file cannot be read
+     */
+    public static Dictionary load(String filename) throws IOException {
+        return load(filename, Backend.HASH);
+    }
+
+    /**
+     * Like {@link #load(String)}, building the given backend.
+     *
+     * @param filename the name of the file to read from
+     * @param backend  the membership structure to build
+     * @return the loaded dictionary
+     * @throws IOException if the file cannot be read
+     */
+    public static Dictionary load(String filename, Backend backend) throws IOException {
+        return new Dictionary(DictionaryLoader.load(Paths.get(filename)).getWords(), backend);
+    }
+
+    /**
+     * Reads a word file through {@link DictionaryLoader}. Words are trimmed and
+     * converted to lowercase before storage.
+     *
+     * @param filename the name of the file to read from
+     * @return the sorted, de-duplicated words, or none if the file cannot be read
+     */
+    private static String[] readWordsOrEmpty(String filename) {
+        try {
+            return DictionaryLoader.load(Paths.get(filename)).getWords();
         } catch (IOException e) {
             System.out.println("Error reading the file: " + e.getMessage());
+            return new String[0];
         }
     }
 
+    private static String[] normalize(Collection<String> source) {
+        Set<String> normalized = new HashSet<>();
+        for (String word : source) {
+            String w = word.trim().toLowerCase();
+            if (!w.isEmpty()) {
+                normalized.add(w);
+            }
+        }
+        String[] sorted = normalized.toArray(new String[0]);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
     /**
      * Checks whether a given word exists in the dictionary.
      *
@@ -35,15 +287,224 @@ public class Dictionary {
      * @return true if the word is valid, false otherwise
      */
     public boolean isValidWord(String word) {
-        return words.contains(word.toLowerCase());
+        if (members != null) {
+            return idOf(word) >= 0;
+        }
+        return store.contains(word.toLowerCase());
+    }
+
+    /**
+     * Cheap pre-check for a lowercase candidate held in a char array. Returns false only
+     * if the word is definitely not in the dictionary, letting callers skip building a
+     * String for most misses. Without a Bloom prefilter this always returns true.
+     *
+     * @param word the lowercase candidate word
+     * @return false if the word is definitely absent, true if it may be present
+     */
+    public boolean mightContain(char[] word) {
+        return !(store instanceof BloomFilteredWordStore) || ((BloomFilteredWordStore) store).mightContain(word);
     }
 
     /**
      * Retrieves the full set of words loaded into the dictionary.
      *
-     * @return a Set of all valid dictionary words
+     * @return an unmodifiable Set of all valid dictionary words
      */
     public Set<String> getAllWords() {
+        if (members == null) {
+            return store.asSet();
+        }
+        Set<String> words = memberWords;
+        if (words == null) {
+            Set<String> collected = new HashSet<>(members.cardinality() * 2);
+            for (int id = members.nextSetBit(0); id >= 0; id = members.nextSetBit(id + 1)) {
+                collected.add(store.wordAt(id));
+            }
+            words = Collections.unmodifiableSet(collected);
+            memberWords = words;
+        }
         return words;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return the number of word ids, which is the number of words unless this
+     *         dictionary is a subset; arrays indexed by id should have this size
+     */
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * @return the number of words in the dictionary
+     */
+    public int wordCount() {
+        return members == null ? store.size() : members.cardinality();
+    }
+
+    /**
+     * Looks up the dense id of a word.
+     *
+     * @param word the word to look up (case-insensitive)
+     * @return the id of the word, or -1 if it is not in the dictionary
+     */
+    public int idOf(String word) {
+        int id = store.idOf(word.toLowerCase());
+        return id >= 0 && contains(id) ? id : -1;
+    }
+
+    /**
+     * @param id a word id in {@code [0, size())}
+     * @return the word with the given id
+     */
+    public String wordAt(int id) {
+        return store.wordAt(id);
+    }
+
+    /**
+     * Returns the canonical {@link Word} for an id. Each entry has exactly one, created on
+     * first use, so canonical words can be compared by reference and kept without
+     * allocating.
+     *
+     * @param id a word id in {@code [0, size())}
+     * @return the dictionary's own instance for that word
+     */
+    public Word canonicalWord(int id) {
+        Word word = canonicalWords.get(id);
+        if (word == null) {
+            word = new Word(store.wordAt(id), this, id);
+            if (!canonicalWords.compareAndSet(id, null, word)) {
+                word = canonicalWords.get(id); // another thread got there first
+            }
+        }
+        return word;
+    }
+
+    /**
+     * Factory for {@link Word}s: returns the canonical instance for dictionary words and
+     * a new, detached {@code Word} for anything else.
+     *
+     * @param word the word (case-insensitive)
+     * @return the canonical instance, or a new {@code Word} if the word is not in the dictionary
+     */
+    public Word wordFor(String word) {
+        int id = idOf(word);
+        return id >= 0 ? canonicalWord(id) : new Word(word, this);
+    }
+
+    /**
+     * A CRC-32 over the words in id order. Two dictionaries with the same words have the
+     * same checksum, and hence the same ids, whichever file or backend they came from.
+     * Anything persisted against word ids should be keyed by this value. A subset's
+     * checksum covers its own words and its base's checksum, since its ids are the base's.
+     *
+     * @return the dictionary checksum
+     */
+    public long checksum() {
+        long value = checksum;
+        if (value < 0) {
+            CRC32 crc = new CRC32();
+            for (int id = 0; id < store.size(); id++) {
+                if (contains(id)) {
+                    crc.update(store.wordAt(id).getBytes(StandardCharsets.UTF_8));
+                    crc.update('\n');
+                }
+            }
+            if (members != null) {
+                long baseChecksum = base.checksum();
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    crc.update((int) (baseChecksum >>> shift));
+                }
+            }
+            value = crc.getValue();
+            checksum = value;
+        }
+        return value;
+    }
+
+    /**
+     * Reports the id of every word matching {@code pattern} with any letter from 'a' to
+     * 'z' at position {@code wildcard}. This is the query neighbor generation needs.
+     *
+     * @param pattern  a lowercase word
+     * @param wildcard the position that may hold any letter
+     * @param action   receives the id of each matching word, in ascending order
+     */
+    public void forEachMatch(String pattern, int wildcard, IntConsumer action) {
+        if (members == null) {
+            store.forEachMatch(pattern.toCharArray(), wildcard, action);
+        } else {
+            store.forEachMatch(pattern.toCharArray(), wildcard, id -> {
+                if (members.get(id)) {
+                    action.accept(id);
+                }
+            });
+        }
+    }
+
+    /**
+     * @return the membership structure this dictionary was built with
+     */
+    public Backend getBackend() {
+        return backend;
+    }
+
+    /**
+     * @return the one-letter-different neighbor index over this dictionary's word ids;
+     *         for a subset, the base's index, so walkers must skip ids it does not contain
+     */
+    public NeighborIndex getNeighborIndex() {
+        return neighborIndex;
+    }
+
+    /**
+     * Returns every character used in the words, in ascending order, computed on first
+     * use. These are the characters an added letter can be: the {@link LadderGraph}
+     * links words through any dropped character, not only 'a' to 'z'.
+     *
+     * @return the characters of the base dictionary's words; shared, do not modify
+     */
+    char[] characters() {
+        if (base != this) {
+            return base.characters();
+        }
+        char[] chars = characters;
+        if (chars == null) {
+            BitSet used = new BitSet(128);
+            for (int id = 0; id < store.size(); id++) {
+                String word = store.wordAt(id);
+                for (int i = 0; i < word.length(); i++) {
+                    used.set(word.charAt(i));
+                }
+            }
+            chars = new char[used.cardinality()];
+            for (int c = used.nextSetBit(0), i = 0; c >= 0; c = used.nextSetBit(c + 1)) {
+                chars[i++] = (char) c;
+            }
+            characters = chars;
+        }
+        return chars;
+    }
+
+    /**
+     * Returns the add/remove-letter edges between words of different lengths, building
+     * them on first use. Only rules that allow adding and removing letters need them.
+     *
+     * @return the add/remove-letter graph over this dictionary's word ids
+     */
+    public LadderGraph getLadderGraph() {
+        if (base != this) {
+            return base.getLadderGraph();
+        }
+        LadderGraph graph = ladderGraph;
+        if (graph == null) {
+            synchronized (this) {
+                graph = ladderGraph;
+                if (graph == null) {
+                    graph = LadderGraph.build(this);
+                    ladderGraph = graph;
+                }
+            }
+        }
+        return graph;
+    }
+}
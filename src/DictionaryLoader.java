@@ -0,0 +1,250 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Reads large word files through a memory-mapped {@link FileChannel}.
+ * <p>
+ * The file is split into chunks at newline boundaries and the chunks are parsed in
+ * parallel. Each line is trimmed and lowercased directly on the mapped bytes, so the
+ * only String created per line is the final word itself. Lines containing non-ASCII
+ * bytes fall back to UTF-8 decoding. The per-chunk results are merged into one sorted,
+ * duplicate-free array, which is exactly the id order {@link Dictionary} uses.
+ */
+public final class DictionaryLoader {
+
+    /** Files smaller than this are parsed by a single thread. */
+    private static final long MIN_CHUNK_BYTES = 1 << 20;
+    /** Upper bound for one mapped region. */
+    private static final long MAX_CHUNK_BYTES = 1 << 30;
+
+    private DictionaryLoader() {
+    }
+
+    /**
+     * The outcome of a load: the normalized words plus throughput figures.
+     */
+    public static final class Result {
+        private final String[] words;
+        private final long bytes;
+        private final long nanos;
+
+        private Result(String[] words, long bytes, long nanos) {
+            this.words = words;
+            this.bytes = bytes;
+            this.nanos = nanos;
+        }
+
+        /**
+         * @return the normalized words, sorted and without duplicates
+         */
+        public String[] getWords() {
+            return words;
+        }
+
+        /**
+         * @return the size of the file in bytes
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return the wall-clock time spent reading and parsing, in nanoseconds
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * @return the load throughput in megabytes (10^6 bytes) per second
+         */
+        public double megabytesPerSecond() {
+            return nanos == 0 ? 0 : (bytes / 1e6) / (nanos / 1e9);
+        }
+    }
+
+    /**
+     * Loads a word file using one worker per available processor.
+     *
+     * @param file the word file, one word per line
+     * @return the parsed words and load statistics
+     * @throws IOException if the file cannot be read
+     */
+    public static Result load(Path file) throws IOException {
+        return load(file, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Loads a word file using up to {@code parallelism} worker threads.
+     *
+     * @param file        the word file, one word per line
+     * @param parallelism the maximum number of chunks parsed concurrently
+     * @return the parsed words and load statistics
+     * @throws IOException if the file cannot be read
+     */
+    public static Result load(Path file, int parallelism) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] bounds = chunkBounds(channel, size, Math.max(1, parallelism));
+            int chunks = bounds.length - 1;
+
+            List<List<String>> parsed = new ArrayList<>();
+            if (chunks == 1) {
+                parsed.add(parseChunk(channel, bounds[0], bounds[1]));
+            } else {
+                ExecutorService workers = Executors.newFixedThreadPool(Math.min(chunks, parallelism));
+                try {
+                    List<Future<List<String>>> futures = new ArrayList<>();
+                    for (int i = 0; i < chunks; i++) {
+                        long from = bounds[i];
+                        long to = bounds[i + 1];
+                        futures.add(workers.submit(() -> parseChunk(channel, from, to)));
+                    }
+                    for (Future<List<String>> f : futures) {
+                        parsed.add(f.get());
+                    }
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof IOException) {
+                        throw (IOException) e.getCause();
+                    }
+                    throw new IOException(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while loading " + file, e);
+                } finally {
+                    workers.shutdown();
+                }
+            }
+
+            String[] words = merge(parsed);
+            return new Result(words, size, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Picks chunk boundaries so that every chunk starts at the beginning of a line.
+     */
+    private static long[] chunkBounds(FileChannel channel, long size, int parallelism) throws IOException {
+        long chunks = Math.max(size / MAX_CHUNK_BYTES + 1, Math.min(parallelism, size / MIN_CHUNK_BYTES));
+        chunks = Math.max(1, chunks);
+
+        long[] bounds = new long[(int) chunks + 1];
+        bounds[(int) chunks] = size;
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        for (int i = 1; i < chunks; i++) {
+            long pos = Math.max(bounds[i - 1], size * i / chunks);
+            bounds[i] = nextLineStart(channel, pos, size, probe);
+        }
+        return bounds;
+    }
+
+    private static long nextLineStart(FileChannel channel, long pos, long size, ByteBuffer probe) throws IOException {
+        while (pos < size) {
+            probe.clear();
+            int read = channel.read(probe, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    /**
+     * Parses one chunk of the mapped file into normalized words.
+     */
+    private static List<String> parseChunk(FileChannel channel, long from, long to) throws IOException {
+        List<String> words = new ArrayList<>();
+        if (to <= from) {
+            return words;
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        int limit = buffer.limit();
+        byte[] scratch = new byte[64];
+
+        int pos = 0;
+        while (pos < limit) {
+            int lineEnd = pos;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+
+            int begin = pos;
+            int end = lineEnd;
+            while (begin < end && (buffer.get(begin) & 0xFF) <= ' ') {
+                begin++;
+            }
+            while (end > begin && (buffer.get(end - 1) & 0xFF) <= ' ') {
+                end--;
+            }
+
+            int length = end - begin;
+            if (length > 0) {
+                if (length > scratch.length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                boolean ascii = true;
+                for (int i = 0; i < length; i++) {
+                    byte b = buffer.get(begin + i);
+                    if (b < 0) {
+                        ascii = false;
+                    } else if (b >= 'A' && b <= 'Z') {
+                        b += 'a' - 'A';
+                    }
+                    scratch[i] = b;
+                }
+                if (ascii) {
+                    words.add(new String(scratch, 0, length, StandardCharsets.ISO_8859_1));
+                } else {
+                    for (int i = 0; i < length; i++) {
+                        scratch[i] = buffer.get(begin + i);
+                    }
+                    String word = new String(scratch, 0, length, StandardCharsets.UTF_8).trim().toLowerCase();
+                    if (!word.isEmpty()) {
+                        words.add(word);
+                    }
+                }
+            }
+            pos = lineEnd + 1;
+        }
+        return words;
+    }
+
+    /**
+     * Concatenates the per-chunk results, sorts them and drops duplicates.
+     */
+    private static String[] merge(List<List<String>> parsed) {
+        int total = 0;
+        for (List<String> chunk : parsed) {
+            total += chunk.size();
+        }
+        String[] all = new String[total];
+        int n = 0;
+        for (List<String> chunk : parsed) {
+            for (String w : chunk) {
+                all[n++] = w;
+            }
+        }
+        Arrays.parallelSort(all);
+
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            if (unique == 0 || !all[i].equals(all[unique - 1])) {
+                all[unique++] = all[i];
+            }
+        }
+        return unique == n ? all : Arrays.copyOf(all, unique);
+    }
+}
@@ -0,0 +1,57 @@
+import java.io.IOException;
+import java.util.concurrent.*;
+
+/**
+ * Publishes the current {@link Dictionary} snapshot through a single volatile reference.
+ * <p>
+ * Readers call {@link #current()} and never block: they always see a fully built
+ * dictionary and neighbor index. {@link #reload(String)} builds the replacement on a
+ * background thread and swaps it in atomically once it is complete. Anyone still holding
+ * the previous snapshot (for example a game in progress) keeps using it undisturbed.
+ */
+public class DictionaryProvider {
+
+    private volatile Dictionary current;
+
+    private final ExecutorService reloader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "dictionary-reloader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public DictionaryProvider(String filename) {
+        this(new Dictionary(filename));
+    }
+
+    public DictionaryProvider(Dictionary initial) {
+        this.current = initial;
+    }
+
+    /**
+     * @return the most recently published dictionary snapshot
+     */
+    public Dictionary current() {
+        return current;
+    }
+
+    /**
+     * Loads a new dictionary (and its neighbor index) from {@code filename} in the
+     * background and publishes it once fully built. Reloads run one at a time, in the
+     * order they were requested. If the file cannot be read the current snapshot is
+     * left in place and the returned future completes exceptionally.
+     *
+     * @param filename the updated word file
+     * @return a future completing with the newly published snapshot
+     */
+    public CompletableFuture<Dictionary> reload(String filename) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Dictionary fresh = Dictionary.load(filename);
+                current = fresh;
+                return fresh;
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, reloader);
+    }
+}
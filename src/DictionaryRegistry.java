@@ -0,0 +1,175 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Predicate;
+
+/**
+ * Named word lists that sessions choose from by key: one per language, plus filtered
+ * variants such as a profanity-free or a kid-friendly list.
+ * <p>
+ * Each word file is loaded at most once, on first use, however many sessions ask for it.
+ * Filtered variants are not loaded as dictionaries of their own: they are subsets of a
+ * base dictionary (see {@link Dictionary#subset(BitSet)}), which costs one bit per base
+ * word, and they share the base's word store, neighbor index and ladder graph. Lookups,
+ * neighbors and searches on a subset skip the words outside it, so no graph is rebuilt.
+ * <p>
+ * Registering is cheap and may happen at any time; {@link #get(String)} loads or builds
+ * the dictionary and then returns the same instance to every caller. Thread-safe.
+ */
+public final class DictionaryRegistry {
+
+    /**
+     * Produces a registered dictionary; called at most once per successful load.
+     */
+    private interface Source {
+        Dictionary load() throws IOException;
+    }
+
+    private final Map<String, Source> sources = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<Dictionary>> loaded = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a word file.
+     *
+     * @param key      the name sessions use, e.g. "en"
+     * @param filename the word file, one word per line
+     */
+    public void registerFile(String key, String filename) {
+        registerFile(key, filename, Dictionary.Backend.HASH);
+    }
+
+    /**
+     * Registers a word file, loaded into the given backend.
+     *
+     * @param key      the name sessions use
+     * @param filename the word file, one word per line
+     * @param backend  the membership structure to build
+     */
+    public void registerFile(String key, String filename, Dictionary.Backend backend) {
+        register(key, () -> Dictionary.load(filename, backend));
+    }
+
+    /**
+     * Registers an already built dictionary, e.g. one restored from an {@link EngineSnapshot}.
+     *
+     * @param key        the name sessions use
+     * @param dictionary the dictionary
+     */
+    public void register(String key, Dictionary dictionary) {
+        register(key, () -> dictionary);
+    }
+
+    /**
+     * Registers the words of another registered dictionary that pass a filter.
+     *
+     * @param key     the name sessions use
+     * @param baseKey the dictionary to filter; may itself be a subset
+     * @param keep    decides, for each word, whether the subset contains it
+     */
+    public void registerSubset(String key, String baseKey, Predicate<String> keep) {
+        register(key, () -> get(baseKey).subset(keep));
+    }
+
+    /**
+     * Registers the words of another registered dictionary that are also listed in a
+     * file, e.g. a kid-friendly list. Listed words the base lacks are ignored.
+     *
+     * @param key      the name sessions use
+     * @param baseKey  the dictionary to filter
+     * @param wordFile the words to keep, one per line
+     */
+    public void registerAllowList(String key, String baseKey, String wordFile) {
+        register(key, () -> {
+            Dictionary base = get(baseKey);
+            BitSet ids = new BitSet(base.size());
+            for (String word : DictionaryLoader.load(Paths.get(wordFile)).getWords()) {
+                int id = base.idOf(word);
+                if (id >= 0) {
+                    ids.set(id);
+                }
+            }
+            return base.subset(ids);
+        });
+    }
+
+    /**
+     * Registers the words of another registered dictionary that are not listed in a
+     * file, e.g. a profanity filter.
+     *
+     * @param key      the name sessions use
+     * @param baseKey  the dictionary to filter
+     * @param wordFile the words to drop, one per line
+     */
+    public void registerBlockList(String key, String baseKey, String wordFile) {
+        register(key, () -> {
+            Dictionary base = get(baseKey);
+            BitSet ids = new BitSet(base.size());
+            ids.set(0, base.size());
+            for (String word : DictionaryLoader.load(Paths.get(wordFile)).getWords()) {
+                int id = base.idOf(word);
+                if (id >= 0) {
+                    ids.clear(id);
+                }
+            }
+            return base.subset(ids);
+        });
+    }
+
+    private void register(String key, Source source) {
+        if (sources.putIfAbsent(key, source) != null) {
+            throw new IllegalArgumentException("Dictionary already registered: " + key);
+        }
+    }
+
+    /**
+     * Returns a registered dictionary, loading it on first use. Concurrent first calls
+     * for one key wait for a single load. A failed load is not remembered, so a later
+     * call tries again.
+     *
+     * @param key the registered name
+     * @return the dictionary; the same instance on every call
+     * @throws IOException if its word file, or a base's, cannot be read
+     */
+    public Dictionary get(String key) throws IOException {
+        Source source = sources.get(key);
+        if (source == null) {
+            throw new IllegalArgumentException("Unknown dictionary: " + key);
+        }
+        CompletableFuture<Dictionary> created = new CompletableFuture<>();
+        CompletableFuture<Dictionary> existing = loaded.putIfAbsent(key, created);
+        if (existing == null) {
+            existing = created;
+            try {
+                created.complete(source.load());
+            } catch (IOException | RuntimeException e) {
+                loaded.remove(key, created);
+                created.completeExceptionally(e);
+            }
+        }
+        try {
+            return existing.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * @param key a registered name
+     * @return true if the dictionary has been loaded
+     */
+    public boolean isLoaded(String key) {
+        CompletableFuture<Dictionary> future = loaded.get(key);
+        return future != null && future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    /**
+     * @return the registered names, sorted
+     */
+    public SortedSet<String> keys() {
+        return Collections.unmodifiableSortedSet(new TreeSet<>(sources.keySet()));
+    }
+}
@@ -0,0 +1,189 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.BufferUnderflowException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * A prebuilt engine state on disk, so later launches skip parsing the word file and
+ * building the indexes: the dictionary's words, its {@link NeighborIndex} (the ladder
+ * graph) and the {@link HardnessIndex} puzzle pool.
+ * <p>
+ * The snapshot is written once, after a normal start has built everything, and restored
+ * with one sequential read of the whole file into memory; the arrays are then copied out
+ * in bulk, so restoring costs little more than the read itself. The file records the
+ * size and modification time of the word file it was built from and a CRC-32 over its
+ * contents. A snapshot of a changed word file, or a damaged one, is rejected and the
+ * caller falls back to a normal start.
+ * <p>
+ * Layout (big-endian): magic, version, word file size and mtime, dictionary checksum,
+ * the words as one newline-separated UTF-8 blob, the neighbor index, the hardness index,
+ * and the CRC-32 of everything before it.
+ */
+public final class EngineSnapshot {
+
+    private static final int MAGIC = 0x574C4553; // "WLES"
+    private static final int VERSION = 2;
+
+    private final Dictionary dictionary;
+    private final HardnessIndex hardness;
+
+    /**
+     * @param dictionary the dictionary
+     * @param hardness   the hardness index built from that dictionary
+     * @throws IllegalArgumentException if the dictionary is a subset, which is not saved
+     */
+    public EngineSnapshot(Dictionary dictionary, HardnessIndex hardness) {
+        if (dictionary.isSubset()) {
+            throw new IllegalArgumentException("Snapshot the base dictionary, not a subset");
+        }
+        this.dictionary = dictionary;
+        this.hardness = hardness;
+    }
+
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
+    public HardnessIndex getHardnessIndex() {
+        return hardness;
+    }
+
+    /**
+     * Writes the snapshot, replacing {@code file} atomically.
+     *
+     * @param file     the snapshot file
+     * @param wordFile the word file the dictionary was loaded from
+     * @throws IOException if a file cannot be read or written
+     */
+    public void save(Path file, Path wordFile) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (OutputStream raw = new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16)) {
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(raw, crc));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(Files.size(wordFile));
+            out.writeLong(Files.getLastModifiedTime(wordFile).toMillis());
+            out.writeLong(dictionary.checksum());
+
+            StringBuilder words = new StringBuilder(dictionary.size() * 6);
+            for (int id = 0; id < dictionary.size(); id++) {
+                words.append(dictionary.wordAt(id)).append('\n');
+            }
+            byte[] blob = words.toString().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(dictionary.size());
+            out.writeInt(blob.length);
+            out.write(blob);
+
+            dictionary.getNeighborIndex().writeTo(out);
+            hardness.writeTo(out);
+            out.flush();
+            new DataOutputStream(raw).writeLong(crc.getValue());
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restores a snapshot written by {@link #save(Path, Path)}.
+     *
+     * @param file     the snapshot file
+     * @param wordFile the word file the game would otherwise load
+     * @return the restored engine state
+     * @throws IOException if the snapshot is missing, damaged, or the word file changed since
+     */
+    public static EngineSnapshot load(Path file, Path wordFile) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length < 8) {
+            throw new IOException("Not an engine snapshot: " + file);
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 8);
+        if (in.getLong(bytes.length - 8) != crc.getValue()) {
+            throw new IOException("Corrupt engine snapshot: " + file);
+        }
+        in.limit(bytes.length - 8);
+        try {
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+                throw new IOException("Not an engine snapshot: " + file);
+            }
+            if (in.getLong() != Files.size(wordFile)
+                    || in.getLong() != Files.getLastModifiedTime(wordFile).toMillis()) {
+                throw new IOException("Engine snapshot is out of date: " + wordFile + " has changed");
+            }
+            long checksum = in.getLong();
+
+            int size = in.getInt();
+            int blobLength = in.getInt();
+            String[] words = new String[size];
+            int start = in.position();
+            int end = start + blobLength;
+            for (int id = 0, from = start; id < size; id++) {
+                int to = from;
+                while (bytes[to] != '\n') {
+                    to++;
+                }
+                words[id] = new String(bytes, from, to - from, StandardCharsets.UTF_8);
+                from = to + 1;
+            }
+            in.position(end);
+
+            NeighborIndex index = NeighborIndex.readFrom(in);
+            Dictionary dictionary = Dictionary.restore(words, index, checksum);
+            HardnessIndex hardness = HardnessIndex.readFrom(in, dictionary);
+            return new EngineSnapshot(dictionary, hardness);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Corrupt engine snapshot: " + file, e);
+        }
+    }
+
+    /**
+     * Writes a length-prefixed int array in bulk.
+     */
+    static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        ByteBuffer chunk = ByteBuffer.allocate(1 << 16);
+        for (int from = 0; from < values.length; ) {
+            int count = Math.min(values.length - from, chunk.capacity() / Integer.BYTES);
+            chunk.clear();
+            chunk.asIntBuffer().put(values, from, count);
+            out.write(chunk.array(), 0, count * Integer.BYTES);
+            from += count;
+        }
+    }
+
+    /**
+     * Reads an array written by {@link #writeInts(DataOutputStream, int[])}.
+     */
+    static int[] readInts(ByteBuffer in) {
+        int[] values = new int[in.getInt()];
+        in.asIntBuffer().get(values);
+        in.position(in.position() + values.length * Integer.BYTES);
+        return values;
+    }
+
+    /**
+     * Builds the engine state from a word file and writes its snapshot.
+     * Usage: {@code java EngineSnapshot [words file] [snapshot file]}
+     */
+    public static void main(String[] args) throws IOException {
+        Path wordFile = Paths.get(args.length > 0 ? args[0] : "word_ladder_words.txt");
+        Path file = Paths.get(args.length > 1 ? args[1] : Game.ENGINE_SNAPSHOT_FILE);
+
+        long started = System.nanoTime();
+        Dictionary dictionary = Dictionary.load(wordFile.toString());
+        HardnessIndex hardness = HardnessIndex.build(dictionary);
+        long built = System.nanoTime();
+        new EngineSnapshot(dictionary, hardness).save(file, wordFile);
+        long saved = System.nanoTime();
+        load(file, wordFile);
+        long restored = System.nanoTime();
+
+        System.out.printf("Built %,d words and %,d puzzles in %d ms, saved %,d bytes in %d ms, restored in %d ms -> %s%n",
+                dictionary.size(), hardness.size(), (built - started) / 1_000_000, Files.size(file),
+                (saved - built) / 1_000_000, (restored - saved) / 1_000_000, file);
+    }
+}
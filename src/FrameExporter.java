@@ -0,0 +1,213 @@
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders batches of game screens offscreen, in parallel, e.g. the frames of a solved
+ * ladder for a share image or GIF. Works without a display.
+ * <p>
+ * Each worker thread keeps one {@link ImageCanvas} and {@link WordLadderGUI} for its
+ * lifetime, so image buffers and fonts are reused across frames and batches; workers
+ * pull frame numbers from a shared counter, so uneven frames balance out.
+ */
+public class FrameExporter implements Closeable {
+
+    /**
+     * PNG compression quality. The default deflate level is much slower and compresses
+     * these screens no better than this fast one.
+     */
+    private static final float PNG_QUALITY = 0.75f;
+
+    /**
+     * One screen to render.
+     */
+    public interface Frame {
+        void draw(WordLadderGUI gui);
+    }
+
+    /**
+     * Receives rendered frames, on the worker thread that drew them. The image is
+     * overwritten by that worker's next frame, so it must be encoded or copied here.
+     */
+    public interface Sink {
+        void accept(int index, BufferedImage image) throws IOException;
+    }
+
+    private final int threads;
+    private final ExecutorService workers;
+    private final ThreadLocal<ImageCanvas> canvases;
+    private final ThreadLocal<WordLadderGUI> guis;
+    private final ThreadLocal<ImageWriter> pngWriters =
+            ThreadLocal.withInitial(() -> ImageIO.getImageWritersByFormatName("png").next());
+
+    /**
+     * @param threads the number of worker threads
+     * @param width   the frame width in pixels
+     * @param height  the frame height in pixels
+     */
+    public FrameExporter(int threads, int width, int height) {
+        this.threads = threads;
+        AtomicInteger count = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "frame-exporter-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.canvases = ThreadLocal.withInitial(() -> new ImageCanvas(width, height));
+        this.guis = ThreadLocal.withInitial(() -> new WordLadderGUI(canvases.get()));
+    }
+
+    /**
+     * Renders every frame and hands it to the sink. Frames may reach the sink in any
+     * order and from several threads at once.
+     *
+     * @param frames the frames to draw
+     * @param sink   receives each image with its index in {@code frames}
+     * @throws IOException if the sink fails; remaining frames are skipped
+     */
+    public void render(List<Frame> frames, Sink sink) throws IOException {
+        AtomicInteger next = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < Math.min(threads, frames.size()); t++) {
+            tasks.add(() -> {
+                WordLadderGUI gui = guis.get();
+                ImageCanvas canvas = canvases.get();
+                for (int i = next.getAndIncrement(); i < frames.size(); i = next.getAndIncrement()) {
+                    frames.get(i).draw(gui);
+                    sink.accept(i, canvas.getImage());
+                }
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> done : workers.invokeAll(tasks)) {
+                done.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Frame export interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new UncheckedIOException(new IOException(cause));
+        }
+    }
+
+    /**
+     * Renders every frame to {@code <dir>/<prefix>-NNNN.png}.
+     *
+     * @param frames the frames to draw
+     * @param dir    the output directory; created if missing
+     * @param prefix the file name prefix
+     * @return the written files, in frame order
+     * @throws IOException if a file cannot be written
+     */
+    public List<Path> exportPngs(List<Frame> frames, Path dir, String prefix) throws IOException {
+        Files.createDirectories(dir);
+        Path[] files = new Path[frames.size()];
+        render(frames, (index, image) -> {
+            Path file = dir.resolve(String.format("%s-%04d.png", prefix, index));
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                writePng(image, out);
+            }
+            files[index] = file;
+        });
+        return Arrays.asList(files);
+    }
+
+    /**
+     * Encodes an image as PNG with the calling thread's reusable writer.
+     *
+     * @param image the image
+     * @param out   receives the PNG bytes; not closed
+     * @throws IOException if writing fails
+     */
+    public void writePng(BufferedImage image, OutputStream out) throws IOException {
+        ImageWriter writer = pngWriters.get();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(PNG_QUALITY);
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.setOutput(null);
+        }
+    }
+
+    /**
+     * The frames of a solved ladder: the game screen after each move, then the victory
+     * screen.
+     *
+     * @param dictionary the dictionary, for the neighbor list on each screen
+     * @param path       the ladder, from start word to end word
+     * @return the frames
+     */
+    public static List<Frame> ladderFrames(Dictionary dictionary, List<String> path) {
+        String start = path.get(0);
+        String end = path.get(path.size() - 1);
+        List<Frame> frames = new ArrayList<>();
+        for (int i = 0; i < path.size(); i++) {
+            List<String> history = path.subList(0, i + 1);
+            String current = path.get(i);
+            Set<String> neighbors = new LinkedHashSet<>();
+            for (Word w : dictionary.wordFor(current).getNeighbors()) {
+                neighbors.add(w.getWord());
+            }
+            String status = i == 0 ? "" : "✅ Valid move!";
+            frames.add(gui -> gui.drawState(start, end, current, history, neighbors, "", status));
+        }
+        frames.add(gui -> gui.drawVictoryScreen(start, end, path));
+        return frames;
+    }
+
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+
+    /**
+     * Writes the frames of the shortest ladder between two words as PNG files.
+     * Usage: {@code java -Djava.awt.headless=true FrameExporter <start> <end> [outDir]}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: FrameExporter <start> <end> [outDir]");
+            return;
+        }
+        Dictionary dictionary = new Dictionary("word_ladder_words.txt");
+        Path dir = Paths.get(args.length > 2 ? args[2] : "frames");
+        int start = dictionary.idOf(args[0]);
+        int end = dictionary.idOf(args[1]);
+        SearchContext search = SearchContext.forThread();
+        if (start < 0 || end < 0 || search.shortestPath(dictionary.getNeighborIndex(), start, end) < 0) {
+            System.out.println("No path found.");
+            return;
+        }
+        int[] ids = new int[search.pathLength(end)];
+        search.copyPath(end, ids);
+        List<String> path = new ArrayList<>();
+        for (int id : ids) {
+            path.add(dictionary.wordAt(id));
+        }
+
+        try (FrameExporter exporter = new FrameExporter(Runtime.getRuntime().availableProcessors(),
+                WordLadderGUI.WIDTH, WordLadderGUI.HEIGHT)) {
+            List<Path> files = exporter.exportPngs(ladderFrames(dictionary, path), dir, args[0] + "-" + args[1]);
+            System.out.println("Wrote " + files.size() + " frames to " + dir);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Paces the game loop at a fixed tick rate.
+ * <p>
+ * Each iteration of the loop calls {@link #awaitNextFrame()}, which parks the thread until
+ * the next tick is due instead of spinning, and returns the frame's timestamp. The loop
+ * then handles all input that arrived since the last frame, advances time-based
+ * animations (see {@link WordTween}) to that timestamp and redraws if anything changed.
+ * No step ever waits for an animation, so typing and clicks are handled within one tick.
+ * <p>
+ * Ticks are scheduled on a fixed grid that starts with the first frame. When the loop
+ * falls a whole tick or more behind, the frame runs at once, is counted as late, and the
+ * grid skips the missed ticks rather than running several frames back to back.
+ * <p>
+ * The scheduler keeps pacing statistics: frames, late frames, and the mean and worst
+ * time between frames and spent working within a frame. Not thread-safe; one game loop
+ * owns it.
+ */
+public final class FrameScheduler {
+
+    private final long periodNanos;
+    private final LongSupplier clock;
+    private final LongConsumer sleeper;
+
+    private long nextTick;
+    private long lastFrame;
+    private long frames;
+    private long lateFrames;
+    private long intervalSum;
+    private long maxInterval;
+    private long workSum;
+    private long maxWork;
+
+    /**
+     * @param ticksPerSecond the frame rate
+     */
+    public FrameScheduler(int ticksPerSecond) {
+        this(ticksPerSecond, System::nanoTime, LockSupport::parkNanos);
+    }
+
+    /**
+     * @param ticksPerSecond the frame rate
+     * @param clock          the time source, in nanoseconds
+     * @param sleeper        waits for about the given number of nanoseconds
+     */
+    FrameScheduler(int ticksPerSecond, LongSupplier clock, LongConsumer sleeper) {
+        if (ticksPerSecond < 1) {
+            throw new IllegalArgumentException("Tick rate must be positive");
+        }
+        this.periodNanos = TimeUnit.SECONDS.toNanos(1) / ticksPerSecond;
+        this.clock = clock;
+        this.sleeper = sleeper;
+        resetStats();
+    }
+
+    /**
+     * Waits until the next tick is due.
+     *
+     * @return the time of the frame that starts now, on the scheduler's clock
+     */
+    public long awaitNextFrame() {
+        long now = clock.getAsLong();
+        if (lastFrame < 0) {
+            nextTick = now; // the first frame starts the grid
+        } else {
+            long work = now - lastFrame;
+            workSum += work;
+            maxWork = Math.max(maxWork, work);
+            if (now - nextTick >= periodNanos) {
+                lateFrames++; // skip the missed ticks instead of bursting through them
+                nextTick += (now - nextTick) / periodNanos * periodNanos;
+            }
+        }
+        while (now < nextTick) {
+            sleeper.accept(nextTick - now);
+            now = clock.getAsLong();
+        }
+        nextTick += periodNanos;
+
+        if (lastFrame >= 0) {
+            long interval = now - lastFrame;
+            intervalSum += interval;
+            maxInterval = Math.max(maxInterval, interval);
+        }
+        frames++;
+        lastFrame = now;
+        return now;
+    }
+
+    /**
+     * Forgets the pacing statistics and the tick grid, e.g. when a new screen starts after
+     * a pause the statistics should not include.
+     */
+    public void resetStats() {
+        lastFrame = -1;
+        frames = 0;
+        lateFrames = 0;
+        intervalSum = 0;
+        maxInterval = 0;
+        workSum = 0;
+        maxWork = 0;
+    }
+
+    /**
+     * @return the time between ticks in nanoseconds
+     */
+    public long getPeriodNanos() {
+        return periodNanos;
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    /**
+     * @return the number of frames that started a whole tick or more after they were due
+     */
+    public long getLateFrames() {
+        return lateFrames;
+    }
+
+    /**
+     * @return the mean time between frames in milliseconds, or 0 before the second frame
+     */
+    public double meanIntervalMillis() {
+        return frames < 2 ? 0 : intervalSum / 1e6 / (frames - 1);
+    }
+
+    /**
+     * @return the longest time between two frames in milliseconds
+     */
+    public double maxIntervalMillis() {
+        return maxInterval / 1e6;
+    }
+
+    /**
+     * @return the mean time spent between a frame's start and the next wait, in milliseconds
+     */
+    public double meanWorkMillis() {
+        return frames < 2 ? 0 : workSum / 1e6 / (frames - 1);
+    }
+
+    /**
+     * @return the longest time spent working within one frame, in milliseconds
+     */
+    public double maxWorkMillis() {
+        return maxWork / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d frames at %.1f Hz, %d late; interval mean %.2f ms, max %.2f ms; "
+                        + "work mean %.2f ms, max %.2f ms",
+                frames, 1e9 / periodNanos, lateFrames, meanIntervalMillis(), maxIntervalMillis(),
+                meanWorkMillis(), maxWorkMillis());
+    }
+}
@@ -4,6 +4,13 @@ import java.util.List;
 
 import javax.sound.sampled.*;
 import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
 
 public class Game {
     private String startWord;
@@ -11,16 +18,152 @@ public class Game {
     private String currentWord;
 
     private Player player;
-    private Dictionary dictionary;
+    private DictionaryProvider dictionaries;
+    private Dictionary dictionary; // snapshot used by the game in progress
     private ArrayList<String> moveHistory;
 
     private WordLadderGUI gui;
     private String statusMessage = "";
 
+    private static final String SOLUTION_CACHE_FILE = "solutions.cache";
+    private SolutionCache solutionCache;
+
+    private static final String JOURNAL_FILE = "games.journal";
+    private GameJournal journal;
+    private Dictionary journalDictionary;
+    private int journalGameId = -1;
+
+    private static final String STATS_FILE = "stats.snapshot";
+    private static final String PLAYER_NAME = System.getProperty("user.name", "player");
+    private StatsStore stats;
+    private long gameStartMillis;
+    private boolean gameInProgress;
+
+    public static final String DAILY_SCHEDULE_FILE = "daily_puzzles.dat";
+    private PuzzleGenerator generator;
+    private DailyPuzzleSchedule dailySchedule;
+    private CompletableFuture<HardnessIndex> hardness;
+    private Dictionary hardnessDictionary;
+    private int optimalMoves;
+    private boolean dailySession;
+    private Long sessionSeed;
+
+    private final MoveSpeculator speculator = new MoveSpeculator();
+    private RouteTracker routeTracker;
+
+    private static final int FRAME_RATE = 60;
+    private static final long LETTER_STEP_NANOS = 200_000_000L;
+    private final FrameScheduler frames = new FrameScheduler(FRAME_RATE);
+    private WordTween animation; // the move being animated, or null
+
+    public static final String ENGINE_SNAPSHOT_FILE = "engine.snapshot";
+    private static boolean reportTimings;
+    private boolean firstFrameShown;
+
     public Game(String dictionaryFile) {
-        this.dictionary = new Dictionary(dictionaryFile);
+        this(new DictionaryProvider(dictionaryFile), null);
+    }
+
+    /**
+     * Starts a session on one of a registry's dictionaries, such as a language or a
+     * kid-friendly subset, loading it if no session has used it yet.
+     *
+     * @param registry the available dictionaries
+     * @param key      the dictionary to play with
+     * @throws IOException if the dictionary cannot be loaded
+     */
+    public Game(DictionaryRegistry registry, String key) throws IOException {
+        this(new DictionaryProvider(registry.get(key)), null);
+    }
+
+    /**
+     * @param dictionaries  the dictionary source
+     * @param hardnessIndex a hardness index already built for its current dictionary, or
+     *                      {@code null} to build one in the background
+     */
+    private Game(DictionaryProvider dictionaries, HardnessIndex hardnessIndex) {
+        this.dictionaries = dictionaries;
+        this.dictionary = dictionaries.current();
         this.moveHistory = new ArrayList<>();
         this.gui = new WordLadderGUI();
+        this.stats = new StatsStore(10, Paths.get(STATS_FILE), 60_000);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            stats.close();
+            if (solutionCache != null) {
+                solutionCache.close();
+            }
+            if (journal != null) {
+                journal.close();
+            }
+        }));
+        if (hardnessIndex != null) {
+            hardness = CompletableFuture.completedFuture(hardnessIndex);
+            hardnessDictionary = hardnessIndex.getDictionary();
+        }
+        snapshotDictionary(); // starts building the hardness index, unless restored
+        hardness.thenRun(() -> reportStartup("puzzle pool ready"));
+    }
+
+    /**
+     * Starts from the engine snapshot when it matches the word file, skipping the parse
+     * and all index builds. Otherwise starts normally and writes the snapshot in the
+     * background once the puzzle pool is built, for the next launch.
+     *
+     * @param dictionaryFile the word file
+     * @param snapshotFile   the engine snapshot file
+     * @return the game
+     */
+    public static Game warmStart(String dictionaryFile, String snapshotFile) {
+        Path words = Paths.get(dictionaryFile);
+        Path file = Paths.get(snapshotFile);
+        if (Files.exists(file)) {
+            try {
+                EngineSnapshot snapshot = EngineSnapshot.load(file, words);
+                return new Game(new DictionaryProvider(snapshot.getDictionary()), snapshot.getHardnessIndex());
+            } catch (IOException e) {
+                System.out.println("Error reading the engine snapshot: " + e.getMessage());
+            }
+        }
+        Game game = new Game(dictionaryFile);
+        Dictionary built = game.dictionary;
+        game.hardness.thenAcceptAsync(index -> {
+            if (index == null) {
+                return;
+            }
+            try {
+                new EngineSnapshot(built, index).save(file, words);
+            } catch (IOException e) {
+                System.out.println("Error writing the engine snapshot: " + e.getMessage());
+            }
+        });
+        return game;
+    }
+
+    /**
+     * Prints how long after JVM start a startup milestone was reached, if timings were
+     * requested with {@code --timings}.
+     *
+     * @param milestone what was reached
+     */
+    private static void reportStartup(String milestone) {
+        if (reportTimings) {
+            long millis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+            System.out.println("Startup: " + milestone + " after " + millis + " ms");
+        }
+    }
+
+    /**
+     * Reloads the word list in the background. The game in progress keeps its current
+     * dictionary; the new one is used from the next {@link #startGame(int)} onwards.
+     *
+     * @param dictionaryFile the updated word file
+     */
+    public void reloadDictionary(String dictionaryFile) {
+        dictionaries.reload(dictionaryFile).whenComplete((fresh, error) -> {
+            if (error != null) {
+                System.out.println("Error reloading the dictionary: " + error.getMessage());
+            }
+        });
     }
 
     /**
@@ -46,39 +189,21 @@ public class Game {
     }
 
     /**
-     * Animates the transformation of one word into another by visually updating
-     * the letters that change one at a time.
-     *
-     * @param oldWord The current word before the change.
-     * @param newWord The word after a valid move is made.
+     * Waits for a key press, one frame at a time, and consumes it.
      */
-    private void animateWordChange(String oldWord, String newWord) {
-        char[] oldChars = oldWord.toCharArray();
-        char[] newChars = newWord.toCharArray();
-
-        String userInput = "";
-        Set<Word> neighborSet = new Word(currentWord, dictionary).getNeighbors();
-        Set<String> neighborWords = new HashSet<>();
-        for (Word w : neighborSet) {
-            neighborWords.add(w.getWord());
-        }
-
-        for (int i = 0; i < oldChars.length; i++) {
-            if (oldChars[i] != newChars[i]) {
-                oldChars[i] = newChars[i];
-                String updatedWord = new String(oldChars);
-                gui.drawState(startWord, endWord, updatedWord,
-                        moveHistory, neighborWords, userInput, statusMessage);
-                StdDraw.pause(200);
-            }
+    private void waitForKey() {
+        while (!StdDraw.hasNextKeyTyped()) {
+            frames.awaitNextFrame();
         }
+        StdDraw.nextKeyTyped();
     }
 
     /**
      * Processes the player's guess input during gameplay.
      * Handles special commands like "quit", "restart", and "give up", and
      * checks if the guessed word is a valid move. If valid, updates the game state,
-     * animates the transition, and plays feedback sounds.
+     * starts the animation of the transition, and plays feedback sounds. The animation
+     * runs in the game loop's frames, so this returns at once.
      *
      * @param guess The word guessed or command entered by the player.
      */
@@ -87,34 +212,36 @@ public class Game {
 
         // Handle button commands first
         if (guess.equals("quit")) {
+            finishGame(GameJournal.Outcome.ABANDONED);
             System.exit(0);
         }
 
         if (guess.equals("restart")) {
-            int difficulty = showDifficultySelection();
-            startGame(difficulty);  // restart newgame
+            finishGame(GameJournal.Outcome.ABANDONED);
+            startSessionGame(showDifficultySelection());  // restart newgame
             return;      // important to return
         }
 
         if (guess.equals("give up")) {
-            List<String> solution = findShortestPath(startWord, endWord);
+            finishGame(GameJournal.Outcome.GAVE_UP);
+            List<String> solution = findCachedShortestPath(startWord, endWord);
             if (solution == null) {
                 statusMessage = "No path found.";
             } else {
                 gui.drawSolutionPopup(solution);  // show the shortest path
             }
 
-            // Wait until player presses a key to exit
-            while (!StdDraw.hasNextKeyTyped()) {
-                // just wait...
-            }
-            StdDraw.nextKeyTyped(); // consume key
+            waitForKey(); // wait until player presses a key to exit
             System.exit(0);
         }
 
         // Otherwise, treat as normal word guess
-        if (player.makeMove(guess)) {
-            animateWordChange(currentWord, guess);
+        boolean accepted = player.makeMove(guess);
+        if (journal != null) {
+            journal.recordGuess(journalGameId, guess, accepted);
+        }
+        if (accepted) {
+            animation = new WordTween(currentWord, guess, System.nanoTime(), LETTER_STEP_NANOS);
             currentWord = guess;
             moveHistory.add(guess);
 
@@ -122,6 +249,9 @@ public class Game {
                 // No valid move sound when game is won
                 statusMessage = "🎉 You completed the Word Ladder!";
                 // Victory sound will be handled separately after game over
+            } else if (!routeTracker.moveTo(guess)) {
+                statusMessage = deadEndMessage();
+                playSound("invalid.wav", false);
             } else {
                 statusMessage = "✅ Valid move!";
                 playSound("valid.wav", false);
@@ -138,10 +268,9 @@ public class Game {
      * background music, plays a transition sound, and returns the number of moves corresponding
      * to the selected difficulty level.
      *
-     * @return an integer representing the number of moves for the selected difficulty:
-     *         1–2 for Easy, 3–5 for Medium, or 6–8 for Hard.
+     * @return the selected difficulty
      */
-    private int showDifficultySelection() {
+    private PuzzleGenerator.Difficulty showDifficultySelection() {
         try {
             Thread.sleep(300); // Small pause before reloading music
         } catch (InterruptedException e) {
@@ -187,9 +316,15 @@ public class Game {
         StdDraw.text(0.5, 0.3, "Hard Mode");
 
         StdDraw.show();
+        if (!firstFrameShown) {
+            firstFrameShown = true;
+            reportStartup("first frame");
+        }
 
         // Wait for a valid mouse click
+        frames.resetStats();
         while (true) {
+            frames.awaitNextFrame();
             if (StdDraw.isMousePressed()) {
                 double x = StdDraw.mouseX();
                 double y = StdDraw.mouseY();
@@ -200,21 +335,21 @@ public class Game {
                         bgMusic.close();
                     }
                     playSound("starting.wav", false);
-                    return new Random().nextInt(2) + 1; // Easy: 1–2 moves
+                    return PuzzleGenerator.Difficulty.EASY; // 1–2 moves
                 } else if (insideButton(x, y, 0.5, 0.45, 0.15, 0.05)) {
                     if (bgMusic != null) {
                         bgMusic.stop();
                         bgMusic.close();
                     }
                     playSound("starting.wav", false);
-                    return new Random().nextInt(3) + 3; // Medium: 3–5 moves
+                    return PuzzleGenerator.Difficulty.MEDIUM; // 3–5 moves
                 } else if (insideButton(x, y, 0.5, 0.3, 0.15, 0.05)) {
                     if (bgMusic != null) {
                         bgMusic.stop();
                         bgMusic.close();
                     }
                     playSound("starting.wav", false);
-                    return new Random().nextInt(3) + 6; // Hard: 6–8 moves
+                    return PuzzleGenerator.Difficulty.HARD; // 6–8 moves
                 }
                 // else: clicked outside any button => do nothing
             }
@@ -222,67 +357,188 @@ public class Game {
     }
 
     /**
-     * Starts a new game with a word ladder path of the specified length.
-     * Displays the instructions popup, then attempts to randomly generate
-     * a valid start and end word pair with the desired number of steps between them.
-     * If a valid path cannot be formed, the process retries until successful.
+     * Starts a new game in the session's mode: today's puzzle after {@code --daily}, the
+     * shared seed's puzzle after {@code --seed}, and a random puzzle otherwise. Restarting
+     * or playing again stays in the same mode.
+     *
+     * @param difficulty the difficulty level
+     */
+    private void startSessionGame(PuzzleGenerator.Difficulty difficulty) {
+        if (dailySession) {
+            startDailyGame(difficulty);
+        } else if (sessionSeed != null) {
+            startGame(difficulty, sessionSeed);
+        } else {
+            startGame(difficulty);
+        }
+    }
+
+    /**
+     * Starts a new game at the difficulty level the desired ladder length falls in,
+     * drawn from a fresh random seed.
      *
      * @param desiredMoves the number of transitions (word steps) between the start and end word.
      */
     public void startGame(int desiredMoves) {
+        startGame(PuzzleGenerator.Difficulty.forMoves(desiredMoves));
+    }
+
+    /**
+     * Starts a new game at a difficulty level, drawn from a fresh random seed.
+     *
+     * @param difficulty the difficulty level
+     */
+    public void startGame(PuzzleGenerator.Difficulty difficulty) {
+        startAdaptiveGame(difficulty, new Random().nextLong());
+    }
+
+    /**
+     * Starts a new game whose puzzle is picked by hardness rather than ladder length alone,
+     * from the precomputed {@link HardnessIndex}. Until the index has finished building in
+     * the background, falls back to a puzzle of the difficulty's ladder length. The seed
+     * is only shown once the index is ready, since {@code --seed} replays a puzzle through
+     * the index and could not reproduce a fallback puzzle.
+     *
+     * @param difficulty the difficulty level
+     * @param seed       the puzzle seed
+     */
+    public void startAdaptiveGame(PuzzleGenerator.Difficulty difficulty, long seed) {
         gui.drawInstructionsPopup();
-        while (!StdDraw.hasNextKeyTyped()) {}
-        StdDraw.nextKeyTyped(); // consume
+        waitForKey();
 
-        List<String> candidates = getWordsOfSameLength(dictionary.getAllWords(),
-                4);
-        if (candidates.size() < desiredMoves + 1) {
+        snapshotDictionary();
+        boolean shareable = hardness.isDone();
+        PuzzleGenerator.Puzzle puzzle = selectPuzzle(shareable ? hardness.join() : null, difficulty, seed);
+        if (puzzle == null) {
             System.out.println("Not enough words.");
             return;
         }
+        statusMessage = shareable ? "Puzzle seed " + seed : "";
+        playPuzzle(puzzle);
+    }
 
-        Random random = new Random();
-
-        while (true) { // keep trying until path of correct difficulty
-            startWord = candidates.get(random.nextInt(candidates.size()));
-            Word current = new Word(startWord, dictionary);
+    /**
+     * Starts a new game from a seed. Displays the instructions popup, then picks the
+     * puzzle the same way {@link #startAdaptiveGame} does, waiting for the hardness index
+     * if it is still building. The same seed and difficulty always give the same puzzle
+     * for the same word list, so it can be shared with other players.
+     *
+     * @param difficulty the difficulty level
+     * @param seed       the puzzle seed
+     */
+    public void startGame(PuzzleGenerator.Difficulty difficulty, long seed) {
+        gui.drawInstructionsPopup();
+        waitForKey();
 
-            Set<String> used = new HashSet<>();
-            used.add(startWord);
+        snapshotDictionary();
+        PuzzleGenerator.Puzzle puzzle = selectPuzzle(hardness.join(), difficulty, seed);
+        if (puzzle == null) {
+            System.out.println("Not enough words.");
+            return;
+        }
+        statusMessage = "Puzzle seed " + seed;
+        playPuzzle(puzzle);
+    }
 
-            List<String> buildPath = new ArrayList<>();
-            buildPath.add(startWord);
+    /**
+     * Picks the puzzle for a seed: by hardness from the index, or by ladder length when
+     * there is no index or it has no puzzle for the difficulty.
+     *
+     * @param index      the hardness index, or {@code null}
+     * @param difficulty the difficulty level
+     * @param seed       the puzzle seed
+     * @return the puzzle, or {@code null} if the dictionary has no ladders
+     */
+    private PuzzleGenerator.Puzzle selectPuzzle(HardnessIndex index, PuzzleGenerator.Difficulty difficulty, long seed) {
+        PuzzleGenerator.Puzzle puzzle = index != null ? index.select(difficulty, seed) : null;
+        return puzzle != null ? puzzle : generator.generate(seed, difficulty);
+    }
 
-            boolean success = true;
+    /**
+     * Starts today's puzzle for a difficulty. Every player gets the same puzzle on the
+     * same day; it is read from the precomputed schedule when one is available.
+     *
+     * @param difficulty the difficulty of the daily puzzle
+     */
+    public void startDailyGame(PuzzleGenerator.Difficulty difficulty) {
+        gui.drawInstructionsPopup();
+        waitForKey();
+
+        LocalDate today = LocalDate.now();
+        PuzzleGenerator generator = snapshotDictionary();
+        PuzzleGenerator.Puzzle puzzle = null;
+        DailyPuzzleSchedule schedule = loadDailySchedule();
+        if (schedule != null) {
+            puzzle = schedule.lookup(today, difficulty);
+        }
+        if (puzzle == null) {
+            puzzle = generator.daily(today, difficulty);
+        }
+        if (puzzle == null) {
+            System.out.println("Not enough words.");
+            return;
+        }
+        statusMessage = "Daily puzzle for " + today;
+        playPuzzle(puzzle);
+    }
 
-            for (int i = 0; i < desiredMoves; i++) {
-                Set<Word> neighbors = current.getNeighbors();
-                List<Word> options = new ArrayList<>();
-                for (Word w : neighbors) {
-                    if (!used.contains(w.getWord())) {
-                        options.add(w);
-                    }
-                }
-                if (options.isEmpty()) {
-                    success = false; // Failed to build enough moves
-                    break;
-                }
-                current = options.get(random.nextInt(options.size()));
-                used.add(current.getWord());
-                buildPath.add(current.getWord());
-            }
+    /**
+     * @return the warning shown when the target can no longer be reached
+     */
+    private String deadEndMessage() {
+        return "⚠️ Dead end: " + endWord.toUpperCase() + " can't be reached without revisiting words.";
+    }
 
-            endWord = current.getWord();
+    /**
+     * Picks up any hot-reloaded word list; the game keeps this snapshot until it ends.
+     *
+     * @return the puzzle generator for the snapshot
+     */
+    private PuzzleGenerator snapshotDictionary() {
+        dictionary = dictionaries.current();
+        if (solutionCache != null && solutionCache.getDictionary() != dictionary) {
+            solutionCache.close();
+            solutionCache = null;
+        }
+        if (generator == null || generator.getDictionary() != dictionary) {
+            generator = new PuzzleGenerator(dictionary);
+            dailySchedule = null;
+        }
+        if (hardness == null || hardnessDictionary != dictionary) {
+            Dictionary snapshot = dictionary;
+            hardnessDictionary = snapshot;
+            hardness = CompletableFuture.supplyAsync(() -> HardnessIndex.build(snapshot)).exceptionally(e -> {
+                System.out.println("Error building the hardness index: " + e.getMessage());
+                return null;
+            });
+        }
+        return generator;
+    }
 
-            if (success && !startWord.equals(endWord)) {
-                // we have a good path
-                break;
+    /**
+     * @return the precomputed daily schedule for the current dictionary, or {@code null}
+     *         if there is none or it was built from another word list
+     */
+    private DailyPuzzleSchedule loadDailySchedule() {
+        if (dailySchedule == null && Files.exists(Paths.get(DAILY_SCHEDULE_FILE))) {
+            try {
+                dailySchedule = DailyPuzzleSchedule.load(Paths.get(DAILY_SCHEDULE_FILE), dictionary);
+            } catch (IOException e) {
+                System.out.println("Error reading the daily schedule: " + e.getMessage());
             }
-            // Otherwise retry new startWord
         }
+        return dailySchedule;
+    }
+
+    private void playPuzzle(PuzzleGenerator.Puzzle puzzle) {
+        startWord = puzzle.getStartWord();
+        endWord = puzzle.getEndWord();
+        optimalMoves = puzzle.getOptimalMoves();
+        speculator.newGame(dictionary, endWord);
 
-        // Now we have good startWord and endWord
+        beginJournaledGame();
         this.player = new Player(startWord, dictionary);
+        this.routeTracker = new RouteTracker(dictionary, startWord, endWord, player.getVisitedIds());
         this.currentWord = startWord;
         moveHistory = new ArrayList<>();
         moveHistory.add(startWord);
@@ -295,23 +551,20 @@ public class Game {
      * handling player input, and checking for win conditions.
      * Includes support for mouse interactions with control buttons,
      * real-time keyboard input for guesses, and game restart or exit.
+     * <p>
+     * The loop runs at a fixed tick paced by the {@link FrameScheduler}. Each frame
+     * handles every key typed since the last one, advances the move animation to the
+     * frame's time and redraws only if something changed, so input is never held up by
+     * an animation and the thread sleeps between frames instead of polling.
      */
     private void playGameLoop() {
         String userInput = "";
         boolean needsRedraw = true;
+        animation = null;
+        frames.resetStats();
 
-        while (!isGameOver()) {
-            if (needsRedraw) {
-                Set<Word> neighborSet = new Word(currentWord, dictionary).
-                        getNeighbors();
-                Set<String> neighborWords = new HashSet<>();
-                for (Word w : neighborSet) {
-                    neighborWords.add(w.getWord());
-                }
-                gui.drawState(startWord, endWord, currentWord,
-                        moveHistory, neighborWords, userInput, statusMessage);
-                needsRedraw = false;
-            }
+        while (!isGameOver() || animation != null) {
+            long now = frames.awaitNextFrame();
 
             if (StdDraw.isMousePressed()) {
                 double x = StdDraw.mouseX();
@@ -319,47 +572,56 @@ public class Game {
 
                 if (insideButton(x, y, 0.3, 0.10,
                         0.08, 0.035)) {
-                    int difficulty = showDifficultySelection();
-                    startGame(difficulty);
+                    finishGame(GameJournal.Outcome.ABANDONED);
+                    startSessionGame(showDifficultySelection());
                     return;
                 }
 
                 if (insideButton(x, y, 0.5, 0.10,
                         0.08, 0.035)) {
-                    List<String> solution = findShortestPath(startWord, endWord);
+                    finishGame(GameJournal.Outcome.GAVE_UP);
+                    List<String> solution = findCachedShortestPath(startWord, endWord);
                     if (solution == null) {
                         statusMessage = "No path found.";
                         needsRedraw = true;
                     } else {
                         gui.drawSolutionPopup(solution);
-                        while (!StdDraw.hasNextKeyTyped()) {}
-                        StdDraw.nextKeyTyped();
+                        waitForKey();
                         System.exit(0);
                     }
                 }
 
                 if (insideButton(x, y, 0.7, 0.10,
                         0.08, 0.035)) {
+                    finishGame(GameJournal.Outcome.ABANDONED);
                     System.exit(0);
                 }
             }
 
-            if (StdDraw.hasNextKeyTyped()) {
+            while (StdDraw.hasNextKeyTyped() && !isGameOver()) {
                 char key = StdDraw.nextKeyTyped();
 
                 if (key == '?') {
                     gui.drawInstructionsPopup();
-                    while (!StdDraw.hasNextKeyTyped()) {}
-                    StdDraw.nextKeyTyped();
+                    waitForKey();
+                    needsRedraw = true;
+                    continue;
+                }
+
+                if (key == '!') {
+                    String hint = routeTracker.hint();
+                    statusMessage = hint == null ? deadEndMessage() : "💡 Hint: try " + hint.toUpperCase();
                     needsRedraw = true;
                     continue;
                 }
 
                 if (Character.isLetter(key)) {
                     userInput += Character.toLowerCase(key);
+                    speculator.onInput(currentWord, userInput);
                     needsRedraw = true;
                 } else if (key == '\b' && userInput.length() > 0) {
                     userInput = userInput.substring(0, userInput.length() - 1);
+                    speculator.onInput(currentWord, userInput);
                     needsRedraw = true;
                 } else if (key == '\n') {
                     processGuess(userInput);
@@ -367,9 +629,24 @@ public class Game {
                     needsRedraw = true;
                 }
             }
+
+            String shownWord = currentWord;
+            if (animation != null) {
+                shownWord = animation.wordAt(now);
+                if (animation.isFinished(now)) {
+                    animation = null;
+                }
+                needsRedraw = true;
+            }
+            if (needsRedraw) {
+                gui.drawState(startWord, endWord, shownWord, moveHistory,
+                        speculator.neighborWords(currentWord), userInput, statusMessage);
+                needsRedraw = false;
+            }
         }
 
         // Victory
+        finishGame(GameJournal.Outcome.SOLVED);
         gui.drawVictoryScreen(startWord, endWord, moveHistory);
         playSound("victory.wav", true);
 
@@ -387,14 +664,14 @@ public class Game {
         StdDraw.show();
 
         while (true) {
+            frames.awaitNextFrame();
             if (StdDraw.isMousePressed()) {
                 double mx = StdDraw.mouseX();
                 double my = StdDraw.mouseY();
 
                 if (insideButton(mx, my, 0.35, 0.1,
                         0.1, 0.04)) {
-                    int difficulty = showDifficultySelection();
-                    startGame(difficulty);
+                    startSessionGame(showDifficultySelection());
                     return;
                 } else if (insideButton(mx, my, 0.65,
                         0.1, 0.1, 0.04)) {
@@ -404,6 +681,62 @@ public class Game {
         }
     }
 
+    /**
+     * @return the per-player and per-puzzle statistics recorded by this game
+     */
+    public StatsStore getStats() {
+        return stats;
+    }
+
+    /**
+     * Records the start of the current puzzle in the game journal, (re)opening the
+     * journal if the dictionary snapshot has changed. Journaling is best-effort: if the
+     * journal cannot be opened, the game is simply not recorded.
+     */
+    private void beginJournaledGame() {
+        gameStartMillis = System.currentTimeMillis();
+        gameInProgress = true;
+        if (journal != null && journalDictionary != dictionary) {
+            journal.close();
+            journal = null;
+        }
+        if (journal == null) {
+            try {
+                journal = GameJournal.open(Paths.get(JOURNAL_FILE), dictionary);
+                journalDictionary = dictionary;
+            } catch (IOException e) {
+                System.out.println("Error opening the game journal: " + e.getMessage());
+                return;
+            }
+        }
+        journalGameId = journal.beginGame(startWord, endWord);
+    }
+
+    /**
+     * Records the outcome of the current puzzle in the statistics and, if it is being
+     * recorded, the game journal. Only the first call per puzzle has an effect.
+     *
+     * @param outcome how the game ended
+     */
+    private void finishGame(GameJournal.Outcome outcome) {
+        if (!gameInProgress) {
+            return;
+        }
+        gameInProgress = false;
+
+        boolean solved = outcome == GameJournal.Outcome.SOLVED;
+        stats.recordCompletion(PLAYER_NAME, startWord, endWord, solved, moveHistory.size() - 1,
+                solved ? optimalMoves : 0, System.currentTimeMillis() - gameStartMillis);
+
+        if (journal != null && journalGameId >= 0) {
+            journal.endGame(journalGameId, outcome);
+            journalGameId = -1;
+        }
+        if (reportTimings) {
+            System.out.println("Frame pacing: " + frames);
+        }
+    }
+
     /**
      * Determines whether a point (x, y) lies within a rectangular button.
      *
@@ -430,6 +763,7 @@ public class Game {
      * Finds the shortest sequence of valid words from the start word to the end word,
      * where each word in the sequence differs by exactly one letter from the previous word.
      * Uses a breadth-first search (BFS) to ensure the shortest path is found.
+     * Words outside the dictionary have no path, except a word to itself.
      *
      * @param start the starting word
      * @param end   the target word
@@ -437,38 +771,130 @@ public class Game {
      *         or {@code null} if no such path exists
      */
     public List<String> findShortestPath(String start, String end) {
-        Queue<List<Word>> queue = new LinkedList<>();
-        Set<String> visited = new HashSet<>();
-        Word startW = new Word(start, dictionary);
-        Word endW = new Word(end, dictionary);
-
-        List<Word> firstPath = new ArrayList<>();
-        firstPath.add(startW);
-        queue.add(firstPath);
-        visited.add(start);
-
-        while (!queue.isEmpty()) {
-            List<Word> path = queue.poll();
-            Word last = path.get(path.size() - 1);
-
-            if (last.equals(endW)) {
-                List<String> result = new ArrayList<>();
-                for (Word w : path) {
-                    result.add(w.getWord());
-                }
-                return result;
-            }
+        return findShortestPath(dictionary, start, end);
+    }
 
-            for (Word neighbor : last.getNeighbors()) {
-                if (!visited.contains(neighbor.getWord())) {
-                    visited.add(neighbor.getWord());
-                    List<Word> newPath = new ArrayList<>(path);
-                    newPath.add(neighbor);
-                    queue.add(newPath);
-                }
-            }
+    /**
+     * The search behind {@link #findShortestPath(String, String)}, over any dictionary,
+     * for solvers that run without a game such as {@link SolverWorker}.
+     *
+     * @param dictionary the dictionary to search
+     * @param start      the starting word
+     * @param end        the target word
+     * @return the shortest path from start to end, or {@code null} if no such path exists
+     */
+    public static List<String> findShortestPath(Dictionary dictionary, String start, String end) {
+        start = start.toLowerCase();
+        end = end.toLowerCase();
+        if (start.equals(end)) {
+            return new ArrayList<>(Collections.singletonList(start));
+        }
+        int startId = dictionary.idOf(start);
+        int endId = dictionary.idOf(end);
+        if (startId < 0 || endId < 0) {
+            return null;
+        }
+
+        // Searches run on word ids in the thread's reusable context, so the path below is the only allocation
+        SearchContext context = SearchContext.forThread();
+        if (context.shortestPath(dictionary, startId, endId) < 0) {
+            return null;
+        }
+        String[] words = new String[context.pathLength(endId)];
+        for (int i = words.length - 1, id = endId; i >= 0; i--, id = context.parentOf(id)) {
+            words[i] = dictionary.wordAt(id);
+        }
+        return new ArrayList<>(Arrays.asList(words));
+    }
+
+    /**
+     * Finds a shortest ladder that avoids the given words, e.g. from the player's current
+     * word around the words already visited, which may not be revisited. The search only
+     * touches the words it reaches.
+     *
+     * @param start    the starting word
+     * @param end      the target word
+     * @param excluded dictionary ids of the words the ladder may not pass through
+     * @return the shortest such path from start to end, or {@code null} if none exists
+     */
+    public List<String> findShortestPath(String start, String end, BitSet excluded) {
+        int startId = dictionary.idOf(start);
+        int endId = dictionary.idOf(end);
+        if (startId < 0 || endId < 0) {
+            return null;
+        }
+        if (dictionary.isSubset()) {
+            excluded = (BitSet) excluded.clone();
+            excluded.or(dictionary.excludedIds());
+        }
+        SearchContext context = SearchContext.forThread();
+        if (context.shortestPath(dictionary.getNeighborIndex(), startId, endId, excluded) < 0) {
+            return null;
+        }
+        String[] words = new String[context.pathLength(endId)];
+        for (int i = words.length - 1, id = endId; i >= 0; i--, id = context.parentOf(id)) {
+            words[i] = dictionary.wordAt(id);
+        }
+        return new ArrayList<>(Arrays.asList(words));
+    }
+
+    /**
+     * Finds a cheapest ladder under the given rules, which may allow adding and removing
+     * letters (so the two words may differ in length) and may charge per letter. Classic
+     * rules run the breadth-first search of {@link #findShortestPath(String, String)};
+     * others run Dijkstra's algorithm in the thread's reusable {@link WeightedSearch}.
+     *
+     * @param start the starting word
+     * @param end   the target word
+     * @param rules the moves allowed and their costs
+     * @return a cheapest path from start to end, or {@code null} if no such path exists
+     */
+    public List<String> findShortestPath(String start, String end, LadderRules rules) {
+        if (rules.isClassic()) {
+            return findShortestPath(start, end);
+        }
+        start = start.toLowerCase();
+        end = end.toLowerCase();
+        if (start.equals(end)) {
+            return new ArrayList<>(Collections.singletonList(start));
+        }
+        int startId = dictionary.idOf(start);
+        int endId = dictionary.idOf(end);
+        if (startId < 0 || endId < 0) {
+            return null;
         }
-        return null;
+
+        WeightedSearch search = WeightedSearch.forThread();
+        if (search.shortestPath(dictionary, rules, startId, endId) < 0) {
+            return null;
+        }
+        String[] words = new String[search.pathLength(endId)];
+        for (int i = words.length - 1, id = endId; i >= 0; i--, id = search.parentOf(id)) {
+            words[i] = dictionary.wordAt(id);
+        }
+        return new ArrayList<>(Arrays.asList(words));
+    }
+
+    /**
+     * Like {@link #findShortestPath(String, String)}, but first consults the persistent
+     * solution cache and records new solves in it, so repeated puzzles are answered
+     * without a search, even across runs.
+     *
+     * @param start the starting word
+     * @param end   the target word
+     * @return the shortest path from start to end, or {@code null} if no such path exists
+     */
+    public List<String> findCachedShortestPath(String start, String end) {
+        if (solutionCache == null) {
+            solutionCache = new SolutionCache(Paths.get(SOLUTION_CACHE_FILE), dictionary);
+        }
+        List<String> path = solutionCache.get(start, end);
+        if (path == null) {
+            // Ladders to the current target are read off the speculator's distances
+            path = speculator.isTarget(end) ? speculator.pathToTarget(start) : findShortestPath(start, end);
+            solutionCache.put(path); // written in batches; the rest on shutdown
+        }
+        return path;
     }
 
     /**
@@ -489,12 +915,38 @@ public class Game {
         return result;
     }
 
+    /**
+     * Starts the game. {@code --daily} plays today's puzzle; {@code --seed <n>} plays
+     * the puzzle for a shared seed.
+     */
     public static void main(String[] args) {
-        Game game = new Game("word_ladder_words.txt");
+        boolean daily = false;
+        boolean warm = false;
+        Long seed = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--daily")) {
+                daily = true;
+            } else if (args[i].equals("--seed") && i + 1 < args.length) {
+                try {
+                    seed = Long.valueOf(args[++i]);
+                } catch (NumberFormatException e) {
+                    System.out.println("Error: --seed needs a whole number, not \"" + args[i]
+                            + "\"; playing random puzzles instead.");
+                    System.out.println("Usage: java Game [--daily | --seed <n>] [--warm] [--timings]");
+                }
+            } else if (args[i].equals("--warm")) {
+                warm = true;
+            } else if (args[i].equals("--timings")) {
+                reportTimings = true;
+            }
+        }
+        Game game = warm ? warmStart("word_ladder_words.txt", ENGINE_SNAPSHOT_FILE)
+                : new Game("word_ladder_words.txt");
 
+        game.dailySession = daily;
+        game.sessionSeed = seed;
         while (true) { // So they can replay from beginning
-            int difficulty = game.showDifficultySelection();
-            game.startGame(difficulty);
+            game.startSessionGame(game.showDifficultySelection());
         }
     }
 }
\ No newline at end of file
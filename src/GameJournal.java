@@ -0,0 +1,540 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only journal of played games: the puzzle, every guess with its timestamp,
+ * and the outcome.
+ * <p>
+ * Callers never touch the disk. Events go onto a queue, and a single writer thread
+ * drains whatever has accumulated into one frame per write. Each frame is written with
+ * one {@code fsync}, so concurrent games share the cost of durability (group commit).
+ * <p>
+ * File layout: a header ({@code magic, version, dictionary checksum}) followed by frames
+ * {@code [int payloadLength][int crc32][payload]}. Payloads are sequences of events
+ * encoded with varints. Words are dictionary ids; a guess that is not a word is stored
+ * as raw UTF-8. Times are milliseconds, absolute at game start and deltas afterwards.
+ * Every time the journal is opened it writes an OPEN event, and game ids restart from
+ * zero after it. A frame torn by a crash is cut off when the journal is next opened.
+ * If the dictionary has changed since the journal was written, the old file is moved
+ * aside to {@code <file>.<old checksum>} and a new journal is started.
+ */
+public class GameJournal implements Closeable {
+
+    /**
+     * How a game ended.
+     */
+    public enum Outcome {
+        SOLVED, GAVE_UP, ABANDONED
+    }
+
+    /**
+     * Receives the events of a journal in file order.
+     */
+    public interface Visitor {
+        /** The journal was (re)opened; game ids seen before this point are retired. */
+        void onOpen(long timeMillis);
+
+        void onGameStart(int gameId, String startWord, String endWord, long timeMillis);
+
+        void onGuess(int gameId, String guess, boolean accepted, long timeMillis);
+
+        void onGameEnd(int gameId, Outcome outcome, long timeMillis);
+    }
+
+    private static final int MAGIC = 0x574C474A; // "WLGJ"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int FRAME_HEADER_BYTES = 8;
+
+    private static final byte OPEN = 0;
+    private static final byte START = 1;
+    private static final byte GUESS = 2;
+    private static final byte END = 3;
+    private static final byte BARRIER = -1; // not written: flush and close markers
+
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final Dictionary dictionary;
+    private final FileChannel channel;
+    private final BlockingQueue<Event> queue = new LinkedBlockingQueue<>();
+    private final AtomicInteger nextGameId = new AtomicInteger();
+    private final Thread writer;
+    private volatile boolean closed;
+    private long end;
+
+    /** Writer-thread state: time of each open game's latest event, for delta encoding. */
+    private final Map<Integer, Long> lastEventTime = new HashMap<>();
+    private ByteBuffer payload = ByteBuffer.allocate(64 * 1024);
+    private final CRC32 crc = new CRC32();
+
+    private GameJournal(FileChannel channel, Dictionary dictionary, long end) {
+        this.channel = channel;
+        this.dictionary = dictionary;
+        this.end = end;
+        this.writer = new Thread(this::writeLoop, "game-journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        queue.add(new Event(OPEN, -1, System.currentTimeMillis()));
+    }
+
+    /**
+     * Opens a journal for appending, creating it if needed.
+     *
+     * @param file       the journal file
+     * @param dictionary the dictionary whose word ids the journal uses
+     * @return the open journal
+     * @throws IOException if the file cannot be opened or prepared
+     */
+    public static GameJournal open(Path file, Dictionary dictionary) throws IOException {
+        if (Files.exists(file)) {
+            long existing = readChecksum(file);
+            if (existing != dictionary.checksum()) {
+                Path aside = file.resolveSibling(file.getFileName() + "." + Long.toHexString(existing));
+                Files.move(file, aside, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long end;
+            if (channel.size() < HEADER_BYTES) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putInt(VERSION).putLong(dictionary.checksum()).flip();
+                channel.truncate(0);
+                writeFully(channel, header, 0);
+                channel.force(true);
+                end = HEADER_BYTES;
+            } else {
+                end = validEnd(channel);
+                if (end < channel.size()) {
+                    channel.truncate(end);
+                }
+            }
+            return new GameJournal(channel, dictionary, end);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Records the start of a game.
+     *
+     * @param startWord the puzzle's start word
+     * @param endWord   the puzzle's target word
+     * @return the id to use for this game's later events
+     */
+    public int beginGame(String startWord, String endWord) {
+        int gameId = nextGameId.getAndIncrement();
+        Event e = new Event(START, gameId, System.currentTimeMillis());
+        e.first = startWord;
+        e.second = endWord;
+        enqueue(e);
+        return gameId;
+    }
+
+    /**
+     * Records a guess and whether the engine accepted it.
+     *
+     * @param gameId   the id returned by {@link #beginGame(String, String)}
+     * @param guess    the guessed word as typed (after trimming and lowercasing)
+     * @param accepted true if the move was valid
+     */
+    public void recordGuess(int gameId, String guess, boolean accepted) {
+        Event e = new Event(GUESS, gameId, System.currentTimeMillis());
+        e.first = guess;
+        e.accepted = accepted;
+        enqueue(e);
+    }
+
+    /**
+     * Records how a game ended.
+     *
+     * @param gameId  the id returned by {@link #beginGame(String, String)}
+     * @param outcome the outcome
+     */
+    public void endGame(int gameId, Outcome outcome) {
+        Event e = new Event(END, gameId, System.currentTimeMillis());
+        e.outcome = outcome;
+        enqueue(e);
+    }
+
+    /**
+     * Blocks until every event recorded so far is on stable storage.
+     */
+    public void flush() {
+        Event barrier = new Event(BARRIER, -1, 0);
+        barrier.done = new CompletableFuture<>();
+        enqueue(barrier);
+        awaitBarrier(barrier);
+    }
+
+    /**
+     * Flushes outstanding events, stops the writer thread and closes the file.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        Event last = new Event(BARRIER, -1, 0);
+        last.done = new CompletableFuture<>();
+        last.closing = true;
+        enqueue(last);
+        closed = true;
+        awaitBarrier(last);
+        try {
+            writer.join();
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.out.println("Error closing the game journal: " + e.getMessage());
+        }
+    }
+
+    private void awaitBarrier(Event barrier) {
+        try {
+            barrier.done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.out.println("Error flushing the game journal: " + e.getCause().getMessage());
+        }
+    }
+
+    private void enqueue(Event e) {
+        if (closed) {
+            throw new IllegalStateException("Game journal is closed");
+        }
+        queue.add(e);
+    }
+
+    private void writeLoop() {
+        List<Event> batch = new ArrayList<>();
+        boolean closing = false;
+        while (!closing) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                continue; // only a close marker stops the writer
+            }
+            queue.drainTo(batch);
+
+            IOException failure = null;
+            try {
+                payload.clear();
+                for (Event e : batch) {
+                    encode(e);
+                }
+                if (payload.position() > 0) {
+                    writeFrame();
+                }
+            } catch (IOException ex) {
+                failure = ex;
+                System.out.println("Error writing the game journal: " + ex.getMessage());
+            }
+            for (Event e : batch) {
+                closing |= e.closing;
+                if (e.done != null) {
+                    if (failure == null) {
+                        e.done.complete(null);
+                    } else {
+                        e.done.completeExceptionally(failure);
+                    }
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private void writeFrame() throws IOException {
+        payload.flip();
+        crc.reset();
+        crc.update(payload.duplicate());
+        ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_BYTES);
+        header.putInt(payload.remaining()).putInt((int) crc.getValue()).flip();
+        long frameBytes = FRAME_HEADER_BYTES + payload.remaining();
+        writeFully(channel, header, end);
+        writeFully(channel, payload, end + FRAME_HEADER_BYTES);
+        channel.force(false);
+        end += frameBytes;
+    }
+
+    private void encode(Event e) {
+        switch (e.type) {
+            case OPEN:
+                ensureCapacity(11);
+                payload.put(OPEN);
+                putVarLong(e.time);
+                lastEventTime.clear();
+                break;
+            case START:
+                ensureCapacity(26);
+                payload.put(START);
+                putVarLong(e.gameId);
+                putVarLong(e.time);
+                putVarLong(dictionary.idOf(e.first) + 1L);
+                putVarLong(dictionary.idOf(e.second) + 1L);
+                lastEventTime.put(e.gameId, e.time);
+                break;
+            case GUESS:
+                ensureCapacity(26);
+                payload.put(GUESS);
+                putVarLong(e.gameId);
+                putVarLong(delta(e));
+                int id = dictionary.idOf(e.first);
+                putVarLong(((id + 1L) << 1) | (e.accepted ? 1 : 0));
+                if (id < 0) {
+                    byte[] raw = e.first.getBytes(StandardCharsets.UTF_8);
+                    ensureCapacity(5 + raw.length);
+                    putVarLong(raw.length);
+                    payload.put(raw);
+                }
+                break;
+            case END:
+                ensureCapacity(22);
+                payload.put(END);
+                putVarLong(e.gameId);
+                putVarLong(delta(e));
+                payload.put((byte) e.outcome.ordinal());
+                lastEventTime.remove(e.gameId);
+                break;
+            default:
+                // flush barrier: nothing to encode
+        }
+    }
+
+    private long delta(Event e) {
+        Long previous = lastEventTime.put(e.gameId, e.time);
+        return previous == null ? 0 : Math.max(0, e.time - previous);
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (payload.remaining() < bytes) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(payload.capacity() * 2, payload.position() + bytes));
+            payload.flip();
+            bigger.put(payload);
+            payload = bigger;
+        }
+    }
+
+    private void putVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            payload.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        payload.put((byte) value);
+    }
+
+    /**
+     * Reads every event of a journal in order.
+     *
+     * @param file       the journal file
+     * @param dictionary the dictionary the journal was written with
+     * @param visitor    receives the events
+     * @throws IOException if the file cannot be read or belongs to another dictionary
+     */
+    public static void read(Path file, Dictionary dictionary, Visitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a game journal: " + file);
+            }
+            if (header.getLong() != dictionary.checksum()) {
+                throw new IOException("Journal was written with a different dictionary: " + file);
+            }
+
+            long size = channel.size();
+            long pos = HEADER_BYTES;
+            ByteBuffer frameHeader = ByteBuffer.allocate(FRAME_HEADER_BYTES);
+            ByteBuffer frame = ByteBuffer.allocate(64 * 1024);
+            Map<Integer, Long> lastTime = new HashMap<>();
+            CRC32 check = new CRC32();
+            while (pos + FRAME_HEADER_BYTES <= size) {
+                frameHeader.clear();
+                readFully(channel, frameHeader, pos);
+                frameHeader.flip();
+                int length = frameHeader.getInt();
+                int expectedCrc = frameHeader.getInt();
+                if (length <= 0 || pos + FRAME_HEADER_BYTES + length > size) {
+                    break; // torn tail
+                }
+                if (frame.capacity() < length) {
+                    frame = ByteBuffer.allocate(length);
+                }
+                frame.clear().limit(length);
+                readFully(channel, frame, pos + FRAME_HEADER_BYTES);
+                frame.flip();
+                check.reset();
+                check.update(frame.duplicate());
+                if ((int) check.getValue() != expectedCrc) {
+                    break;
+                }
+                decodeFrame(frame, dictionary, visitor, lastTime);
+                pos += FRAME_HEADER_BYTES + length;
+            }
+        }
+    }
+
+    private static void decodeFrame(ByteBuffer in, Dictionary dictionary, Visitor visitor,
+                                    Map<Integer, Long> lastTime) throws IOException {
+        while (in.hasRemaining()) {
+            byte type = in.get();
+            switch (type) {
+                case OPEN: {
+                    long time = getVarLong(in);
+                    lastTime.clear();
+                    visitor.onOpen(time);
+                    break;
+                }
+                case START: {
+                    int gameId = (int) getVarLong(in);
+                    long time = getVarLong(in);
+                    String start = wordOrNull(dictionary, getVarLong(in));
+                    String end = wordOrNull(dictionary, getVarLong(in));
+                    lastTime.put(gameId, time);
+                    visitor.onGameStart(gameId, start, end, time);
+                    break;
+                }
+                case GUESS: {
+                    int gameId = (int) getVarLong(in);
+                    long time = lastTime.getOrDefault(gameId, 0L) + getVarLong(in);
+                    lastTime.put(gameId, time);
+                    long token = getVarLong(in);
+                    boolean accepted = (token & 1) != 0;
+                    String guess;
+                    if ((token >>> 1) == 0) {
+                        byte[] raw = new byte[(int) getVarLong(in)];
+                        in.get(raw);
+                        guess = new String(raw, StandardCharsets.UTF_8);
+                    } else {
+                        guess = dictionary.wordAt((int) (token >>> 1) - 1);
+                    }
+                    visitor.onGuess(gameId, guess, accepted, time);
+                    break;
+                }
+                case END: {
+                    int gameId = (int) getVarLong(in);
+                    long time = lastTime.getOrDefault(gameId, 0L) + getVarLong(in);
+                    lastTime.remove(gameId);
+                    visitor.onGameEnd(gameId, OUTCOMES[in.get()], time);
+                    break;
+                }
+                default:
+                    throw new IOException("Corrupt journal event type " + type);
+            }
+        }
+    }
+
+    private static String wordOrNull(Dictionary dictionary, long token) {
+        return token == 0 ? null : dictionary.wordAt((int) token - 1);
+    }
+
+    private static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static long readChecksum(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return -1;
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                return -1;
+            }
+            return header.getLong();
+        }
+    }
+
+    /**
+     * Walks the frame headers to find where the last complete frame ends. Only the final
+     * frame can be torn, so only its checksum is verified.
+     */
+    private static long validEnd(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long pos = HEADER_BYTES;
+        ByteBuffer frameHeader = ByteBuffer.allocate(FRAME_HEADER_BYTES);
+        long lastStart = -1;
+        while (pos + FRAME_HEADER_BYTES <= size) {
+            frameHeader.clear();
+            readFully(channel, frameHeader, pos);
+            int length = frameHeader.getInt(0);
+            if (length <= 0 || pos + FRAME_HEADER_BYTES + length > size) {
+                break;
+            }
+            lastStart = pos;
+            pos += FRAME_HEADER_BYTES + length;
+        }
+        if (lastStart >= 0) {
+            frameHeader.clear();
+            readFully(channel, frameHeader, lastStart);
+            int length = frameHeader.getInt(0);
+            ByteBuffer frame = ByteBuffer.allocate(length);
+            readFully(channel, frame, lastStart + FRAME_HEADER_BYTES);
+            frame.flip();
+            CRC32 check = new CRC32();
+            check.update(frame);
+            if ((int) check.getValue() != frameHeader.getInt(4)) {
+                return lastStart;
+            }
+        }
+        return pos;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of journal");
+            }
+            position += read;
+        }
+    }
+
+    private static final class Event {
+        final byte type;
+        final int gameId;
+        final long time;
+        String first;
+        String second;
+        boolean accepted;
+        Outcome outcome;
+        CompletableFuture<Void> done;
+        boolean closing;
+
+        Event(byte type, int gameId, long time) {
+            this.type = type;
+            this.gameId = gameId;
+            this.time = time;
+        }
+    }
+}
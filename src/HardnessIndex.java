@@ -0,0 +1,454 @@
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed hardness of candidate puzzles, for picking a puzzle of a given hardness
+ * without searching at game start.
+ * <p>
+ * Ladder length alone is a poor measure of difficulty. A long ladder through words with
+ * few neighbors and many alternative optimal routes can be easier than a short one
+ * through a crowded neighborhood with a single optimal route. The index is built in one
+ * parallel pass: a depth-limited breadth-first search from each start word counts the
+ * optimal ladders to every word it reaches and records the branching and dead ends on
+ * the way. A few (start, end) pairs per distance are kept. Their features and score are
+ * stored in primitive arrays sorted by hardness, so selection is a binary search.
+ * <p>
+ * Per-word features (neighbor count and dead-end neighbors) are kept as well, indexed
+ * by word id.
+ */
+public final class HardnessIndex {
+
+    /** Longest ladder considered. */
+    static final int MAX_MOVES = 8;
+
+    /** End words kept per start word and distance. */
+    private static final int PAIRS_PER_DEPTH = 2;
+
+    /** Upper bound on start words searched, so huge dictionaries build in bounded time. */
+    private static final int MAX_STARTS = 20_000;
+
+    /**
+     * Upper bound on edges scanned per start word. A layer that would exceed it is not
+     * expanded, so dense dictionaries keep only their shorter ladders from that start.
+     */
+    private static final int MAX_EDGES_PER_START = 16_384;
+
+    /** Candidates on each side of the target hardness that selection picks from. */
+    private static final int SELECTION_WINDOW = 32;
+
+    // Weights of the hardness score; see hardness(...)
+    private static final double BRANCHING_WEIGHT = 0.75;
+    private static final double ROUTES_WEIGHT = 0.5;
+    private static final double DEAD_END_WEIGHT = 2.0;
+
+    private final Dictionary dictionary;
+
+    // Per word, by id
+    private final short[] degree;
+    private final short[] deadEndNeighbors;
+
+    // Per pair, ascending by hardness
+    private final int[] pairStart;
+    private final int[] pairEnd;
+    private final byte[] pairMoves;
+    private final int[] pairRoutes;
+    private final float[] pairHardness;
+
+    private HardnessIndex(Dictionary dictionary, short[] degree, short[] deadEndNeighbors, int[] pairStart,
+                          int[] pairEnd, byte[] pairMoves, int[] pairRoutes, float[] pairHardness) {
+        this.dictionary = dictionary;
+        this.degree = degree;
+        this.deadEndNeighbors = deadEndNeighbors;
+        this.pairStart = pairStart;
+        this.pairEnd = pairEnd;
+        this.pairMoves = pairMoves;
+        this.pairRoutes = pairRoutes;
+        this.pairHardness = pairHardness;
+    }
+
+    /**
+     * Scores a puzzle. Every move adds one; more choices per step add (wrong turns are
+     * easier to take), more distinct optimal ladders subtract (one is easier to stumble
+     * on), and dead ends near the start add (they waste moves).
+     *
+     * @param moves        the optimal ladder length
+     * @param routes       the number of distinct optimal ladders
+     * @param meanDegree   the mean neighbor count of the words within {@code moves - 1} of the start
+     * @param deadEndShare the share of those words that have at most one neighbor
+     * @return the hardness score; higher is harder
+     */
+    public static double hardness(int moves, long routes, double meanDegree, double deadEndShare) {
+        return moves
+                + BRANCHING_WEIGHT * log2(Math.max(1.0, meanDegree))
+                - ROUTES_WEIGHT * log2(Math.max(1L, routes))
+                + DEAD_END_WEIGHT * deadEndShare;
+    }
+
+    /**
+     * Builds the index over all words of the game's word length, in parallel.
+     *
+     * @param dictionary the dictionary
+     * @return the index
+     */
+    public static HardnessIndex build(Dictionary dictionary) {
+        NeighborIndex index = dictionary.getNeighborIndex();
+        int n = dictionary.size();
+
+        short[] degree = new short[n];
+        short[] deadEndNeighbors = new short[n];
+        IntStream.range(0, n).parallel().forEach(id -> {
+            degree[id] = (short) Math.min(Short.MAX_VALUE, degreeIn(dictionary, id));
+        });
+        IntStream.range(0, n).parallel().forEach(id -> {
+            int dead = 0;
+            for (int e = index.firstEdge(id), end = index.endEdge(id); e < end; e++) {
+                int next = index.targetAt(e);
+                if (dictionary.contains(next) && degree[next] <= 1) {
+                    dead++;
+                }
+            }
+            deadEndNeighbors[id] = (short) Math.min(Short.MAX_VALUE, dead);
+        });
+
+        int[] starts = startWords(dictionary);
+        int slotsPerStart = MAX_MOVES * PAIRS_PER_DEPTH;
+        int slots = starts.length * slotsPerStart;
+        int[] start = new int[slots];
+        int[] end = new int[slots];
+        byte[] moves = new byte[slots]; // 0 marks an unused slot
+        int[] routes = new int[slots];
+        float[] hardness = new float[slots];
+
+        ThreadLocal<int[]> depths = ThreadLocal.withInitial(() -> new int[n]);
+        ThreadLocal<long[]> counts = ThreadLocal.withInitial(() -> new long[n]);
+        IntStream.range(0, starts.length).parallel().forEach(s -> {
+            int[] depth = depths.get();
+            long[] paths = counts.get();
+            SearchContext search = SearchContext.forThread();
+            int source = starts[s];
+            search.begin(n);
+            search.visit(source, -1);
+            depth[source] = 0;
+            paths[source] = 1;
+
+            int slot = s * slotsPerStart;
+            int layerStart = 0;
+            int layerEnd = 1;
+            long degreeSum = 0;
+            int deadEnds = 0;
+            int edgesScanned = 0;
+            for (int d = 0; d < MAX_MOVES && layerStart < layerEnd; d++) {
+                int layerEdges = 0;
+                for (int i = layerStart; i < layerEnd; i++) {
+                    layerEdges += degree[search.queuedAt(i)];
+                }
+                if (d > 0 && edgesScanned + layerEdges > MAX_EDGES_PER_START) {
+                    break;
+                }
+                edgesScanned += layerEdges;
+
+                // Expand layer d, counting shortest routes into layer d + 1
+                for (int i = layerStart; i < layerEnd; i++) {
+                    int word = search.queuedAt(i);
+                    degreeSum += degree[word];
+                    if (degree[word] <= 1) {
+                        deadEnds++;
+                    }
+                    for (int e = index.firstEdge(word), last = index.endEdge(word); e < last; e++) {
+                        int next = index.targetAt(e);
+                        if (!dictionary.contains(next)) {
+                            continue;
+                        }
+                        if (search.visit(next, word)) {
+                            depth[next] = d + 1;
+                            paths[next] = paths[word];
+                        } else if (depth[next] == d + 1) {
+                            paths[next] = Math.min(Integer.MAX_VALUE, paths[next] + paths[word]);
+                        }
+                    }
+                }
+                layerStart = layerEnd;
+                layerEnd = search.queued();
+                int layerSize = layerEnd - layerStart;
+                if (layerSize == 0) {
+                    break;
+                }
+
+                // Keep a few deterministic picks from layer d + 1
+                double meanDegree = (double) degreeSum / layerStart;
+                double deadEndShare = (double) deadEnds / layerStart;
+                for (int k = 0; k < Math.min(PAIRS_PER_DEPTH, layerSize); k++) {
+                    int pick = search.queuedAt(layerStart + (int) Long.remainderUnsigned(
+                            mix(((long) source << 8) | (d << 2) | k), layerSize));
+                    start[slot] = source;
+                    end[slot] = pick;
+                    moves[slot] = (byte) (d + 1);
+                    routes[slot] = (int) paths[pick];
+                    hardness[slot] = (float) hardness(d + 1, paths[pick], meanDegree, deadEndShare);
+                    slot++;
+                }
+            }
+        });
+
+        // Sort the used slots by (hardness, slot); the slot breaks ties deterministically
+        long[] keys = new long[slots];
+        int used = 0;
+        for (int i = 0; i < slots; i++) {
+            if (moves[i] != 0) {
+                keys[used++] = ((long) sortableBits(hardness[i]) << 32) | i;
+            }
+        }
+        keys = Arrays.copyOf(keys, used);
+        Arrays.parallelSort(keys);
+
+        int[] sortedStart = new int[used];
+        int[] sortedEnd = new int[used];
+        byte[] sortedMoves = new byte[used];
+        int[] sortedRoutes = new int[used];
+        float[] sortedHardness = new float[used];
+        for (int r = 0; r < used; r++) {
+            int i = (int) keys[r];
+            sortedStart[r] = start[i];
+            sortedEnd[r] = end[i];
+            sortedMoves[r] = moves[i];
+            sortedRoutes[r] = routes[i];
+            sortedHardness[r] = hardness[i];
+        }
+        return new HardnessIndex(dictionary, degree, deadEndNeighbors,
+                sortedStart, sortedEnd, sortedMoves, sortedRoutes, sortedHardness);
+    }
+
+    /**
+     * Writes the index for {@link EngineSnapshot}.
+     *
+     * @param out the snapshot stream
+     * @throws IOException if writing fails
+     */
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(degree.length);
+        for (int id = 0; id < degree.length; id++) {
+            out.writeShort(degree[id]);
+            out.writeShort(deadEndNeighbors[id]);
+        }
+        out.writeInt(pairMoves.length);
+        out.write(pairMoves);
+        EngineSnapshot.writeInts(out, pairStart);
+        EngineSnapshot.writeInts(out, pairEnd);
+        EngineSnapshot.writeInts(out, pairRoutes);
+        int[] bits = new int[pairHardness.length];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = Float.floatToRawIntBits(pairHardness[i]);
+        }
+        EngineSnapshot.writeInts(out, bits);
+    }
+
+    /**
+     * Reads an index written by {@link #writeTo(DataOutputStream)}.
+     *
+     * @param in         the snapshot contents, positioned at the index
+     * @param dictionary the dictionary restored from the same snapshot
+     * @return the index
+     */
+    static HardnessIndex readFrom(ByteBuffer in, Dictionary dictionary) {
+        int n = in.getInt();
+        if (n != dictionary.size()) {
+            throw new IllegalArgumentException("Hardness index does not match the dictionary");
+        }
+        short[] degree = new short[n];
+        short[] deadEndNeighbors = new short[n];
+        for (int id = 0; id < n; id++) {
+            degree[id] = in.getShort();
+            deadEndNeighbors[id] = in.getShort();
+        }
+        byte[] moves = new byte[in.getInt()];
+        in.get(moves);
+        int[] start = EngineSnapshot.readInts(in);
+        int[] end = EngineSnapshot.readInts(in);
+        int[] routes = EngineSnapshot.readInts(in);
+        int[] bits = EngineSnapshot.readInts(in);
+        float[] hardness = new float[bits.length];
+        for (int i = 0; i < bits.length; i++) {
+            hardness[i] = Float.intBitsToFloat(bits[i]);
+        }
+        if (start.length != moves.length || end.length != moves.length || routes.length != moves.length
+                || hardness.length != moves.length) {
+            throw new IllegalArgumentException("Inconsistent hardness index");
+        }
+        return new HardnessIndex(dictionary, degree, deadEndNeighbors, start, end, moves, routes, hardness);
+    }
+
+    /**
+     * @return the dictionary the index was built from
+     */
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * @return the number of indexed puzzles
+     */
+    public int size() {
+        return pairHardness.length;
+    }
+
+    /**
+     * @param id a word id
+     * @return the number of neighbors of the word
+     */
+    public int degree(int id) {
+        return degree[id];
+    }
+
+    /**
+     * @param id a word id
+     * @return the number of the word's neighbors that have no other neighbor
+     */
+    public int deadEndNeighbors(int id) {
+        return deadEndNeighbors[id];
+    }
+
+    /**
+     * @param rank a position in {@code [0, size())}, easiest first
+     * @return the hardness of the puzzle at that rank
+     */
+    public double hardnessAt(int rank) {
+        return pairHardness[rank];
+    }
+
+    /**
+     * @param rank a position in {@code [0, size())}, easiest first
+     * @return the number of distinct optimal ladders of the puzzle at that rank
+     */
+    public int routesAt(int rank) {
+        return pairRoutes[rank];
+    }
+
+    /**
+     * @param rank a position in {@code [0, size())}, easiest first
+     * @return the puzzle at that rank
+     */
+    public PuzzleGenerator.Puzzle puzzleAt(int rank) {
+        return new PuzzleGenerator.Puzzle(dictionary.wordAt(pairStart[rank]), dictionary.wordAt(pairEnd[rank]),
+                pairMoves[rank]);
+    }
+
+    /**
+     * @param fraction a fraction between 0 (easiest) and 1 (hardest)
+     * @return the hardness at that percentile of the indexed puzzles
+     */
+    public double hardnessAtPercentile(double fraction) {
+        int rank = (int) Math.round(Math.max(0, Math.min(1, fraction)) * (size() - 1));
+        return pairHardness[rank];
+    }
+
+    /**
+     * Picks a puzzle close to a target hardness: a binary search for the target, then a
+     * seeded pick among its nearest neighbors in the sorted order.
+     *
+     * @param targetHardness the hardness wanted
+     * @param seed           the seed; equal seeds give equal puzzles
+     * @return the puzzle, or {@code null} if the index is empty
+     */
+    public PuzzleGenerator.Puzzle select(double targetHardness, long seed) {
+        if (size() == 0) {
+            return null;
+        }
+        int rank = lowerBound((float) targetHardness);
+        int from = Math.max(0, rank - SELECTION_WINDOW);
+        int to = Math.min(size(), rank + SELECTION_WINDOW);
+        if (from >= to) {
+            from = size() - 1; // target is harder than everything indexed
+            to = size();
+        }
+        return puzzleAt(from + new SplittableRandom(seed).nextInt(to - from));
+    }
+
+    /**
+     * Picks a puzzle for a difficulty level: EASY aims at the 15th percentile of
+     * hardness, MEDIUM at the median and HARD at the 90th percentile.
+     *
+     * @param difficulty the difficulty
+     * @param seed       the seed
+     * @return the puzzle, or {@code null} if the index is empty
+     */
+    public PuzzleGenerator.Puzzle select(PuzzleGenerator.Difficulty difficulty, long seed) {
+        if (size() == 0) {
+            return null;
+        }
+        double[] percentile = {0.15, 0.5, 0.9};
+        return select(hardnessAtPercentile(percentile[difficulty.ordinal()]), seed);
+    }
+
+    private int lowerBound(float target) {
+        int lo = 0;
+        int hi = pairHardness.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (pairHardness[mid] < target) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int[] startWords(Dictionary dictionary) {
+        int[] ids = new int[dictionary.size()];
+        int count = 0;
+        for (int id = 0; id < dictionary.size(); id++) {
+            if (dictionary.contains(id) && dictionary.wordAt(id).length() == PuzzleGenerator.WORD_LENGTH
+                    && degreeIn(dictionary, id) > 0) {
+                ids[count++] = id;
+            }
+        }
+        if (count <= MAX_STARTS) {
+            return Arrays.copyOf(ids, count);
+        }
+        int[] sampled = new int[MAX_STARTS]; // an even stride over the alphabet
+        for (int i = 0; i < MAX_STARTS; i++) {
+            sampled[i] = ids[(int) ((long) i * count / MAX_STARTS)];
+        }
+        return sampled;
+    }
+
+    /**
+     * @return the number of neighbors of a word that are in the dictionary, which for a
+     *         subset may be fewer than its neighbor index row holds
+     */
+    private static int degreeIn(Dictionary dictionary, int id) {
+        NeighborIndex index = dictionary.getNeighborIndex();
+        if (!dictionary.isSubset()) {
+            return index.degree(id);
+        }
+        int degree = 0;
+        for (int e = index.firstEdge(id), end = index.endEdge(id); e < end; e++) {
+            if (dictionary.contains(index.targetAt(e))) {
+                degree++;
+            }
+        }
+        return degree;
+    }
+
+    /**
+     * Maps a float to an int that sorts the same way under signed comparison.
+     */
+    private static int sortableBits(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits < 0 ? bits ^ 0x7FFFFFFF : bits;
+    }
+
+    private static double log2(double x) {
+        return Math.log(x) / Math.log(2);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
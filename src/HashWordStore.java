@@ -0,0 +1,63 @@
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * The default {@link WordStore}: a {@code HashSet} for membership plus a sorted array
+ * mapping ids to words.
+ */
+final class HashWordStore implements WordStore {
+
+    private final String[] wordsById;
+    private final Set<String> words;
+
+    /**
+     * @param sortedWords normalized words, sorted and free of duplicates
+     */
+    HashWordStore(String[] sortedWords) {
+        this.wordsById = sortedWords;
+        this.words = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(sortedWords)));
+    }
+
+    @Override
+    public int size() {
+        return wordsById.length;
+    }
+
+    @Override
+    public boolean contains(String word) {
+        return words.contains(word);
+    }
+
+    @Override
+    public int idOf(String word) {
+        int id = Arrays.binarySearch(wordsById, word);
+        return id >= 0 ? id : -1;
+    }
+
+    @Override
+    public String wordAt(int id) {
+        return wordsById[id];
+    }
+
+    @Override
+    public void forEachMatch(char[] pattern, int wildcard, IntConsumer action) {
+        char[] probe = pattern.clone();
+        for (char c = 'a'; c <= 'z'; c++) {
+            probe[wildcard] = c;
+            String candidate = new String(probe);
+            if (words.contains(candidate)) {
+                action.accept(idOf(candidate));
+            }
+        }
+    }
+
+    @Override
+    public NeighborIndex buildNeighborIndex() {
+        return NeighborIndex.fromPatternBuckets(wordsById);
+    }
+
+    @Override
+    public Set<String> asSet() {
+        return words;
+    }
+}
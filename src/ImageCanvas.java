@@ -0,0 +1,150 @@
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link Canvas} that draws into an offscreen {@link BufferedImage}, matching StdDraw's
+ * placement of shapes and text. It needs no display, so it works with
+ * {@code -Djava.awt.headless=true}.
+ * <p>
+ * The image is reused from frame to frame: {@link #clear()} repaints it rather than
+ * allocating a new one, so callers that keep the result must copy or encode it before
+ * drawing the next frame. Pictures are decoded once per file and shared by all canvases.
+ * A canvas is not thread-safe; give each thread its own.
+ */
+public class ImageCanvas implements Canvas {
+
+    /** Matches StdDraw's default pen: radius 0.002 of its 512-pixel reference size. */
+    private static final Stroke PEN = new BasicStroke(0.002f * 512, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+
+    private static final ConcurrentHashMap<String, Optional<Image>> PICTURES = new ConcurrentHashMap<>();
+
+    private final int width;
+    private final int height;
+    private final BufferedImage image;
+    private final Graphics2D g;
+
+    /**
+     * @param width  the image width in pixels
+     * @param height the image height in pixels
+     */
+    public ImageCanvas(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setStroke(PEN);
+        g.setColor(Color.BLACK);
+        clear();
+    }
+
+    /**
+     * @return the image drawn so far; overwritten by the next frame
+     */
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    @Override
+    public void clear() {
+        Color pen = g.getColor();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        g.setColor(pen);
+    }
+
+    @Override
+    public void picture(double x, double y, String filename, double scaledWidth, double scaledHeight) {
+        Image picture = PICTURES.computeIfAbsent(filename, ImageCanvas::readPicture).orElse(null);
+        if (picture == null) {
+            return; // already reported by readPicture
+        }
+        double ws = scaledWidth * width;
+        double hs = scaledHeight * height;
+        g.drawImage(picture, (int) Math.round(scaleX(x) - ws / 2), (int) Math.round(scaleY(y) - hs / 2),
+                (int) Math.round(ws), (int) Math.round(hs), null);
+    }
+
+    @Override
+    public void setPenColor(Color color) {
+        g.setColor(color);
+    }
+
+    @Override
+    public void setFont(Font font) {
+        g.setFont(font);
+    }
+
+    @Override
+    public void text(double x, double y, String text) {
+        FontMetrics metrics = g.getFontMetrics();
+        g.drawString(text, (float) (scaleX(x) - metrics.stringWidth(text) / 2.0),
+                (float) (scaleY(y) + metrics.getDescent()));
+    }
+
+    @Override
+    public void textLeft(double x, double y, String text) {
+        g.drawString(text, (float) scaleX(x), (float) (scaleY(y) + g.getFontMetrics().getDescent()));
+    }
+
+    @Override
+    public void textRight(double x, double y, String text) {
+        FontMetrics metrics = g.getFontMetrics();
+        g.drawString(text, (float) (scaleX(x) - metrics.stringWidth(text)),
+                (float) (scaleY(y) + metrics.getDescent()));
+    }
+
+    @Override
+    public void square(double x, double y, double halfLength) {
+        rectangle(x, y, halfLength, halfLength);
+    }
+
+    @Override
+    public void rectangle(double x, double y, double halfWidth, double halfHeight) {
+        g.draw(box(x, y, halfWidth, halfHeight));
+    }
+
+    @Override
+    public void filledRectangle(double x, double y, double halfWidth, double halfHeight) {
+        g.fill(box(x, y, halfWidth, halfHeight));
+    }
+
+    @Override
+    public void show() {
+        // Drawing goes straight into the image
+    }
+
+    private Rectangle2D box(double x, double y, double halfWidth, double halfHeight) {
+        double ws = 2 * halfWidth * width;
+        double hs = 2 * halfHeight * height;
+        return new Rectangle2D.Double(scaleX(x) - ws / 2, scaleY(y) - hs / 2, ws, hs);
+    }
+
+    private double scaleX(double x) {
+        return x * width;
+    }
+
+    private double scaleY(double y) {
+        return (1 - y) * height;
+    }
+
+    private static Optional<Image> readPicture(String filename) {
+        try {
+            BufferedImage picture = ImageIO.read(new File(filename));
+            if (picture != null) {
+                return Optional.of(picture);
+            }
+        } catch (IOException e) {
+            // reported below
+        }
+        System.out.println("Error reading the image: " + filename);
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,107 @@
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Re-simulates journaled games through the engine. Every recorded guess is replayed
+ * through {@link Player#makeMove(String)}, and the result is checked against the
+ * accept/reject decision that was recorded when the game was played.
+ * <p>
+ * Usage: {@code java JournalReplayer <journalFile> [wordFile]}.
+ */
+public class JournalReplayer implements GameJournal.Visitor {
+
+    private final Dictionary dictionary;
+    private final Map<Integer, Player> players = new HashMap<>();
+    private long games;
+    private long guesses;
+    private long mismatches;
+    private long solved;
+
+    public JournalReplayer(Dictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Replays a whole journal file.
+     *
+     * @param file the journal file
+     * @throws IOException if the journal cannot be read
+     */
+    public void replay(Path file) throws IOException {
+        GameJournal.read(file, dictionary, this);
+    }
+
+    @Override
+    public void onOpen(long timeMillis) {
+        players.clear(); // game ids restart with every session
+    }
+
+    @Override
+    public void onGameStart(int gameId, String startWord, String endWord, long timeMillis) {
+        games++;
+        if (startWord != null) {
+            players.put(gameId, new Player(startWord, dictionary));
+        }
+    }
+
+    @Override
+    public void onGuess(int gameId, String guess, boolean accepted, long timeMillis) {
+        guesses++;
+        Player player = players.get(gameId);
+        if (player == null || player.makeMove(guess) != accepted) {
+            mismatches++;
+        }
+    }
+
+    @Override
+    public void onGameEnd(int gameId, GameJournal.Outcome outcome, long timeMillis) {
+        if (outcome == GameJournal.Outcome.SOLVED) {
+            solved++;
+        }
+        players.remove(gameId);
+    }
+
+    /**
+     * @return the number of games replayed
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * @return the number of guesses replayed
+     */
+    public long getGuesses() {
+        return guesses;
+    }
+
+    /**
+     * @return the number of guesses where the engine disagreed with the recorded decision
+     */
+    public long getMismatches() {
+        return mismatches;
+    }
+
+    /**
+     * @return the number of games recorded as solved
+     */
+    public long getSolved() {
+        return solved;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: java JournalReplayer <journalFile> [wordFile]");
+            return;
+        }
+        Dictionary dictionary = new Dictionary(args.length > 1 ? args[1] : "word_ladder_words.txt");
+        JournalReplayer replayer = new JournalReplayer(dictionary);
+        long start = System.nanoTime();
+        replayer.replay(Paths.get(args[0]));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Replayed %,d games (%,d solved), %,d guesses in %.2f s: %,.0f games/s, %,.0f guesses/s, %,d mismatches%n",
+                replayer.getGames(), replayer.getSolved(), replayer.getGuesses(), seconds,
+                replayer.getGames() / seconds, replayer.getGuesses() / seconds, replayer.getMismatches());
+    }
+}
@@ -0,0 +1,158 @@
+import java.util.*;
+
+/**
+ * The add/remove-letter edges of the word graph, which connect words of different
+ * lengths, keyed by dictionary word id. Together with the same-length edges of the
+ * {@link NeighborIndex} this is the whole graph for {@link LadderRules} that allow
+ * adding and removing letters.
+ * <p>
+ * The edges are found through deletion patterns: every way of dropping one letter from
+ * a word ("cart" gives "art", "crt", "cat", "car") is looked up in the dictionary once,
+ * and each hit is a remove edge from the longer word and an add edge from the shorter
+ * one. Both directions are stored in compressed sparse row form, sorted by id, like the
+ * neighbor index. Edge costs are not stored: searches derive them from the rules as
+ * they expand words, so one graph serves every rule set.
+ * <p>
+ * Built once per dictionary on first use, see {@link Dictionary#getLadderGraph()};
+ * immutable afterwards.
+ */
+public final class LadderGraph {
+
+    private final int[] addOffsets;
+    private final int[] addTargets;
+    private final int[] removeOffsets;
+    private final int[] removeTargets;
+
+    private LadderGraph(int[] addOffsets, int[] addTargets, int[] removeOffsets, int[] removeTargets) {
+        this.addOffsets = addOffsets;
+        this.addTargets = addTargets;
+        this.removeOffsets = removeOffsets;
+        this.removeTargets = removeTargets;
+    }
+
+    /**
+     * Builds the add/remove edges of a dictionary from its deletion patterns.
+     *
+     * @param dictionary the dictionary
+     * @return the graph
+     */
+    static LadderGraph build(Dictionary dictionary) {
+        int n = dictionary.size();
+        int[] removeOffsets = new int[n + 1];
+        int[] removeTargets = new int[Math.max(16, n)];
+        int count = 0;
+
+        for (int id = 0; id < n; id++) {
+            String word = dictionary.wordAt(id);
+            if (word.length() > 1) {
+                char[] shorter = new char[word.length() - 1];
+                for (int i = 0; i < word.length(); i++) {
+                    if (i > 0 && word.charAt(i) == word.charAt(i - 1)) {
+                        continue; // dropping either letter of a double gives the same word
+                    }
+                    word.getChars(0, i, shorter, 0);
+                    word.getChars(i + 1, word.length(), shorter, i);
+                    int target = dictionary.idOf(new String(shorter));
+                    if (target >= 0) {
+                        if (count == removeTargets.length) {
+                            removeTargets = Arrays.copyOf(removeTargets, removeTargets.length * 2);
+                        }
+                        removeTargets[count++] = target;
+                    }
+                }
+            }
+            removeOffsets[id + 1] = count;
+            Arrays.sort(removeTargets, removeOffsets[id], count);
+        }
+        removeTargets = Arrays.copyOf(removeTargets, count);
+
+        // Add edges are the remove edges reversed; filling rows in source order keeps them sorted
+        int[] addOffsets = new int[n + 1];
+        for (int e = 0; e < count; e++) {
+            addOffsets[removeTargets[e] + 1]++;
+        }
+        for (int id = 0; id < n; id++) {
+            addOffsets[id + 1] += addOffsets[id];
+        }
+        int[] addTargets = new int[count];
+        int[] fill = Arrays.copyOf(addOffsets, n);
+        for (int id = 0; id < n; id++) {
+            for (int e = removeOffsets[id]; e < removeOffsets[id + 1]; e++) {
+                addTargets[fill[removeTargets[e]]++] = id;
+            }
+        }
+        return new LadderGraph(addOffsets, addTargets, removeOffsets, removeTargets);
+    }
+
+    /**
+     * @return the number of words (vertices) covered by this graph
+     */
+    public int size() {
+        return addOffsets.length - 1;
+    }
+
+    /**
+     * @return the number of add/remove word pairs
+     */
+    public int edgeCount() {
+        return addTargets.length;
+    }
+
+    /**
+     * @param id a word id
+     * @return the position in {@link #addTargetAt(int)} where the words one letter longer start
+     */
+    public int firstAdd(int id) {
+        return addOffsets[id];
+    }
+
+    /**
+     * @param id a word id
+     * @return the position just past the word's last add edge
+     */
+    public int endAdd(int id) {
+        return addOffsets[id + 1];
+    }
+
+    /**
+     * @param edge an edge position between {@link #firstAdd(int)} and {@link #endAdd(int)}
+     * @return the id of the longer word
+     */
+    public int addTargetAt(int edge) {
+        return addTargets[edge];
+    }
+
+    /**
+     * @param id a word id
+     * @return the position in {@link #removeTargetAt(int)} where the words one letter shorter start
+     */
+    public int firstRemove(int id) {
+        return removeOffsets[id];
+    }
+
+    /**
+     * @param id a word id
+     * @return the position just past the word's last remove edge
+     */
+    public int endRemove(int id) {
+        return removeOffsets[id + 1];
+    }
+
+    /**
+     * @param edge an edge position between {@link #firstRemove(int)} and {@link #endRemove(int)}
+     * @return the id of the shorter word
+     */
+    public int removeTargetAt(int edge) {
+        return removeTargets[edge];
+    }
+
+    /**
+     * @param id    a word id
+     * @param other another word id
+     * @return true if one word is the other with a letter added
+     */
+    public boolean isAddRemovePair(int id, int other) {
+        return Arrays.binarySearch(addTargets, addOffsets[id], addOffsets[id + 1], other) >= 0
+                || Arrays.binarySearch(removeTargets, removeOffsets[id], removeOffsets[id + 1], other) >= 0;
+    }
+}
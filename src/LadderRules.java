@@ -0,0 +1,160 @@
+import java.util.Arrays;
+
+/**
+ * The moves a ladder may use and what each one costs.
+ * <p>
+ * The classic game only allows changing one letter, and every move costs one. Extended
+ * rules may also allow adding or removing a letter anywhere in the word, which connects
+ * words of different lengths, and may charge a different cost for each letter a
+ * substitution puts into the word (e.g. Scrabble tile values, so ladders through
+ * common letters are cheaper). Shortest ladders under such rules are found by
+ * {@link WeightedSearch}; moves of the classic rules are plain breadth-first search.
+ * <p>
+ * Rules are immutable.
+ */
+public final class LadderRules {
+
+    /** Change one letter; every move costs one. */
+    public static final LadderRules CLASSIC = new LadderRules(false, uniformCosts(1), 1, 1);
+
+    /** Change, add or remove one letter; every move costs one. */
+    public static final LadderRules ADD_REMOVE = new LadderRules(true, uniformCosts(1), 1, 1);
+
+    private static final int[] SCRABBLE_VALUES = {
+            1, 3, 3, 2, 1, 4, 2, 4, 1, 8, 5, 1, 3, 1, 1, 3, 10, 1, 1, 1, 1, 4, 4, 8, 4, 10
+    };
+
+    private final boolean addRemove;
+    private final int[] letterCosts;
+    private final int otherLetterCost;
+    private final int addCost;
+    private final int removeCost;
+    private final boolean uniform;
+
+    /**
+     * @param addRemove   whether adding or removing a letter is a move
+     * @param letterCosts the cost of a substitution that puts letter {@code 'a' + i} into
+     *                    the word, for each of the 26 letters; must all be positive
+     * @param addCost     the cost of adding a letter; must be positive
+     * @param removeCost  the cost of removing a letter; must be positive
+     */
+    public LadderRules(boolean addRemove, int[] letterCosts, int addCost, int removeCost) {
+        if (letterCosts.length != 26) {
+            throw new IllegalArgumentException("Need one cost per letter, got " + letterCosts.length);
+        }
+        int max = 1;
+        for (int cost : letterCosts) {
+            if (cost < 1) {
+                throw new IllegalArgumentException("Move costs must be positive");
+            }
+            max = Math.max(max, cost);
+        }
+        if (addCost < 1 || removeCost < 1) {
+            throw new IllegalArgumentException("Move costs must be positive");
+        }
+        this.addRemove = addRemove;
+        this.letterCosts = letterCosts.clone();
+        this.otherLetterCost = max; // letters outside a-z cost as much as the dearest one
+        this.addCost = addCost;
+        this.removeCost = removeCost;
+        this.uniform = max == 1 && addCost == 1 && removeCost == 1;
+    }
+
+    /**
+     * Substitutions cost the Scrabble value of the letter they put into the word.
+     *
+     * @param addRemove  whether adding or removing a letter is a move too
+     * @param addCost    the cost of adding a letter
+     * @param removeCost the cost of removing a letter
+     * @return the rules
+     */
+    public static LadderRules scrabble(boolean addRemove, int addCost, int removeCost) {
+        return new LadderRules(addRemove, SCRABBLE_VALUES, addCost, removeCost);
+    }
+
+    private static int[] uniformCosts(int cost) {
+        int[] costs = new int[26];
+        Arrays.fill(costs, cost);
+        return costs;
+    }
+
+    /**
+     * @return true if adding or removing a letter is a move
+     */
+    public boolean allowsAddRemove() {
+        return addRemove;
+    }
+
+    /**
+     * @return true if every move costs one, so the cheapest ladder is the shortest one
+     */
+    public boolean isUniform() {
+        return uniform;
+    }
+
+    /**
+     * @return true for the classic rules: same-length substitutions only, all costing one
+     */
+    public boolean isClassic() {
+        return uniform && !addRemove;
+    }
+
+    /**
+     * @param letter the letter a substitution puts into the word
+     * @return the cost of that substitution
+     */
+    public int substitutionCost(char letter) {
+        return letter >= 'a' && letter <= 'z' ? letterCosts[letter - 'a'] : otherLetterCost;
+    }
+
+    public int addCost() {
+        return addCost;
+    }
+
+    public int removeCost() {
+        return removeCost;
+    }
+
+    /**
+     * Checks whether one word can follow another under these rules, and at what cost.
+     * Dictionary membership is not checked.
+     *
+     * @param from the current word (lowercase)
+     * @param to   the next word (lowercase)
+     * @return the cost of the move, or -1 if it is not a move
+     */
+    public int moveCost(String from, String to) {
+        int diff = to.length() - from.length();
+        if (diff == 0) {
+            int changed = -1;
+            for (int i = 0; i < from.length(); i++) {
+                if (from.charAt(i) != to.charAt(i)) {
+                    if (changed >= 0) {
+                        return -1;
+                    }
+                    changed = i;
+                }
+            }
+            return changed < 0 ? -1 : substitutionCost(to.charAt(changed));
+        }
+        if (!addRemove || Math.abs(diff) != 1) {
+            return -1;
+        }
+        String longer = diff > 0 ? to : from;
+        String shorter = diff > 0 ? from : to;
+        int i = 0;
+        while (i < shorter.length() && shorter.charAt(i) == longer.charAt(i)) {
+            i++;
+        }
+        // Dropping longer[i] must give the shorter word
+        if (!longer.regionMatches(i + 1, shorter, i, shorter.length() - i)) {
+            return -1;
+        }
+        return diff > 0 ? addCost : removeCost;
+    }
+
+    @Override
+    public String toString() {
+        return (addRemove ? "change/add/remove" : "change") + (uniform ? ", unit costs" : ", weighted");
+    }
+}
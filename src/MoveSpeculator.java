@@ -0,0 +1,178 @@
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Precomputes on a background thread what the game needs right after a move, while
+ * the player is still typing.
+ * <p>
+ * At the start of each game one breadth-first search from the target word gives every
+ * word's distance to the target, so shortest ladders from any word are read off by
+ * walking downhill instead of searching. As the player types, every neighbor of the
+ * current word that starts with the typed prefix is warmed: its canonical neighbor set
+ * and the word list the GUI draws for it. When Enter is pressed, validation, the move
+ * animation and the redraw find their results already cached.
+ * <p>
+ * Speculation is advisory: a stale task (the player kept typing, or a new game began)
+ * stops early, and anything not yet cached is simply computed on demand.
+ */
+public class MoveSpeculator {
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "move-speculator");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile Dictionary dictionary;
+    private volatile int targetId = -1;
+    private volatile CompletableFuture<int[]> distances = CompletableFuture.completedFuture(null);
+    private volatile Map<String, Set<String>> neighborWords = new ConcurrentHashMap<>();
+    private volatile int inputVersion;
+
+    /**
+     * Forgets the previous game and starts computing distances to the new target.
+     *
+     * @param dictionary the dictionary snapshot of the game
+     * @param target     the target word
+     */
+    public void newGame(Dictionary dictionary, String target) {
+        this.dictionary = dictionary;
+        this.neighborWords = new ConcurrentHashMap<>();
+        this.inputVersion++;
+        int id = dictionary.idOf(target);
+        this.targetId = id;
+        this.distances = id < 0 ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.supplyAsync(() -> distancesTo(dictionary, id), worker);
+    }
+
+    /**
+     * Called whenever the typed input changes. Queues warming of every neighbor of
+     * {@code currentWord} that starts with {@code prefix}; an empty prefix cancels
+     * pending speculation.
+     *
+     * @param currentWord the word the player is on
+     * @param prefix      what the player has typed so far
+     */
+    public void onInput(String currentWord, String prefix) {
+        int version = ++inputVersion;
+        Dictionary d = dictionary;
+        if (d == null || prefix.isEmpty()) {
+            return;
+        }
+        Map<String, Set<String>> cache = neighborWords;
+        worker.execute(() -> {
+            for (Word candidate : d.wordFor(currentWord).getNeighbors()) {
+                if (version != inputVersion) {
+                    return; // superseded by newer input
+                }
+                if (candidate.getWord().startsWith(prefix)) {
+                    cache.computeIfAbsent(candidate.getWord(), w -> buildNeighborWords(d, w));
+                }
+            }
+        });
+    }
+
+    /**
+     * @param word a word of the current game's dictionary
+     * @return the words one letter away from it, as drawn by the GUI; read-only
+     */
+    public Set<String> neighborWords(String word) {
+        Dictionary d = dictionary;
+        return neighborWords.computeIfAbsent(word, w -> buildNeighborWords(d, w));
+    }
+
+    /**
+     * @param word a word
+     * @return its number of moves to the target, or -1 if it cannot reach the target
+     */
+    public int distanceToTarget(String word) {
+        int[] distance = distances.join();
+        int id = distance == null ? -1 : dictionary.idOf(word);
+        return id < 0 ? -1 : distance[id];
+    }
+
+    /**
+     * Reads a shortest ladder to the target off the precomputed distances.
+     *
+     * @param word the word to start from
+     * @return the ladder from {@code word} to the target, or {@code null} if there is none
+     */
+    public List<String> pathToTarget(String word) {
+        int[] distance = distances.join();
+        Dictionary d = dictionary;
+        int id = distance == null ? -1 : d.idOf(word);
+        if (id < 0 || distance[id] < 0) {
+            return null;
+        }
+        NeighborIndex index = d.getNeighborIndex();
+        List<String> path = new ArrayList<>(distance[id] + 1);
+        path.add(d.wordAt(id));
+        while (id != targetId) {
+            // Step to the first neighbor one move closer; one always exists
+            int e = index.firstEdge(id);
+            while (!d.contains(index.targetAt(e)) || distance[index.targetAt(e)] != distance[id] - 1) {
+                e++;
+            }
+            id = index.targetAt(e);
+            path.add(d.wordAt(id));
+        }
+        return path;
+    }
+
+    /**
+     * @param word a word
+     * @return true if {@code word} is the current game's target, i.e. ladders to it can
+     *         be answered from {@link #pathToTarget(String)}
+     */
+    public boolean isTarget(String word) {
+        Dictionary d = dictionary;
+        return d != null && targetId >= 0 && d.idOf(word) == targetId;
+    }
+
+    /**
+     * @param word a word of the current game's dictionary
+     * @return true if its neighbor words are already cached
+     */
+    boolean isWarmed(String word) {
+        return neighborWords.containsKey(word);
+    }
+
+    /**
+     * Waits until all queued speculation has run.
+     */
+    void awaitIdle() throws InterruptedException, ExecutionException {
+        worker.submit(() -> { }).get();
+    }
+
+    private static Set<String> buildNeighborWords(Dictionary dictionary, String word) {
+        Set<String> words = new HashSet<>();
+        for (Word w : dictionary.wordFor(word).getNeighbors()) {
+            words.add(w.getWord());
+        }
+        return Collections.unmodifiableSet(words);
+    }
+
+    /**
+     * Breadth-first search outward from the target. The ladder graph is undirected, so
+     * distance from the target is distance to it.
+     */
+    private static int[] distancesTo(Dictionary dictionary, int target) {
+        NeighborIndex index = dictionary.getNeighborIndex();
+        int[] distance = new int[dictionary.size()];
+        Arrays.fill(distance, -1);
+        distance[target] = 0;
+        SearchContext search = SearchContext.forThread();
+        search.begin(dictionary.size());
+        search.visit(target, -1);
+        while (search.hasNext()) {
+            int word = search.next();
+            for (int e = index.firstEdge(word), end = index.endEdge(word); e < end; e++) {
+                int next = index.targetAt(e);
+                if (dictionary.contains(next) && search.visit(next, word)) {
+                    distance[next] = distance[word] + 1;
+                }
+            }
+        }
+        return distance;
+    }
+}
@@ -0,0 +1,242 @@
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * Precomputed adjacency lists of the word ladder graph, keyed by dictionary word id.
+ * <p>
+ * Two words are neighbors when they have the same length and differ in exactly one
+ * position. The graph is stored in compressed sparse row form: the neighbors of word
+ * {@code id} are {@code targets[offsets[id]]} up to (but excluding)
+ * {@code targets[offsets[id + 1]]}, sorted by id. The index is immutable once built.
+ */
+public final class NeighborIndex {
+
+    private final int[] offsets;
+    private final int[] targets;
+
+    private NeighborIndex(int[] offsets, int[] targets) {
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * Builds the index by grouping words under their wildcard patterns
+     * (e.g. "c*ld" collects "cold", "cord"... for position 1). Every pair of words
+     * sharing a pattern is an edge. A word only joins the pattern of a position holding
+     * a letter from 'a' to 'z', the letters a move may change, so the edges are exactly
+     * those of {@link #fromWildcardQueries(WordStore)}.
+     *
+     * @param wordsById the dictionary words, indexed by id
+     * @return the neighbor index
+     */
+    static NeighborIndex fromPatternBuckets(String[] wordsById) {
+        int n = wordsById.length;
+        Map<String, Integer> bucketOf = new HashMap<>();
+        List<int[]> bucketList = new ArrayList<>();
+        int[] bucketSizes = new int[16];
+
+        for (int id = 0; id < n; id++) {
+            char[] chars = wordsById[id].toCharArray();
+            for (int i = 0; i < chars.length; i++) {
+                char original = chars[i];
+                if (!isMoveLetter(original)) {
+                    continue;
+                }
+                chars[i] = '*';
+                String pattern = new String(chars);
+                chars[i] = original;
+
+                Integer bucket = bucketOf.get(pattern);
+                if (bucket == null) {
+                    bucket = bucketList.size();
+                    bucketOf.put(pattern, bucket);
+                    bucketList.add(new int[2]);
+                    if (bucket == bucketSizes.length) {
+                        bucketSizes = Arrays.copyOf(bucketSizes, bucketSizes.length * 2);
+                    }
+                }
+                int[] members = bucketList.get(bucket);
+                if (bucketSizes[bucket] == members.length) {
+                    members = Arrays.copyOf(members, members.length * 2);
+                    bucketList.set(bucket, members);
+                }
+                members[bucketSizes[bucket]++] = id;
+            }
+        }
+
+        // Each member of a bucket of size k gains k - 1 neighbors.
+        int[] degree = new int[n];
+        for (int b = 0; b < bucketList.size(); b++) {
+            int size = bucketSizes[b];
+            int[] members = bucketList.get(b);
+            for (int i = 0; i < size; i++) {
+                degree[members[i]] += size - 1;
+            }
+        }
+
+        int[] offsets = new int[n + 1];
+        for (int id = 0; id < n; id++) {
+            offsets[id + 1] = offsets[id] + degree[id];
+        }
+        int[] targets = new int[offsets[n]];
+
+        int[] fill = Arrays.copyOf(offsets, n);
+        for (int b = 0; b < bucketList.size(); b++) {
+            int size = bucketSizes[b];
+            int[] members = bucketList.get(b);
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    if (i != j) {
+                        targets[fill[members[i]]++] = members[j];
+                    }
+                }
+            }
+        }
+        for (int id = 0; id < n; id++) {
+            Arrays.sort(targets, offsets[id], offsets[id + 1]);
+        }
+        return new NeighborIndex(offsets, targets);
+    }
+
+    /**
+     * Builds the index from one wildcard query per word and position. This suits stores
+     * that answer wildcard queries directly, such as {@link Dawg}, and never needs every
+     * word as a String at once.
+     *
+     * @param store the word store to index
+     * @return the neighbor index
+     */
+    static NeighborIndex fromWildcardQueries(WordStore store) {
+        int n = store.size();
+        int[] offsets = new int[n + 1];
+        int[][] edges = {new int[Math.max(16, n * 4)]};
+        int[] count = {0};
+
+        for (int id = 0; id < n; id++) {
+            char[] chars = store.wordAt(id).toCharArray();
+            int self = id;
+            for (int i = 0; i < chars.length; i++) {
+                if (!isMoveLetter(chars[i])) {
+                    continue; // e.g. digits, apostrophes and accents are never changed
+                }
+                store.forEachMatch(chars, i, match -> {
+                    if (match != self) {
+                        if (count[0] == edges[0].length) {
+                            edges[0] = Arrays.copyOf(edges[0], edges[0].length * 2);
+                        }
+                        edges[0][count[0]++] = match;
+                    }
+                });
+            }
+            offsets[id + 1] = count[0];
+            Arrays.sort(edges[0], offsets[id], offsets[id + 1]);
+        }
+        return new NeighborIndex(offsets, Arrays.copyOf(edges[0], count[0]));
+    }
+
+    /**
+     * @param c a character of a word
+     * @return whether a move may change it: only letters from 'a' to 'z' can be changed,
+     *         into one another
+     */
+    static boolean isMoveLetter(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    /**
+     * Writes the index for {@link EngineSnapshot}.
+     *
+     * @param out the snapshot stream
+     * @throws IOException if writing fails
+     */
+    void writeTo(DataOutputStream out) throws IOException {
+        EngineSnapshot.writeInts(out, offsets);
+        EngineSnapshot.writeInts(out, targets);
+    }
+
+    /**
+     * Reads an index written by {@link #writeTo(DataOutputStream)}.
+     *
+     * @param in the snapshot contents, positioned at the index
+     * @return the index
+     */
+    static NeighborIndex readFrom(ByteBuffer in) {
+        int[] offsets = EngineSnapshot.readInts(in);
+        int[] targets = EngineSnapshot.readInts(in);
+        if (offsets.length == 0 || offsets[offsets.length - 1] != targets.length) {
+            throw new IllegalArgumentException("Inconsistent neighbor index");
+        }
+        return new NeighborIndex(offsets, targets);
+    }
+
+    /**
+     * @return the number of words (vertices) covered by this index
+     */
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * @param id a word id
+     * @return the number of neighbors of the word
+     */
+    public int degree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * @param id a word id
+     * @return a copy of the neighbor ids of the word, in ascending order
+     */
+    public int[] neighbors(int id) {
+        return Arrays.copyOfRange(targets, offsets[id], offsets[id + 1]);
+    }
+
+    /**
+     * @param id    a word id
+     * @param other another word id
+     * @return true if the two words are neighbors; a binary search over the sorted row
+     */
+    public boolean isNeighbor(int id, int other) {
+        return Arrays.binarySearch(targets, offsets[id], offsets[id + 1], other) >= 0;
+    }
+
+    /**
+     * Calls {@code action} with the id of every neighbor of the word, without allocating.
+     *
+     * @param id     a word id
+     * @param action the callback receiving each neighbor id
+     */
+    public void forEachNeighbor(int id, IntConsumer action) {
+        for (int i = offsets[id], end = offsets[id + 1]; i < end; i++) {
+            action.accept(targets[i]);
+        }
+    }
+
+    /**
+     * @param id a word id
+     * @return the position in {@link #targetAt(int)} where the word's neighbors start
+     */
+    public int firstEdge(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * @param id a word id
+     * @return the position in {@link #targetAt(int)} just past the word's last neighbor
+     */
+    public int endEdge(int id) {
+        return offsets[id + 1];
+    }
+
+    /**
+     * @param edge an edge position between {@link #firstEdge(int)} and {@link #endEdge(int)}
+     * @return the neighbor id stored at that position
+     */
+    public int targetAt(int edge) {
+        return targets[edge];
+    }
+}
@@ -5,10 +5,22 @@ public class Player {
     private Word currentWord;
     private Dictionary dictionary;
     private Set<Word> visitedWords;
+    private final LadderRules rules;
+    private int totalCost;
 
     public Player (String startWord, Dictionary dictionary) {
+        this(startWord, dictionary, LadderRules.CLASSIC);
+    }
+
+    /**
+     * @param startWord  the word the player starts on
+     * @param dictionary the dictionary moves are checked against
+     * @param rules      the moves allowed and their costs
+     */
+    public Player(String startWord, Dictionary dictionary, LadderRules rules) {
         this.dictionary = dictionary;
-        this.currentWord = new Word(startWord, dictionary);
+        this.rules = rules;
+        this.currentWord = dictionary.wordFor(startWord);
         this.visitedWords = new HashSet<>();
         this.visitedWords.add(this.currentWord);
     }
@@ -22,7 +34,8 @@ public class Player {
      * <p>
      * A move is considered valid if:
      * <ul>
-     *   <li>The {@code nextWord} differs from the current word by exactly one letter</li>
+     *   <li>The {@code nextWord} differs from the current word by exactly one letter,
+     *       or, if the rules allow it, by one added or removed letter</li>
      *   <li>The {@code nextWord} exists in the dictionary</li>
      *   <li>The {@code nextWord} has not been visited before</li>
      * </ul>
@@ -33,10 +46,11 @@ public class Player {
      * @return {@code true} if the move was valid and successful, {@code false} otherwise.
      */
     public boolean makeMove(String nextWord) {
-        Set<Word> neighbors = currentWord.getNeighbors();
+        Set<Word> neighbors = currentWord.getNeighbors(rules);
 
-        Word nextWordObj = new Word(nextWord, dictionary);
+        Word nextWordObj = dictionary.wordFor(nextWord);
         if (neighbors.contains(nextWordObj) && !visitedWords.contains(nextWordObj)) {
+            totalCost += rules.moveCost(currentWord.getWord(), nextWordObj.getWord());
             this.currentWord = nextWordObj;
             visitedWords.add(nextWordObj);
             return true;
@@ -44,6 +58,32 @@ public class Player {
         return false;
     }
 
+    /**
+     * @return the dictionary ids of the words visited so far, as a new exclusion set for
+     *         {@link SearchContext} and {@link RouteTracker}
+     */
+    public BitSet getVisitedIds() {
+        BitSet ids = new BitSet(dictionary.size());
+        for (Word word : visitedWords) {
+            int id = word.getId() >= 0 ? word.getId() : dictionary.idOf(word.getWord());
+            if (id >= 0) {
+                ids.set(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * @return the summed cost of the accepted moves; the move count under classic rules
+     */
+    public int getTotalCost() {
+        return totalCost;
+    }
+
+    public LadderRules getRules() {
+        return rules;
+    }
+
     // Method to check if the player has reached the goal word
     public boolean hasReachedGoal(String goalWord) {
         return currentWord.getWord().equals(goalWord);
@@ -51,6 +91,6 @@ public class Player {
 
     // Method to get all the valid neighbors of the current word
     public Set<Word> getValidNeighbors() {
-        return currentWord.getNeighbors();
+        return currentWord.getNeighbors(rules);
     }
 }
@@ -0,0 +1,237 @@
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Deterministic puzzle generation: the same dictionary, seed and move count always give
+ * the same (start, end) pair, on every machine.
+ * <p>
+ * Determinism comes from two things: candidate start words are taken in dictionary id
+ * (alphabetical) order rather than {@code HashSet} order, and all randomness comes from
+ * a {@link SplittableRandom} seeded by the caller. The end word is drawn from the
+ * breadth-first layer at exactly the requested distance from the start, so the
+ * puzzle's optimal solution length is known without a separate search.
+ */
+public class PuzzleGenerator {
+
+    /** Word length used by the game. */
+    public static final int WORD_LENGTH = 4;
+
+    private static final int MAX_ATTEMPTS = 2000;
+
+    /**
+     * Difficulty levels and their optimal ladder lengths.
+     */
+    public enum Difficulty {
+        EASY(1, 2), MEDIUM(3, 5), HARD(6, 8);
+
+        private final int minMoves;
+        private final int maxMoves;
+
+        Difficulty(int minMoves, int maxMoves) {
+            this.minMoves = minMoves;
+            this.maxMoves = maxMoves;
+        }
+
+        public int getMinMoves() {
+            return minMoves;
+        }
+
+        public int getMaxMoves() {
+            return maxMoves;
+        }
+
+        /**
+         * @param moves an optimal move count
+         * @return the difficulty whose range contains it; HARD for anything longer
+         */
+        public static Difficulty forMoves(int moves) {
+            for (Difficulty d : values()) {
+                if (moves <= d.maxMoves) {
+                    return d;
+                }
+            }
+            return HARD;
+        }
+    }
+
+    /**
+     * A generated puzzle and the length of its shortest solution.
+     */
+    public static final class Puzzle {
+        private final String startWord;
+        private final String endWord;
+        private final int optimalMoves;
+
+        public Puzzle(String startWord, String endWord, int optimalMoves) {
+            this.startWord = startWord;
+            this.endWord = endWord;
+            this.optimalMoves = optimalMoves;
+        }
+
+        public String getStartWord() {
+            return startWord;
+        }
+
+        public String getEndWord() {
+            return endWord;
+        }
+
+        public int getOptimalMoves() {
+            return optimalMoves;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Puzzle)) {
+                return false;
+            }
+            Puzzle other = (Puzzle) obj;
+            return startWord.equals(other.startWord) && endWord.equals(other.endWord)
+                    && optimalMoves == other.optimalMoves;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(startWord, endWord, optimalMoves);
+        }
+
+        @Override
+        public String toString() {
+            return startWord + " -> " + endWord + " (" + optimalMoves + " moves)";
+        }
+    }
+
+    private final Dictionary dictionary;
+    private final int[] candidates;
+
+    public PuzzleGenerator(Dictionary dictionary) {
+        this.dictionary = dictionary;
+        int count = 0;
+        int[] ids = new int[dictionary.size()];
+        for (int id = 0; id < dictionary.size(); id++) {
+            if (dictionary.contains(id) && dictionary.wordAt(id).length() == WORD_LENGTH) {
+                ids[count++] = id;
+            }
+        }
+        this.candidates = Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * @return the dictionary puzzles are drawn from
+     */
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Generates the puzzle for a seed. If no start word yields a ladder of exactly
+     * {@code desiredMoves}, the longest one found is returned instead.
+     *
+     * @param seed         the seed; equal seeds give equal puzzles
+     * @param desiredMoves the optimal number of moves wanted
+     * @return the puzzle, or {@code null} if the dictionary has no ladders at all
+     */
+    public Puzzle generate(long seed, int desiredMoves) {
+        if (candidates.length == 0 || desiredMoves < 1) {
+            return null;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        NeighborIndex index = dictionary.getNeighborIndex();
+        SearchContext search = SearchContext.forThread();
+        Puzzle best = null;
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            int start = candidates[random.nextInt(candidates.length)];
+
+            // Breadth-first search from start, one layer at a time, up to the desired depth.
+            // Afterwards queue positions [layerStart, layerEnd) hold the words at distance depth.
+            search.begin(dictionary.size());
+            search.visit(start, -1);
+            int layerStart = 0;
+            int layerEnd = 1;
+            int depth = 0;
+            while (depth < desiredMoves) {
+                for (int i = layerStart; i < layerEnd; i++) {
+                    int word = search.queuedAt(i);
+                    for (int e = index.firstEdge(word), last = index.endEdge(word); e < last; e++) {
+                        if (dictionary.contains(index.targetAt(e))) {
+                            search.visit(index.targetAt(e), word);
+                        }
+                    }
+                }
+                if (search.queued() == layerEnd) {
+                    break; // no words further away
+                }
+                layerStart = layerEnd;
+                layerEnd = search.queued();
+                depth++;
+            }
+            if (depth == 0) {
+                continue; // isolated word
+            }
+
+            int end = search.queuedAt(layerStart + random.nextInt(layerEnd - layerStart));
+            Puzzle puzzle = new Puzzle(dictionary.wordAt(start), dictionary.wordAt(end), depth);
+            if (depth == desiredMoves) {
+                return puzzle;
+            }
+            if (best == null || depth > best.getOptimalMoves()) {
+                best = puzzle;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Generates the puzzle for a seed at a given difficulty. The move count within the
+     * difficulty's range is itself derived from the seed.
+     *
+     * @param seed       the seed
+     * @param difficulty the difficulty
+     * @return the puzzle, or {@code null} if the dictionary has no ladders at all
+     */
+    public Puzzle generate(long seed, Difficulty difficulty) {
+        int moves = difficulty.getMinMoves()
+                + new SplittableRandom(seed ^ 0x5DEECE66DL).nextInt(difficulty.getMaxMoves() - difficulty.getMinMoves() + 1);
+        return generate(seed, moves);
+    }
+
+    /**
+     * @param date       the calendar day
+     * @param difficulty the difficulty
+     * @return the puzzle of the day, identical on every node with the same dictionary
+     */
+    public Puzzle daily(LocalDate date, Difficulty difficulty) {
+        return generate(dailySeed(date, difficulty), difficulty);
+    }
+
+    /**
+     * @param date       the calendar day
+     * @param difficulty the difficulty
+     * @return the seed used for that day's puzzle
+     */
+    public static long dailySeed(LocalDate date, Difficulty difficulty) {
+        long h = date.toEpochDay() * 0x9E3779B97F4A7C15L + difficulty.ordinal();
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Computes the optimal ladder length between two words by breadth-first search,
+     * independently of how a puzzle was generated.
+     *
+     * @param startWord the start word
+     * @param endWord   the end word
+     * @return the number of moves on a shortest ladder, or -1 if there is none
+     */
+    public int shortestDistance(String startWord, String endWord) {
+        int start = dictionary.idOf(startWord);
+        int target = dictionary.idOf(endWord);
+        if (start < 0 || target < 0) {
+            return -1;
+        }
+        return SearchContext.forThread().shortestPath(dictionary, start, target);
+    }
+}
@@ -0,0 +1,287 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One race: every player gets the same puzzle and sees everyone's moves.
+ * <p>
+ * A room is a single-writer event loop. Joins and guesses from any thread go into a
+ * bounded inbox; whenever the inbox is non-empty the room schedules one drain on its
+ * executor, and at most one drain runs at a time, so all room state (the per-player
+ * {@link Player}s, ranks, listeners) is touched by one thread at a time without locks.
+ * A drain applies up to {@value #MAX_BATCH} events and hands the resulting updates to
+ * every listener as one shared, read-only batch, so fan-out costs one call per
+ * listener per batch rather than per move.
+ * <p>
+ * Memory is bounded per room: at most {@code maxPlayers} seats, at most
+ * {@code inboxCapacity} pending events (further guesses are refused), and no move history
+ * beyond each player's {@code Player} state.
+ */
+public class RaceRoom {
+
+    /** Largest number of events applied, and updates broadcast, per drain. */
+    static final int MAX_BATCH = 256;
+
+    /**
+     * Receives the room's updates. Called on the room's event loop, one batch at a time
+     * and in order; implementations should hand work off rather than block.
+     */
+    public interface Listener {
+        void onUpdates(RaceRoom room, List<Update> batch);
+    }
+
+    /**
+     * Something that happened in the room.
+     */
+    public static final class Update {
+
+        public enum Kind { JOINED, MOVED, REJECTED, FINISHED }
+
+        private final Kind kind;
+        private final int seat;
+        private final String player;
+        private final String word;
+        private final int moves;
+        private final int rank;
+        private final long submittedNanos;
+
+        Update(Kind kind, int seat, String player, String word, int moves, int rank, long submittedNanos) {
+            this.kind = kind;
+            this.seat = seat;
+            this.player = player;
+            this.word = word;
+            this.moves = moves;
+            this.rank = rank;
+            this.submittedNanos = submittedNanos;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public int getSeat() {
+            return seat;
+        }
+
+        public String getPlayer() {
+            return player;
+        }
+
+        /**
+         * @return the guessed word, or the player's current word for JOINED
+         */
+        public String getWord() {
+            return word;
+        }
+
+        /**
+         * @return the player's accepted moves so far
+         */
+        public int getMoves() {
+            return moves;
+        }
+
+        /**
+         * @return the finishing position for FINISHED (1 is the winner), otherwise 0
+         */
+        public int getRank() {
+            return rank;
+        }
+
+        /**
+         * @return {@code System.nanoTime()} when the event entered the room, for latency measurement
+         */
+        public long getSubmittedNanos() {
+            return submittedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return kind + " " + player + " " + word + " (" + moves + " moves" + (rank > 0 ? ", #" + rank : "") + ")";
+        }
+    }
+
+    private static final class Event {
+        final int seat;
+        final String text;       // the guess, or the player's name for a join
+        final Listener listener; // non-null for a join
+        final long submittedNanos = System.nanoTime();
+
+        Event(int seat, String text, Listener listener) {
+            this.seat = seat;
+            this.text = text;
+            this.listener = listener;
+        }
+    }
+
+    private static final class Seat {
+        final String name;
+        final Player player;
+        int moves;
+        int rank;
+
+        Seat(String name, Player player) {
+            this.name = name;
+            this.player = player;
+        }
+    }
+
+    private final String id;
+    private final Dictionary dictionary;
+    private final PuzzleGenerator.Puzzle puzzle;
+    private final Executor loop;
+    private final int maxPlayers;
+    private final int inboxCapacity;
+
+    private final ConcurrentLinkedQueue<Event> inbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicInteger nextSeat = new AtomicInteger();
+
+    // Owned by the event loop
+    private final Seat[] seats;
+    private final List<Listener> listeners = new ArrayList<>();
+    private int finished;
+
+    /**
+     * @param id            the room name
+     * @param dictionary    the dictionary moves are validated against
+     * @param puzzle        the shared puzzle
+     * @param loop          runs the room's drains; may be shared by many rooms
+     * @param maxPlayers    the number of seats
+     * @param inboxCapacity the most events that may wait to be applied
+     */
+    RaceRoom(String id, Dictionary dictionary, PuzzleGenerator.Puzzle puzzle, Executor loop,
+             int maxPlayers, int inboxCapacity) {
+        this.id = id;
+        this.dictionary = dictionary;
+        this.puzzle = puzzle;
+        this.loop = loop;
+        this.maxPlayers = maxPlayers;
+        this.inboxCapacity = inboxCapacity;
+        this.seats = new Seat[maxPlayers];
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public PuzzleGenerator.Puzzle getPuzzle() {
+        return puzzle;
+    }
+
+    /**
+     * Takes a seat. The listener first receives a JOINED update for everyone already
+     * seated, then every update from the room from then on.
+     *
+     * @param name     the player's name
+     * @param listener receives the room's updates
+     * @return the seat number used to submit guesses, or -1 if the room is full
+     */
+    public int join(String name, Listener listener) {
+        int seat = nextSeat.getAndIncrement();
+        if (seat >= maxPlayers) {
+            return -1;
+        }
+        pending.incrementAndGet(); // joins are never refused once a seat is granted
+        enqueue(new Event(seat, name, listener));
+        return seat;
+    }
+
+    /**
+     * Submits a guess for a seat.
+     *
+     * @param seat  a seat returned by {@link #join}
+     * @param guess the guessed word
+     * @return false if the inbox is full and the guess was dropped; the caller may retry
+     */
+    public boolean submit(int seat, String guess) {
+        if (pending.incrementAndGet() > inboxCapacity) {
+            pending.decrementAndGet();
+            return false;
+        }
+        enqueue(new Event(seat, guess.trim().toLowerCase(), null));
+        return true;
+    }
+
+    /**
+     * @return the number of events waiting to be applied
+     */
+    public int pendingEvents() {
+        return pending.get();
+    }
+
+    private void enqueue(Event event) {
+        inbox.add(event);
+        if (scheduled.compareAndSet(false, true)) {
+            loop.execute(this::drain);
+        }
+    }
+
+    /**
+     * Applies a batch of events and broadcasts the updates. Runs on the executor, never
+     * concurrently with itself.
+     */
+    private void drain() {
+        List<Update> batch = new ArrayList<>();
+        Event event;
+        for (int n = 0; n < MAX_BATCH && (event = inbox.poll()) != null; n++) {
+            pending.decrementAndGet();
+            apply(event, batch);
+        }
+        if (!batch.isEmpty()) {
+            List<Update> shared = Collections.unmodifiableList(batch);
+            for (Listener listener : listeners) {
+                listener.onUpdates(this, shared);
+            }
+        }
+        scheduled.set(false);
+        // An event may have arrived after the last poll but before the flag was cleared
+        if (!inbox.isEmpty() && scheduled.compareAndSet(false, true)) {
+            loop.execute(this::drain);
+        }
+    }
+
+    private void apply(Event event, List<Update> batch) {
+        if (event.listener != null) {
+            Seat joined = new Seat(event.text, new Player(puzzle.getStartWord(), dictionary));
+            seats[event.seat] = joined;
+            List<Update> roster = new ArrayList<>();
+            for (int i = 0; i < seats.length; i++) {
+                Seat s = seats[i];
+                if (s != null && i != event.seat) {
+                    roster.add(new Update(Update.Kind.JOINED, i, s.name, s.player.getCurrentWord(),
+                            s.moves, s.rank, event.submittedNanos));
+                }
+            }
+            if (!roster.isEmpty()) {
+                event.listener.onUpdates(this, Collections.unmodifiableList(roster));
+            }
+            listeners.add(event.listener);
+            batch.add(new Update(Update.Kind.JOINED, event.seat, joined.name, puzzle.getStartWord(),
+                    0, 0, event.submittedNanos));
+            return;
+        }
+
+        Seat seat = event.seat >= 0 && event.seat < seats.length ? seats[event.seat] : null;
+        if (seat == null || seat.rank > 0) {
+            return; // unknown seat, or already finished
+        }
+        if (!seat.player.makeMove(event.text)) {
+            batch.add(new Update(Update.Kind.REJECTED, event.seat, seat.name, event.text,
+                    seat.moves, 0, event.submittedNanos));
+            return;
+        }
+        seat.moves++;
+        if (seat.player.hasReachedGoal(puzzle.getEndWord())) {
+            seat.rank = ++finished;
+            batch.add(new Update(Update.Kind.FINISHED, event.seat, seat.name, event.text,
+                    seat.moves, seat.rank, event.submittedNanos));
+        } else {
+            batch.add(new Update(Update.Kind.MOVED, event.seat, seat.name, event.text,
+                    seat.moves, 0, event.submittedNanos));
+        }
+    }
+}
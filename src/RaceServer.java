@@ -0,0 +1,89 @@
+import java.io.Closeable;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hosts race rooms in one JVM.
+ * <p>
+ * Rooms do not get a thread each: a small fixed pool of event-loop threads runs whichever
+ * rooms have pending events, and each room guarantees that only one of its drains runs
+ * at a time (see {@link RaceRoom}). Thousands of mostly idle rooms therefore cost memory
+ * only, not threads. Players talk to rooms in-process through {@link RaceRoom#join} and
+ * {@link RaceRoom#submit}; a network front end would call the same two methods.
+ */
+public class RaceServer implements Closeable {
+
+    private final Dictionary dictionary;
+    private final PuzzleGenerator generator;
+    private final ExecutorService loops;
+    private final ConcurrentHashMap<String, RaceRoom> rooms = new ConcurrentHashMap<>();
+
+    /**
+     * @param dictionary  the dictionary races are played in
+     * @param loopThreads the number of event-loop threads shared by all rooms
+     */
+    public RaceServer(Dictionary dictionary, int loopThreads) {
+        this.dictionary = dictionary;
+        this.generator = new PuzzleGenerator(dictionary);
+        AtomicInteger count = new AtomicInteger();
+        this.loops = Executors.newFixedThreadPool(loopThreads, r -> {
+            Thread t = new Thread(r, "race-loop-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Opens a room on a seeded puzzle, so the race can be replayed or compared later.
+     *
+     * @param id            the room name; must be unused
+     * @param seed          the puzzle seed
+     * @param desiredMoves  the optimal ladder length
+     * @param maxPlayers    the number of seats
+     * @param inboxCapacity the most guesses that may wait in the room
+     * @return the room, or {@code null} if the id is taken or no puzzle could be generated
+     */
+    public RaceRoom createRoom(String id, long seed, int desiredMoves, int maxPlayers, int inboxCapacity) {
+        PuzzleGenerator.Puzzle puzzle = generator.generate(seed, desiredMoves);
+        if (puzzle == null) {
+            return null;
+        }
+        RaceRoom room = new RaceRoom(id, dictionary, puzzle, loops, maxPlayers, inboxCapacity);
+        return rooms.putIfAbsent(id, room) == null ? room : null;
+    }
+
+    public RaceRoom getRoom(String id) {
+        return rooms.get(id);
+    }
+
+    /**
+     * Forgets a room. Events already queued are still applied.
+     *
+     * @param id the room name
+     */
+    public void closeRoom(String id) {
+        rooms.remove(id);
+    }
+
+    public int roomCount() {
+        return rooms.size();
+    }
+
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Stops the event loops after the queued drains have run.
+     */
+    @Override
+    public void close() {
+        loops.shutdown();
+        try {
+            loops.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rooms.clear();
+    }
+}
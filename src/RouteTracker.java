@@ -0,0 +1,170 @@
+import java.util.*;
+
+/**
+ * Follows a game move by move and keeps a ladder from the current word to the target
+ * that avoids every word already visited, since {@link Player} forbids revisiting. It
+ * answers "is this still solvable?" after every move, for dead-end warnings, and gives
+ * hints that respect the visited words.
+ * <p>
+ * Re-checks are incremental. Visited words form an exclusion bitset over word ids, and
+ * the tracker remembers its last route. A move along the route just drops its first
+ * word, since the rest is still a valid (and still shortest) ladder. Any other move
+ * searches outwards from the new word only until it meets the remaining route, which is
+ * usually a few words away, and splices the two. Only when no word of the route can be
+ * reached is the position a dead end. A full shortest-ladder search runs only when a
+ * hint is asked for after a detour.
+ * <p>
+ * Not thread-safe; searches run in the calling thread's {@link SearchContext}.
+ */
+public final class RouteTracker {
+
+    private final Dictionary dictionary;
+    private final NeighborIndex index;
+    private final int target;
+    private final BitSet visited;
+    private final BitSet onRoute = new BitSet();
+
+    private int current;
+    private int[] route;    // route[routeStart] is the current word, the last entry the target
+    private int routeStart;
+    private boolean routeIsShortest;
+    private int lastExplored;
+
+    /**
+     * @param dictionary the dictionary the game is played in
+     * @param current    the player's current word
+     * @param target     the target word
+     * @param excluded   ids of the words visited so far, including the current one; copied
+     */
+    public RouteTracker(Dictionary dictionary, String current, String target, BitSet excluded) {
+        this.dictionary = dictionary;
+        this.index = dictionary.getNeighborIndex();
+        this.current = dictionary.idOf(current);
+        this.target = dictionary.idOf(target);
+        this.visited = (BitSet) excluded.clone();
+        if (dictionary.isSubset()) {
+            this.visited.or(dictionary.excludedIds()); // never route through words outside the subset
+        }
+        if (this.current >= 0 && this.target >= 0) {
+            this.visited.set(this.current);
+            solve();
+        }
+    }
+
+    /**
+     * Records an accepted move and re-checks whether the target can still be reached.
+     *
+     * @param word the word the player moved to
+     * @return true if the target is still reachable without revisiting a word
+     */
+    public boolean moveTo(String word) {
+        int id = dictionary.idOf(word);
+        if (id < 0) {
+            route = null;
+            return false;
+        }
+        current = id;
+        visited.set(id);
+        lastExplored = 0;
+        if (route == null) {
+            return false; // exclusions only grow, so a dead end stays one
+        }
+        if (routeStart + 1 < route.length && route[routeStart + 1] == id) {
+            routeStart++; // followed the route
+            return true;
+        }
+        reconnect();
+        return route != null;
+    }
+
+    /**
+     * @return true if the target can still be reached from the current word
+     */
+    public boolean isSolvable() {
+        return route != null;
+    }
+
+    /**
+     * @return the words of a shortest ladder from the current word to the target through
+     *         unvisited words, current word first, or {@code null} at a dead end
+     */
+    public List<String> shortestRemainingPath() {
+        if (route == null) {
+            return null;
+        }
+        if (!routeIsShortest) {
+            solve();
+        }
+        List<String> words = new ArrayList<>(route.length - routeStart);
+        for (int i = routeStart; i < route.length; i++) {
+            words.add(dictionary.wordAt(route[i]));
+        }
+        return words;
+    }
+
+    /**
+     * @return the next word of a shortest remaining ladder, or {@code null} at a dead end
+     *         or once the target is reached
+     */
+    public String hint() {
+        List<String> path = shortestRemainingPath();
+        return path == null || path.size() < 2 ? null : path.get(1);
+    }
+
+    /**
+     * @return the number of words the last re-check or hint search reached; 0 when the
+     *         move followed the known route
+     */
+    public int lastExplored() {
+        return lastExplored;
+    }
+
+    /**
+     * Replaces the route with a shortest one from the current word.
+     */
+    private void solve() {
+        SearchContext search = SearchContext.forThread();
+        int moves = search.shortestPath(index, current, target, visited);
+        lastExplored = search.queued();
+        if (moves < 0) {
+            route = null;
+            return;
+        }
+        route = new int[moves + 1];
+        search.copyPath(target, route);
+        routeStart = 0;
+        routeIsShortest = true;
+    }
+
+    /**
+     * Finds the nearest word of the remaining route from the current word and joins the
+     * ladder to it with the rest of the route.
+     */
+    private void reconnect() {
+        for (int i = routeStart + 1; i < route.length; i++) {
+            onRoute.set(route[i]);
+        }
+        SearchContext search = SearchContext.forThread();
+        int joint = search.reachAny(index, current, onRoute, visited);
+        lastExplored = search.queued();
+        for (int i = routeStart + 1; i < route.length; i++) {
+            onRoute.clear(route[i]);
+        }
+        if (joint < 0) {
+            route = null;
+            return;
+        }
+
+        int rest = routeStart + 1;
+        while (route[rest] != joint) {
+            rest++;
+        }
+        int prefix = search.pathLength(joint);
+        int[] spliced = new int[prefix + route.length - rest - 1];
+        search.copyPath(joint, spliced);
+        System.arraycopy(route, rest + 1, spliced, prefix, route.length - rest - 1);
+        route = spliced;
+        routeStart = 0;
+        routeIsShortest = false;
+    }
+}
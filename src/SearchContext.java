@@ -0,0 +1,241 @@
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Reusable working memory for breadth-first searches over a {@link NeighborIndex}.
+ * <p>
+ * A context holds a preallocated int queue, a parent array and a visited array. Visited
+ * marks are generation stamps: a word counts as visited only if its stamp equals the
+ * current generation, so starting a new search is a counter increment instead of
+ * clearing the arrays. Once the arrays are large enough, searches allocate nothing.
+ * <p>
+ * A context is not thread-safe. Use {@link #forThread()} to get the calling thread's
+ * own context, which is reused by every search that thread runs.
+ */
+public final class SearchContext {
+
+    private static final ThreadLocal<SearchContext> POOL = ThreadLocal.withInitial(SearchContext::new);
+
+    private int[] queue = new int[0];
+    private int[] parent = new int[0];
+    private int[] stamp = new int[0];
+    private int generation;
+    private int head;
+    private int tail;
+
+    /**
+     * @return the calling thread's context
+     */
+    public static SearchContext forThread() {
+        return POOL.get();
+    }
+
+    /**
+     * Starts a new search over {@code size} words, forgetting all previous visits.
+     * The arrays only grow, so a context sized for the largest dictionary it has seen
+     * allocates nothing here.
+     *
+     * @param size the number of word ids in the graph
+     */
+    public void begin(int size) {
+        if (stamp.length < size) {
+            queue = new int[size];
+            parent = new int[size];
+            stamp = new int[size];
+            generation = 0;
+        }
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0); // stamps would wrap; start over once every 2^31 searches
+            generation = 1;
+        }
+        head = 0;
+        tail = 0;
+    }
+
+    /**
+     * Marks a word visited and appends it to the queue, unless it was already visited
+     * in this search.
+     *
+     * @param id   the word id
+     * @param from the id it was reached from, or -1 for a source
+     * @return true if the word had not been visited yet
+     */
+    public boolean visit(int id, int from) {
+        if (stamp[id] == generation) {
+            return false;
+        }
+        stamp[id] = generation;
+        parent[id] = from;
+        queue[tail++] = id;
+        return true;
+    }
+
+    /**
+     * @param id the word id
+     * @return true if the word was visited in the current search
+     */
+    public boolean isVisited(int id) {
+        return stamp[id] == generation;
+    }
+
+    /**
+     * @param id a visited word id
+     * @return the id it was reached from, or -1 for a source
+     */
+    public int parentOf(int id) {
+        return parent[id];
+    }
+
+    public boolean hasNext() {
+        return head < tail;
+    }
+
+    /**
+     * @return the next queued word id
+     */
+    public int next() {
+        return queue[head++];
+    }
+
+    /**
+     * @return the number of words queued so far; together with {@link #queuedAt(int)}
+     *         this lets callers walk the queue one breadth-first layer at a time
+     */
+    public int queued() {
+        return tail;
+    }
+
+    /**
+     * @param position a queue position below {@link #queued()}
+     * @return the word id at that position
+     */
+    public int queuedAt(int position) {
+        return queue[position];
+    }
+
+    /**
+     * Runs a breadth-first search from {@code start} until {@code target} is reached.
+     *
+     * @param index  the neighbor graph
+     * @param start  the start word id
+     * @param target the target word id
+     * @return the number of moves on a shortest ladder, or -1 if there is none;
+     *         on success the ladder can be read back with {@link #copyPath(int, int[])}
+     */
+    public int shortestPath(NeighborIndex index, int start, int target) {
+        begin(index.size());
+        visit(start, -1);
+        while (hasNext()) {
+            int word = next();
+            if (word == target) {
+                return pathLength(target) - 1;
+            }
+            for (int e = index.firstEdge(word), end = index.endEdge(word); e < end; e++) {
+                visit(index.targetAt(e), word);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Runs a breadth-first search over a dictionary's words. For a subset dictionary the
+     * search stays inside the subset, on the base's neighbor index.
+     *
+     * @param dictionary the dictionary
+     * @param start      the start word id
+     * @param target     the target word id
+     * @return the number of moves on a shortest ladder, or -1 if there is none
+     */
+    public int shortestPath(Dictionary dictionary, int start, int target) {
+        BitSet excluded = dictionary.excludedIds();
+        return excluded == null
+                ? shortestPath(dictionary.getNeighborIndex(), start, target)
+                : shortestPath(dictionary.getNeighborIndex(), start, target, excluded);
+    }
+
+    /**
+     * Like {@link #shortestPath(NeighborIndex, int, int)}, but never steps onto an
+     * excluded word, such as one the player has already visited. The start word may be
+     * excluded itself. Only the words actually reached are touched, so the cost grows
+     * with the explored region, not with the dictionary.
+     *
+     * @param index    the neighbor graph
+     * @param start    the start word id
+     * @param target   the target word id
+     * @param excluded ids of the words the ladder may not pass through
+     * @return the number of moves on a shortest such ladder, or -1 if there is none
+     */
+    public int shortestPath(NeighborIndex index, int start, int target, BitSet excluded) {
+        begin(index.size());
+        visit(start, -1);
+        while (hasNext()) {
+            int word = next();
+            if (word == target) {
+                return pathLength(target) - 1;
+            }
+            for (int e = index.firstEdge(word), end = index.endEdge(word); e < end; e++) {
+                int next = index.targetAt(e);
+                if (stamp[next] != generation && !excluded.get(next)) {
+                    visit(next, word);
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Searches outwards from {@code start}, avoiding excluded words, until any goal word
+     * is reached. Useful for reconnecting to a known route instead of solving afresh.
+     *
+     * @param index    the neighbor graph
+     * @param start    the start word id
+     * @param goals    ids of the words to look for
+     * @param excluded ids of the words the ladder may not pass through
+     * @return the nearest goal reached, or -1 if none is reachable; the ladder to it
+     *         can be read back with {@link #copyPath(int, int[])}
+     */
+    public int reachAny(NeighborIndex index, int start, BitSet goals, BitSet excluded) {
+        begin(index.size());
+        visit(start, -1);
+        if (goals.get(start)) {
+            return start;
+        }
+        while (hasNext()) {
+            int word = next();
+            for (int e = index.firstEdge(word), end = index.endEdge(word); e < end; e++) {
+                int next = index.targetAt(e);
+                if (!excluded.get(next) && visit(next, word) && goals.get(next)) {
+                    return next; // goals are checked as they are queued, so the search stops a layer early
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Writes the ladder ending at a visited word into {@code out}, source first.
+     *
+     * @param target a visited word id
+     * @param out    receives the ids; must hold at least {@code pathLength(target)} entries
+     * @return the number of ids written
+     */
+    public int copyPath(int target, int[] out) {
+        int length = pathLength(target);
+        for (int i = length - 1, id = target; i >= 0; i--, id = parent[id]) {
+            out[i] = id;
+        }
+        return length;
+    }
+
+    /**
+     * @param target a visited word id
+     * @return the number of words on the ladder from its source to {@code target}
+     */
+    public int pathLength(int target) {
+        int length = 0;
+        for (int id = target; id >= 0; id = parent[id]) {
+            length++;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,302 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * A persistent cache of solved ladders, shared across runs.
+ * <p>
+ * The file starts with a header holding the {@link Dictionary#checksum()} it was written
+ * against, followed by append-only records of the form {@code [int count][int id]...},
+ * one per solved path, in dictionary word ids. On first use the existing file is
+ * memory-mapped and indexed by its (start, end) pair; paths are only decoded on a hit.
+ * If the header does not match the current dictionary (the word file changed) the cache
+ * is discarded and started afresh. New solves are buffered and written with one
+ * {@code fsync} per batch; a torn or damaged record left by a crash is dropped on the
+ * next load, together with everything written after it.
+ * <p>
+ * The cache is best-effort: if the file cannot be used, errors are reported once and
+ * the cache simply behaves as empty.
+ */
+public class SolutionCache implements Closeable {
+
+    private static final int MAGIC = 0x574C5343; // "WLSC"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 16;
+    private static final int MAX_PATH_WORDS = 1 << 16;
+
+    /** Number of appended solves that triggers a write and fsync. */
+    private static final int BATCH_SIZE = 32;
+
+    private final Path file;
+    private final Dictionary dictionary;
+
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private final Map<Long, Integer> mappedIndex = new HashMap<>();
+    private final Map<Long, int[]> appended = new HashMap<>();
+    private final ByteBuffer pending = ByteBuffer.allocate(64 * 1024);
+    private int pendingCount;
+    private long end;
+    private boolean loaded;
+    private boolean disabled;
+
+    /**
+     * Creates a cache backed by {@code file} for solves in {@code dictionary}.
+     * Nothing is read until the first lookup or insertion.
+     *
+     * @param file       the cache file; created if missing
+     * @param dictionary the dictionary the cached paths belong to
+     */
+    public SolutionCache(Path file, Dictionary dictionary) {
+        this.file = file;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * @return the dictionary this cache is keyed by
+     */
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Looks up a cached shortest path. A path cached in the opposite direction is
+     * returned reversed.
+     *
+     * @param start the starting word
+     * @param end   the target word
+     * @return the cached path from start to end, or {@code null} if none is cached
+     */
+    public synchronized List<String> get(String start, String end) {
+        if (!ensureLoaded()) {
+            return null;
+        }
+        int startId = dictionary.idOf(start);
+        int endId = dictionary.idOf(end);
+        if (startId < 0 || endId < 0) {
+            return null;
+        }
+        int[] ids = lookup(key(startId, endId));
+        if (ids != null) {
+            return toWords(ids, false);
+        }
+        ids = lookup(key(endId, startId));
+        return ids == null ? null : toWords(ids, true);
+    }
+
+    /**
+     * Records a solved path. Paths containing words outside the dictionary are ignored.
+     *
+     * @param path the shortest path, from start word to end word
+     */
+    public synchronized void put(List<String> path) {
+        if (path == null || path.isEmpty() || path.size() > MAX_PATH_WORDS || !ensureLoaded()) {
+            return;
+        }
+        int[] ids = new int[path.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = dictionary.idOf(path.get(i));
+            if (ids[i] < 0) {
+                return;
+            }
+        }
+        long key = key(ids[0], ids[ids.length - 1]);
+        if (lookup(key) != null) {
+            return;
+        }
+        appended.put(key, ids);
+
+        int recordBytes = 4 + 4 * ids.length;
+        if (pending.remaining() < recordBytes) {
+            flush();
+        }
+        ByteBuffer target = recordBytes <= pending.capacity() ? pending : ByteBuffer.allocate(recordBytes);
+        target.putInt(ids.length);
+        for (int id : ids) {
+            target.putInt(id);
+        }
+        if (target != pending) {
+            write(target);
+        } else if (++pendingCount >= BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes any buffered solves to disk and forces them to stable storage.
+     */
+    public synchronized void flush() {
+        if (pending.position() == 0 || disabled) {
+            return;
+        }
+        write(pending);
+        pending.clear();
+        pendingCount = 0;
+    }
+
+    @Override
+    public synchronized void close() {
+        flush();
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.out.println("Error closing the solution cache: " + e.getMessage());
+            }
+            channel = null;
+        }
+        mapped = null;
+        loaded = false;
+        mappedIndex.clear();
+        appended.clear();
+    }
+
+    private void write(ByteBuffer buffer) {
+        try {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                end += channel.write(buffer, end);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            disable("Error writing the solution cache: " + e.getMessage());
+        }
+    }
+
+    private int[] lookup(long key) {
+        int[] ids = appended.get(key);
+        if (ids != null) {
+            return ids;
+        }
+        Integer offset = mappedIndex.get(key);
+        if (offset == null) {
+            return null;
+        }
+        int count = mapped.getInt(offset);
+        ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = mapped.getInt(offset + 4 + 4 * i);
+        }
+        return ids;
+    }
+
+    private List<String> toWords(int[] ids, boolean reversed) {
+        List<String> words = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            words.add(dictionary.wordAt(id));
+        }
+        if (reversed) {
+            Collections.reverse(words);
+        }
+        return words;
+    }
+
+    private static long key(int startId, int endId) {
+        return ((long) startId << 32) | (endId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Opens and indexes the cache file on first use.
+     *
+     * @return false if the cache is unusable
+     */
+    private boolean ensureLoaded() {
+        if (loaded || disabled) {
+            return !disabled;
+        }
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("cache file too large: " + size + " bytes");
+            }
+            if (hasValidHeader(size)) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                end = indexRecords((int) size);
+                if (end < size) {
+                    channel.truncate(end); // drop a torn record from an interrupted write
+                }
+            } else {
+                resetFile();
+            }
+            loaded = true;
+        } catch (IOException e) {
+            disable("Error opening the solution cache: " + e.getMessage());
+        }
+        return !disabled;
+    }
+
+    private boolean hasValidHeader(long size) throws IOException {
+        if (size < HEADER_BYTES) {
+            return false;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // keep reading until the header is complete
+        }
+        header.flip();
+        return header.getInt() == MAGIC && header.getInt() == VERSION
+                && header.getLong() == dictionary.checksum();
+    }
+
+    /**
+     * Scans the mapped records and indexes them by (start, end).
+     *
+     * @return the offset just past the last complete, valid record
+     */
+    private long indexRecords(int size) {
+        int offset = HEADER_BYTES;
+        int words = dictionary.size();
+        while (offset + 4 <= size) {
+            int count = mapped.getInt(offset);
+            if (count <= 0 || count > MAX_PATH_WORDS || offset + 4 + 4L * count > size) {
+                break;
+            }
+            if (!validIds(offset + 4, count, words)) {
+                break; // a damaged record: drop it and everything after it
+            }
+            mappedIndex.put(key(mapped.getInt(offset + 4), mapped.getInt(offset + 4 * count)), offset);
+            offset += 4 + 4 * count;
+        }
+        return offset;
+    }
+
+    /**
+     * @return whether all {@code count} ids starting at {@code offset} are word ids, so a
+     *         lookup can decode the record without checking again
+     */
+    private boolean validIds(int offset, int count, int words) {
+        for (int i = 0; i < count; i++) {
+            int id = mapped.getInt(offset + 4 * i);
+            if (id < 0 || id >= words) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void resetFile() throws IOException {
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putLong(dictionary.checksum());
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        channel.force(true);
+        mapped = null;
+        mappedIndex.clear();
+        end = HEADER_BYTES;
+    }
+
+    private void disable(String message) {
+        System.out.println(message);
+        disabled = true;
+        pending.clear();
+    }
+}
@@ -0,0 +1,555 @@
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Spreads ladder solving over several {@link SolverWorker} processes on this machine.
+ * <p>
+ * Classic ladders never leave a connected component of the word graph, and so never
+ * change length. The coordinator therefore partitions the dictionary into groups
+ * (components, or word lengths) and packs the groups onto shards, largest first onto
+ * the least loaded shard. Each worker JVM loads only its shard's words. A query is
+ * routed by the shard of its start word. Queries the partition already answers are
+ * answered locally without a round trip: words in different groups, or outside the
+ * dictionary.
+ * <p>
+ * Each worker has one loopback connection. Requests from any number of threads queue
+ * per shard. A sender thread writes whatever has queued as one batch frame, and a
+ * receiver thread completes the futures from the reply frame. Up to
+ * {@link #MAX_IN_FLIGHT} batches may be in flight, so the worker is never idle waiting
+ * for the next one. Answers follow the {@link Game#findShortestPath(String, String)}
+ * contract.
+ * <p>
+ * Thread-safe. Close the coordinator to stop the workers.
+ */
+public final class SolverCoordinator implements Closeable {
+
+    /** How the word graph is split into groups that never share a ladder. */
+    public enum Partitioning {
+        /** By connected component: every group is closed under moves. */
+        COMPONENT,
+        /** By word length: cheaper to compute, but groups are larger. */
+        LENGTH
+    }
+
+    /** Largest number of requests sent in one frame. */
+    static final int MAX_BATCH = 512;
+    /** Batches a connection may have sent and not yet fully answered before the sender waits. */
+    private static final int MAX_IN_FLIGHT = 4;
+
+    private final Dictionary dictionary;
+    private final int[] groupOf;
+    private final int[] shardOfGroup;
+    private final Shard[] shards;
+    private final Path workDir;
+
+    private SolverCoordinator(Dictionary dictionary, int[] groupOf, int[] shardOfGroup, Shard[] shards, Path workDir) {
+        this.dictionary = dictionary;
+        this.groupOf = groupOf;
+        this.shardOfGroup = shardOfGroup;
+        this.shards = shards;
+        this.workDir = workDir;
+    }
+
+    /**
+     * Partitions a dictionary and starts one worker JVM per shard, on this JVM's class path.
+     *
+     * @param dictionary   the full dictionary
+     * @param workers      the number of worker processes
+     * @param partitioning how to split the word graph
+     * @return the running coordinator
+     * @throws IOException if a shard file cannot be written or a worker fails to start
+     */
+    public static SolverCoordinator start(Dictionary dictionary, int workers, Partitioning partitioning)
+            throws IOException {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Need at least one worker");
+        }
+        int[] groupOf = partitioning == Partitioning.COMPONENT ? components(dictionary) : lengths(dictionary);
+        int groups = 0;
+        for (int group : groupOf) {
+            groups = Math.max(groups, group + 1);
+        }
+        int[] shardOfGroup = pack(groupOf, groups, workers);
+
+        Path workDir = Files.createTempDirectory("ladder-shards");
+        Shard[] shards = new Shard[workers];
+        try {
+            List<List<String>> shardWords = new ArrayList<>();
+            for (int s = 0; s < workers; s++) {
+                shardWords.add(new ArrayList<>());
+            }
+            for (int id = 0; id < dictionary.size(); id++) {
+                if (dictionary.contains(id)) {
+                    shardWords.get(shardOfGroup[groupOf[id]]).add(dictionary.wordAt(id));
+                }
+            }
+            for (int s = 0; s < workers; s++) {
+                Path file = workDir.resolve("shard-" + s + ".txt");
+                Files.write(file, shardWords.get(s), StandardCharsets.UTF_8);
+                shards[s] = Shard.launch(s, file);
+            }
+        } catch (IOException | RuntimeException e) {
+            for (Shard shard : shards) {
+                if (shard != null) {
+                    shard.close();
+                }
+            }
+            deleteDirectory(workDir);
+            throw e;
+        }
+        return new SolverCoordinator(dictionary, groupOf, shardOfGroup, shards, workDir);
+    }
+
+    /**
+     * Finds a shortest ladder on the worker that holds the start word.
+     *
+     * @param start the starting word
+     * @param end   the target word
+     * @return a future for the ladder, or for {@code null} if there is none; completes
+     *         exceptionally if the worker connection fails
+     */
+    public CompletableFuture<List<String>> findShortestPathAsync(String start, String end) {
+        start = start.toLowerCase();
+        end = end.toLowerCase();
+        if (start.equals(end)) {
+            return CompletableFuture.completedFuture(new ArrayList<>(Collections.singletonList(start)));
+        }
+        int shard = route(start, end);
+        if (shard < 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return shards[shard].submit(SolverWorker.SOLVE, start, end);
+    }
+
+    /**
+     * Blocking form of {@link #findShortestPathAsync(String, String)}.
+     *
+     * @param start the starting word
+     * @param end   the target word
+     * @return the shortest ladder, or {@code null} if there is none
+     */
+    public List<String> findShortestPath(String start, String end) {
+        return findShortestPathAsync(start, end).join();
+    }
+
+    /**
+     * Solves many queries at once. They are spread over the shards, sent in batches and
+     * merged back in query order.
+     *
+     * @param queries start and end word pairs
+     * @return the ladder for each query, or {@code null} where there is none
+     */
+    public List<List<String>> findShortestPaths(List<String[]> queries) {
+        List<CompletableFuture<List<String>>> futures = new ArrayList<>(queries.size());
+        for (String[] query : queries) {
+            futures.add(findShortestPathAsync(query[0], query[1]));
+        }
+        List<List<String>> paths = new ArrayList<>(queries.size());
+        for (CompletableFuture<List<String>> future : futures) {
+            paths.add(future.join());
+        }
+        return paths;
+    }
+
+    /**
+     * Finds the next word of a shortest ladder, for hints.
+     *
+     * @param current the player's current word
+     * @param target  the target word
+     * @return a future for the next word, or for {@code null} at the target or if the
+     *         target cannot be reached
+     */
+    public CompletableFuture<String> hintAsync(String current, String target) {
+        current = current.toLowerCase();
+        target = target.toLowerCase();
+        int shard = current.equals(target) ? -1 : route(current, target);
+        if (shard < 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return shards[shard].submit(SolverWorker.HINT, current, target)
+                .thenApply(words -> words == null ? null : words.get(0));
+    }
+
+    /**
+     * @return the shard that can answer a query, or -1 if the partition shows there is
+     *         no ladder
+     */
+    private int route(String start, String end) {
+        int from = dictionary.idOf(start);
+        int to = dictionary.idOf(end);
+        if (from < 0 || to < 0 || groupOf[from] != groupOf[to]) {
+            return -1;
+        }
+        return shardOfGroup[groupOf[from]];
+    }
+
+    /**
+     * @param word a word
+     * @return the shard holding it, or -1 if it is not in the dictionary
+     */
+    public int shardOf(String word) {
+        int id = dictionary.idOf(word);
+        return id < 0 ? -1 : shardOfGroup[groupOf[id]];
+    }
+
+    public int workerCount() {
+        return shards.length;
+    }
+
+    /**
+     * @return the number of requests sent to workers so far
+     */
+    public long requestsSent() {
+        long total = 0;
+        for (Shard shard : shards) {
+            total += shard.requests.get();
+        }
+        return total;
+    }
+
+    /**
+     * @return the number of batch frames sent to workers so far
+     */
+    public long batchesSent() {
+        long total = 0;
+        for (Shard shard : shards) {
+            total += shard.batches.get();
+        }
+        return total;
+    }
+
+    /**
+     * Stops every connection from sending until {@link #resumeSending()} is called from
+     * the same thread. Requests submitted meanwhile queue up and go out together, which
+     * makes batching deterministic in tests.
+     */
+    void holdSending() {
+        for (Shard shard : shards) {
+            shard.hold.lock();
+        }
+    }
+
+    /**
+     * Lets the connections send again after {@link #holdSending()}.
+     */
+    void resumeSending() {
+        for (Shard shard : shards) {
+            shard.hold.unlock();
+        }
+    }
+
+    /**
+     * Ends every worker session, stops the processes and deletes the shard files.
+     * Requests still pending fail.
+     */
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.close();
+        }
+        deleteDirectory(workDir);
+    }
+
+    /**
+     * Labels each word with its connected component, by breadth-first search.
+     */
+    private static int[] components(Dictionary dictionary) {
+        NeighborIndex index = dictionary.getNeighborIndex();
+        int[] component = new int[dictionary.size()];
+        Arrays.fill(component, -1);
+        SearchContext search = SearchContext.forThread();
+        int count = 0;
+        for (int id = 0; id < dictionary.size(); id++) {
+            if (component[id] >= 0 || !dictionary.contains(id)) {
+                continue;
+            }
+            search.begin(dictionary.size());
+            search.visit(id, -1);
+            while (search.hasNext()) {
+                int word = search.next();
+                component[word] = count;
+                for (int e = index.firstEdge(word), end = index.endEdge(word); e < end; e++) {
+                    if (dictionary.contains(index.targetAt(e))) {
+                        search.visit(index.targetAt(e), word);
+                    }
+                }
+            }
+            count++;
+        }
+        for (int id = 0; id < component.length; id++) {
+            if (component[id] < 0) {
+                component[id] = 0; // outside a subset; never routed
+            }
+        }
+        return component;
+    }
+
+    /**
+     * Labels each word with its length.
+     */
+    private static int[] lengths(Dictionary dictionary) {
+        int[] length = new int[dictionary.size()];
+        for (int id = 0; id < length.length; id++) {
+            length[id] = dictionary.wordAt(id).length();
+        }
+        return length;
+    }
+
+    /**
+     * Assigns groups to shards, largest group first onto the shard with the fewest words.
+     */
+    private static int[] pack(int[] groupOf, int groups, int shards) {
+        long[] sizes = new long[groups];
+        for (int group : groupOf) {
+            sizes[group]++;
+        }
+        Integer[] order = new Integer[groups];
+        for (int g = 0; g < groups; g++) {
+            order[g] = g;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(sizes[b], sizes[a]));
+        long[] load = new long[shards];
+        int[] shardOf = new int[groups];
+        for (int g : order) {
+            int lightest = 0;
+            for (int s = 1; s < shards; s++) {
+                if (load[s] < load[lightest]) {
+                    lightest = s;
+                }
+            }
+            shardOf[g] = lightest;
+            load[lightest] += sizes[g];
+        }
+        return shardOf;
+    }
+
+    private static void deleteDirectory(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            System.out.println("Error deleting the shard files: " + e.getMessage());
+        }
+    }
+
+    /** A request waiting for its worker's answer. */
+    private static final class Request {
+        final byte kind;
+        final String start;
+        final String end;
+        final CompletableFuture<List<String>> result = new CompletableFuture<>();
+
+        Request(byte kind, String start, String end) {
+            this.kind = kind;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * One worker process and its connection: a sender thread batching the queued
+     * requests onto the socket, and a receiver thread matching replies to them in order.
+     */
+    private static final class Shard implements Closeable {
+        private final Process process;
+        private final Socket socket;
+        private final DataOutputStream out;
+        private final DataInputStream in;
+        private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+        private final BlockingQueue<List<Request>> inFlight = new LinkedBlockingQueue<>();
+        private final Semaphore unanswered = new Semaphore(MAX_IN_FLIGHT); // one permit per batch in flight
+        private final ReentrantLock hold = new ReentrantLock();
+        private final Thread sender;
+        private final Thread receiver;
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private volatile IOException failure;
+
+        private Shard(int number, Process process, Socket socket) throws IOException {
+            this.process = process;
+            this.socket = socket;
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 16));
+            this.sender = new Thread(this::sendLoop, "solver-shard-" + number + "-send");
+            this.receiver = new Thread(this::receiveLoop, "solver-shard-" + number + "-receive");
+            sender.setDaemon(true);
+            receiver.setDaemon(true);
+            sender.start();
+            receiver.start();
+        }
+
+        /**
+         * Starts a worker JVM on a shard file and connects to it.
+         */
+        static Shard launch(int number, Path wordFile) throws IOException {
+            String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+            Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    "SolverWorker", wordFile.toString())
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            try {
+                BufferedReader stdout = new BufferedReader(
+                        new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+                String line = stdout.readLine();
+                if (line == null || !line.startsWith("READY ")) {
+                    throw new IOException("Solver worker " + number + " did not start: " + line);
+                }
+                Socket socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(line.substring(6).trim()));
+                socket.setTcpNoDelay(true);
+                return new Shard(number, process, socket);
+            } catch (IOException | RuntimeException e) {
+                process.destroyForcibly();
+                throw e;
+            }
+        }
+
+        synchronized CompletableFuture<List<String>> submit(byte kind, String start, String end) {
+            Request request = new Request(kind, start, end);
+            IOException failed = failure;
+            if (failed != null) {
+                request.result.completeExceptionally(failed);
+            } else {
+                queue.add(request);
+            }
+            return request.result;
+        }
+
+        private void sendLoop() {
+            List<Request> batch = new ArrayList<>();
+            try {
+                while (true) {
+                    batch.add(queue.take());
+                    unanswered.acquire(); // waits while MAX_IN_FLIGHT batches are unanswered
+                    hold.lockInterruptibly();
+                    try {
+                        queue.drainTo(batch, MAX_BATCH - 1);
+                        if (!dispatch(batch)) {
+                            return; // the connection failed while this batch waited
+                        }
+                        List<Request> sent = batch;
+                        batch = new ArrayList<>(); // the receiver answers or fails it from here
+                        out.writeInt(sent.size());
+                        for (Request request : sent) {
+                            out.writeByte(request.kind);
+                            out.writeUTF(request.start);
+                            out.writeUTF(request.end);
+                        }
+                        out.flush();
+                        requests.addAndGet(sent.size());
+                        batches.incrementAndGet();
+                    } finally {
+                        hold.unlock();
+                    }
+                }
+            } catch (InterruptedException e) {
+                fail(new IOException("Solver shard closed"), batch);
+            } catch (IOException e) {
+                fail(e, batch);
+            }
+        }
+
+        private void receiveLoop() {
+            List<Request> batch = Collections.emptyList();
+            int answered = 0;
+            try {
+                while (true) {
+                    batch = inFlight.take();
+                    for (answered = 0; answered < batch.size(); answered++) {
+                        int count = in.readInt();
+                        List<String> words = null;
+                        if (count >= 0) {
+                            words = new ArrayList<>(count);
+                            for (int i = 0; i < count; i++) {
+                                words.add(in.readUTF());
+                            }
+                        }
+                        batch.get(answered).result.complete(words);
+                    }
+                    unanswered.release();
+                }
+            } catch (InterruptedException e) {
+                fail(new IOException("Solver shard closed"), batch.subList(answered, batch.size()));
+            } catch (IOException e) {
+                fail(e, batch.subList(answered, batch.size()));
+            }
+        }
+
+        /**
+         * Hands a batch to the receiver, unless the connection has failed; then the batch
+         * fails instead. Holding the monitor means {@link #fail} either sees the batch in
+         * flight or the sender sees the failure.
+         *
+         * @return false if the connection has failed
+         */
+        private synchronized boolean dispatch(List<Request> batch) {
+            if (failure != null) {
+                for (Request request : batch) {
+                    request.result.completeExceptionally(failure);
+                }
+                return false;
+            }
+            inFlight.add(batch);
+            return true;
+        }
+
+        /**
+         * Fails every request not yet answered; later submissions fail at once. Gives
+         * back the permits of the failed batches, so a sender waiting for one wakes up
+         * and fails its own batch.
+         */
+        private synchronized void fail(IOException e, List<Request> taken) {
+            if (failure == null) {
+                failure = e;
+            }
+            List<Request> orphans = new ArrayList<>(taken);
+            queue.drainTo(orphans);
+            for (List<Request> batch : inFlight) {
+                orphans.addAll(batch);
+            }
+            inFlight.clear();
+            for (Request request : orphans) {
+                request.result.completeExceptionally(failure);
+            }
+            unanswered.release(MAX_IN_FLIGHT);
+        }
+
+        @Override
+        public void close() {
+            sender.interrupt();
+            try {
+                sender.join(1000);
+                out.writeInt(0); // end of session
+                out.flush();
+            } catch (IOException e) {
+                // the worker is gone already
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            receiver.interrupt();
+            try {
+                socket.close();
+                if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (IOException e) {
+                process.destroyForcibly();
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+            fail(new IOException("Solver shard closed"), Collections.emptyList());
+        }
+    }
+}
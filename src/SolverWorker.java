@@ -0,0 +1,91 @@
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+
+/**
+ * A solver process serving one shard of the word graph for a {@link SolverCoordinator}.
+ * <p>
+ * The worker loads its shard's words, listens on a loopback port and announces it on
+ * standard output as {@code READY <port>}. It then serves the coordinator's single
+ * connection: each request frame is a batch of solve and hint requests, and the reply
+ * frame holds the answers in the same order. Ladders are found with
+ * {@link Game#findShortestPath(Dictionary, String, String)}, so every shard answers
+ * exactly as the game would. The worker exits when the connection closes.
+ * <p>
+ * Frames (big-endian): a request frame is an int count followed by, per request, a kind
+ * byte ({@link #SOLVE} or {@link #HINT}) and the two words in modified UTF-8; a count of
+ * 0 ends the session. A reply frame holds, per request, an int word count (-1 for no
+ * answer) followed by the words.
+ * <p>
+ * Usage: {@code java SolverWorker <shard word file>}
+ */
+public final class SolverWorker {
+
+    /** Request kind: the whole shortest ladder. */
+    static final byte SOLVE = 1;
+    /** Request kind: the next word of a shortest ladder. */
+    static final byte HINT = 2;
+
+    private SolverWorker() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: java SolverWorker <shard word file>");
+            return;
+        }
+        Dictionary dictionary = Dictionary.load(args[0]);
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            System.out.println("READY " + server.getLocalPort());
+            System.out.flush();
+            try (Socket socket = server.accept()) {
+                socket.setTcpNoDelay(true);
+                serve(dictionary, socket.getInputStream(), socket.getOutputStream());
+            }
+        }
+    }
+
+    /**
+     * Answers request frames until the session ends or the stream closes.
+     *
+     * @param dictionary the shard's words
+     * @param rawIn      the request stream
+     * @param rawOut     the reply stream
+     * @throws IOException if the connection fails
+     */
+    static void serve(Dictionary dictionary, InputStream rawIn, OutputStream rawOut) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(rawIn, 1 << 16));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(rawOut, 1 << 16));
+        while (true) {
+            int count;
+            try {
+                count = in.readInt();
+            } catch (EOFException e) {
+                return;
+            }
+            if (count == 0) {
+                return;
+            }
+            for (int i = 0; i < count; i++) {
+                byte kind = in.readByte();
+                String start = in.readUTF();
+                String end = in.readUTF();
+                List<String> path = Game.findShortestPath(dictionary, start, end);
+                if (path == null || (kind == HINT && path.size() < 2)) {
+                    out.writeInt(-1);
+                } else if (kind == HINT) {
+                    out.writeInt(1);
+                    out.writeUTF(path.get(1));
+                } else {
+                    out.writeInt(path.size());
+                    for (String word : path) {
+                        out.writeUTF(word);
+                    }
+                }
+            }
+            out.flush(); // one write per batch
+        }
+    }
+}
@@ -0,0 +1,448 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Per-player and per-puzzle statistics with incrementally maintained leaderboards.
+ * <p>
+ * Aggregates are split across independently locked shards by key hash, so concurrent
+ * sessions only contend when they update the same shard. Each shard also keeps its own
+ * top-K players (by points) and top-K puzzles (by plays). A global leaderboard query
+ * merges the per-shard lists, so updates never take a global lock.
+ * <p>
+ * A solved game earns {@code round(100 * optimalMoves / moves)} points: 100 for an
+ * optimal ladder, fewer for detours. If a snapshot file is given, the store is restored
+ * from it on construction and rewritten periodically (write to a temp file, then an
+ * atomic rename) and on {@link #close()}.
+ */
+public class StatsStore implements Closeable {
+
+    /**
+     * A read-only copy of the aggregates for one player or puzzle.
+     */
+    public static final class Stats {
+        private final long games;
+        private final long solved;
+        private final long totalMoves;
+        private final long totalOptimalMoves;
+        private final long totalSolveMillis;
+        private final long points;
+
+        Stats(long games, long solved, long totalMoves, long totalOptimalMoves,
+              long totalSolveMillis, long points) {
+            this.games = games;
+            this.solved = solved;
+            this.totalMoves = totalMoves;
+            this.totalOptimalMoves = totalOptimalMoves;
+            this.totalSolveMillis = totalSolveMillis;
+            this.points = points;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public long getSolved() {
+            return solved;
+        }
+
+        public long getPoints() {
+            return points;
+        }
+
+        /**
+         * @return the fraction of games that were solved, or 0 if none were played
+         */
+        public double solveRate() {
+            return games == 0 ? 0 : (double) solved / games;
+        }
+
+        /**
+         * @return the average number of moves in solved games
+         */
+        public double averageMoves() {
+            return solved == 0 ? 0 : (double) totalMoves / solved;
+        }
+
+        /**
+         * @return the average optimal number of moves for the solved puzzles
+         */
+        public double averageOptimalMoves() {
+            return solved == 0 ? 0 : (double) totalOptimalMoves / solved;
+        }
+
+        /**
+         * @return the average time to solve, in milliseconds
+         */
+        public double averageSolveMillis() {
+            return solved == 0 ? 0 : (double) totalSolveMillis / solved;
+        }
+    }
+
+    /**
+     * One leaderboard row.
+     */
+    public static final class Entry {
+        private final String key;
+        private final long score;
+
+        Entry(String key, long score) {
+            this.key = key;
+            this.score = score;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + score;
+        }
+    }
+
+    private static final int SNAPSHOT_MAGIC = 0x574C5354; // "WLST"
+    private static final Comparator<Entry> BY_SCORE =
+            Comparator.comparingLong(Entry::getScore).reversed().thenComparing(Entry::getKey);
+
+    private final Shard[] shards;
+    private final int leaderboardSize;
+    private final Path snapshotFile;
+    private final ScheduledExecutorService snapshotter;
+
+    /**
+     * Creates an in-memory store without snapshots.
+     *
+     * @param leaderboardSize the number of entries each leaderboard keeps
+     */
+    public StatsStore(int leaderboardSize) {
+        this(leaderboardSize, null, 0);
+    }
+
+    /**
+     * Creates a store that restores from and periodically writes {@code snapshotFile}.
+     *
+     * @param leaderboardSize        the number of entries each leaderboard keeps
+     * @param snapshotFile           the snapshot location, or {@code null} for none
+     * @param snapshotIntervalMillis how often to write snapshots; 0 to only write on close
+     * @throws IllegalArgumentException if {@code leaderboardSize} is less than 1
+     */
+    public StatsStore(int leaderboardSize, Path snapshotFile, long snapshotIntervalMillis) {
+        if (leaderboardSize < 1) {
+            throw new IllegalArgumentException("Leaderboard size must be positive");
+        }
+        // A power of two of at least 8 stripes per core keeps collisions between sessions rare
+        int count = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 8 - 1) << 1;
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(leaderboardSize);
+        }
+        this.leaderboardSize = leaderboardSize;
+        this.snapshotFile = snapshotFile;
+
+        if (snapshotFile != null && Files.exists(snapshotFile)) {
+            try {
+                restore(snapshotFile);
+            } catch (IOException e) {
+                System.out.println("Error reading the stats snapshot: " + e.getMessage());
+            }
+        }
+        if (snapshotFile != null && snapshotIntervalMillis > 0) {
+            snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "stats-snapshot");
+                t.setDaemon(true);
+                return t;
+            });
+            snapshotter.scheduleWithFixedDelay(this::snapshotQuietly,
+                    snapshotIntervalMillis, snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            snapshotter = null;
+        }
+    }
+
+    /**
+     * Records a finished game.
+     *
+     * @param player       the player's name
+     * @param startWord    the puzzle's start word
+     * @param endWord      the puzzle's target word
+     * @param solved       whether the player reached the target
+     * @param moves        the number of moves the player made
+     * @param optimalMoves the length of the shortest ladder, from {@code findShortestPath}
+     * @param solveMillis  the time from puzzle start to finish
+     */
+    public void recordCompletion(String player, String startWord, String endWord, boolean solved,
+                                 int moves, int optimalMoves, long solveMillis) {
+        long points = solved && moves > 0 ? Math.round(100.0 * optimalMoves / moves) : 0;
+        shardFor(player).record(player, true, solved, moves, optimalMoves, solveMillis, points);
+        String puzzle = puzzleKey(startWord, endWord);
+        shardFor(puzzle).record(puzzle, false, solved, moves, optimalMoves, solveMillis, points);
+    }
+
+    /**
+     * @param player the player's name
+     * @return the player's statistics, or {@code null} if they have not played
+     */
+    public Stats getPlayerStats(String player) {
+        return shardFor(player).get(player, true);
+    }
+
+    /**
+     * @param startWord the puzzle's start word
+     * @param endWord   the puzzle's target word
+     * @return the puzzle's statistics, or {@code null} if it has not been played
+     */
+    public Stats getPuzzleStats(String startWord, String endWord) {
+        String puzzle = puzzleKey(startWord, endWord);
+        return shardFor(puzzle).get(puzzle, false);
+    }
+
+    /**
+     * @param k the number of rows wanted, at most the configured leaderboard size
+     * @return the players with the most points, best first
+     */
+    public List<Entry> topPlayers(int k) {
+        return merge(k, true);
+    }
+
+    /**
+     * @param k the number of rows wanted, at most the configured leaderboard size
+     * @return the most played puzzles ("start-end"), most played first
+     */
+    public List<Entry> topPuzzles(int k) {
+        return merge(k, false);
+    }
+
+    /**
+     * Writes a snapshot of all aggregates to the snapshot file.
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void snapshot() throws IOException {
+        if (snapshotFile == null) {
+            return;
+        }
+        Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            for (Shard shard : shards) {
+                shard.writeTo(out);
+            }
+            out.writeByte(0); // end marker
+        }
+        Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Stops periodic snapshots and writes a final one.
+     */
+    @Override
+    public void close() {
+        if (snapshotter != null) {
+            snapshotter.shutdown();
+            try {
+                snapshotter.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        snapshotQuietly();
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException e) {
+            System.out.println("Error writing the stats snapshot: " + e.getMessage());
+        }
+    }
+
+    private void restore(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a stats snapshot: " + file);
+            }
+            while (true) {
+                byte kind = in.readByte();
+                if (kind == 0) {
+                    break;
+                }
+                String key = in.readUTF();
+                Aggregate a = new Aggregate();
+                a.games = in.readLong();
+                a.solved = in.readLong();
+                a.totalMoves = in.readLong();
+                a.totalOptimalMoves = in.readLong();
+                a.totalSolveMillis = in.readLong();
+                a.points = in.readLong();
+                shardFor(key).restore(key, kind == 1, a);
+            }
+        }
+    }
+
+    private List<Entry> merge(int k, boolean players) {
+        List<Entry> all = new ArrayList<>();
+        for (Shard shard : shards) {
+            shard.collectTop(players, all);
+        }
+        all.sort(BY_SCORE);
+        return new ArrayList<>(all.subList(0, Math.min(Math.min(k, leaderboardSize), all.size())));
+    }
+
+    private Shard shardFor(String key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return shards[h & (shards.length - 1)];
+    }
+
+    private static String puzzleKey(String startWord, String endWord) {
+        return startWord + "-" + endWord;
+    }
+
+    private static final class Aggregate {
+        long games;
+        long solved;
+        long totalMoves;
+        long totalOptimalMoves;
+        long totalSolveMillis;
+        long points;
+
+        Stats toStats() {
+            return new Stats(games, solved, totalMoves, totalOptimalMoves, totalSolveMillis, points);
+        }
+    }
+
+    /**
+     * One lock stripe: the aggregates whose keys hash here, and their leaderboards.
+     */
+    private static final class Shard {
+        private final Map<String, Aggregate> players = new HashMap<>();
+        private final Map<String, Aggregate> puzzles = new HashMap<>();
+        private final TopK topPlayers;
+        private final TopK topPuzzles;
+
+        Shard(int leaderboardSize) {
+            topPlayers = new TopK(leaderboardSize);
+            topPuzzles = new TopK(leaderboardSize);
+        }
+
+        synchronized void record(String key, boolean player, boolean solved, int moves,
+                                 int optimalMoves, long solveMillis, long points) {
+            Aggregate a = (player ? players : puzzles).computeIfAbsent(key, k -> new Aggregate());
+            a.games++;
+            if (solved) {
+                a.solved++;
+                a.totalMoves += moves;
+                a.totalOptimalMoves += optimalMoves;
+                a.totalSolveMillis += solveMillis;
+                a.points += points;
+            }
+            if (player) {
+                topPlayers.update(key, a.points);
+            } else {
+                topPuzzles.update(key, a.games);
+            }
+        }
+
+        synchronized void restore(String key, boolean player, Aggregate a) {
+            (player ? players : puzzles).put(key, a);
+            if (player) {
+                topPlayers.update(key, a.points);
+            } else {
+                topPuzzles.update(key, a.games);
+            }
+        }
+
+        synchronized Stats get(String key, boolean player) {
+            Aggregate a = (player ? players : puzzles).get(key);
+            return a == null ? null : a.toStats();
+        }
+
+        synchronized void collectTop(boolean player, List<Entry> into) {
+            (player ? topPlayers : topPuzzles).copyInto(into);
+        }
+
+        synchronized void writeTo(DataOutputStream out) throws IOException {
+            writeAll(out, 1, players);
+            writeAll(out, 2, puzzles);
+        }
+
+        private static void writeAll(DataOutputStream out, int kind, Map<String, Aggregate> map) throws IOException {
+            for (Map.Entry<String, Aggregate> e : map.entrySet()) {
+                Aggregate a = e.getValue();
+                out.writeByte(kind);
+                out.writeUTF(e.getKey());
+                out.writeLong(a.games);
+                out.writeLong(a.solved);
+                out.writeLong(a.totalMoves);
+                out.writeLong(a.totalOptimalMoves);
+                out.writeLong(a.totalSolveMillis);
+                out.writeLong(a.points);
+            }
+        }
+    }
+
+    /**
+     * A bounded leaderboard for scores that only ever increase. Because scores never go
+     * down, a key outside the board can only enter it by beating the current minimum, so
+     * the board stays exact without tracking every key.
+     */
+    private static final class TopK {
+        private final String[] keys;
+        private final long[] scores;
+        private int size;
+
+        TopK(int capacity) {
+            keys = new String[capacity];
+            scores = new long[capacity];
+        }
+
+        void update(String key, long score) {
+            int pos = -1;
+            for (int i = 0; i < size; i++) {
+                if (keys[i].equals(key)) {
+                    pos = i;
+                    break;
+                }
+            }
+            if (pos < 0) {
+                if (size < keys.length) {
+                    pos = size++;
+                } else if (score > scores[size - 1]) {
+                    pos = size - 1; // evict the current minimum
+                } else {
+                    return;
+                }
+                keys[pos] = key;
+            }
+            scores[pos] = score;
+            // Bubble up to keep the board sorted by descending score
+            while (pos > 0 && scores[pos - 1] < scores[pos]) {
+                swap(pos, pos - 1);
+                pos--;
+            }
+        }
+
+        private void swap(int i, int j) {
+            String k = keys[i];
+            keys[i] = keys[j];
+            keys[j] = k;
+            long s = scores[i];
+            scores[i] = scores[j];
+            scores[j] = s;
+        }
+
+        void copyInto(List<Entry> into) {
+            for (int i = 0; i < size; i++) {
+                into.add(new Entry(keys[i], scores[i]));
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+import java.awt.*;
+
+/**
+ * A {@link Canvas} that draws into the StdDraw game window.
+ */
+public class StdDrawCanvas implements Canvas {
+
+    /**
+     * Opens the StdDraw window with double buffering.
+     *
+     * @param width  the window width in pixels
+     * @param height the window height in pixels
+     */
+    public StdDrawCanvas(int width, int height) {
+        StdDraw.setCanvasSize(width, height);
+        StdDraw.enableDoubleBuffering();
+    }
+
+    @Override
+    public void clear() {
+        StdDraw.clear();
+    }
+
+    @Override
+    public void picture(double x, double y, String filename, double scaledWidth, double scaledHeight) {
+        StdDraw.picture(x, y, filename, scaledWidth, scaledHeight);
+    }
+
+    @Override
+    public void setPenColor(Color color) {
+        StdDraw.setPenColor(color);
+    }
+
+    @Override
+    public void setFont(Font font) {
+        StdDraw.setFont(font);
+    }
+
+    @Override
+    public void text(double x, double y, String text) {
+        StdDraw.text(x, y, text);
+    }
+
+    @Override
+    public void textLeft(double x, double y, String text) {
+        StdDraw.textLeft(x, y, text);
+    }
+
+    @Override
+    public void textRight(double x, double y, String text) {
+        StdDraw.textRight(x, y, text);
+    }
+
+    @Override
+    public void square(double x, double y, double halfLength) {
+        StdDraw.square(x, y, halfLength);
+    }
+
+    @Override
+    public void rectangle(double x, double y, double halfWidth, double halfHeight) {
+        StdDraw.rectangle(x, y, halfWidth, halfHeight);
+    }
+
+    @Override
+    public void filledRectangle(double x, double y, double halfWidth, double halfHeight) {
+        StdDraw.filledRectangle(x, y, halfWidth, halfHeight);
+    }
+
+    @Override
+    public void show() {
+        StdDraw.show();
+    }
+}
@@ -0,0 +1,279 @@
+import java.util.Arrays;
+
+/**
+ * Reusable working memory for cheapest-ladder searches under {@link LadderRules}:
+ * Dijkstra's algorithm over the {@link NeighborIndex} and, when the rules allow adding
+ * and removing letters, the {@link LadderGraph}.
+ * <p>
+ * The search is guided towards the target (A*) by a lower bound from letter counts.
+ * Every move puts at most one letter into the word and takes at most one out, so the
+ * letters the target has and a word lacks must each still be paid for at least at
+ * that letter's cheapest price, and the surplus letters must each still be removed or
+ * replaced. The bound never overestimates and never drops by more than a move costs,
+ * so the first time the target is taken from the queue its ladder is a cheapest one.
+ * <p>
+ * The priority queue is a binary heap of primitive longs, each holding a ladder cost in
+ * its high half and a word id in its low half, so pushing and popping never allocates.
+ * Entries are never updated in place: a cheaper route pushes a new entry and the stale
+ * one is skipped when it surfaces. Edge costs are derived from the rules as each word
+ * is expanded. Like {@link SearchContext}, costs and parents are only valid where a
+ * word's generation stamp is current, so a new search does not clear the arrays.
+ * <p>
+ * A context is not thread-safe. Use {@link #forThread()} to get the calling thread's
+ * own context.
+ */
+public final class WeightedSearch {
+
+    private static final ThreadLocal<WeightedSearch> POOL = ThreadLocal.withInitial(WeightedSearch::new);
+
+    private int[] cost = new int[0];
+    private int[] parent = new int[0];
+    private int[] estimate = new int[0];
+    private int[] stamp = new int[0];
+    private int generation;
+    private final int[] targetLetters = new int[27];
+    private final int[] letters = new int[27];
+    private final int[] introduceCost = new int[27];
+    private int surplusCost;
+    private long[] heap = new long[16];
+    private int heapSize;
+    private int expanded;
+
+    /**
+     * @return the calling thread's context
+     */
+    public static WeightedSearch forThread() {
+        return POOL.get();
+    }
+
+    /**
+     * Finds a cheapest ladder from {@code start} to {@code target}.
+     *
+     * @param dictionary the dictionary whose words are the vertices
+     * @param rules      the moves allowed and their costs
+     * @param start      the start word id
+     * @param target     the target word id
+     * @return the total cost of a cheapest ladder, or -1 if there is none; on success the
+     *         ladder can be read back with {@link #copyPath(int, int[])}
+     */
+    public int shortestPath(Dictionary dictionary, LadderRules rules, int start, int target) {
+        NeighborIndex index = dictionary.getNeighborIndex();
+        LadderGraph graph = rules.allowsAddRemove() ? dictionary.getLadderGraph() : null;
+        begin(index.size());
+        String targetWord = dictionary.wordAt(target);
+        if (graph == null && dictionary.wordAt(start).length() != targetWord.length()) {
+            return -1; // lengths only change by adding and removing letters
+        }
+        prepareEstimates(rules, targetWord);
+        relax(start, -1, 0, dictionary);
+
+        while (heapSize > 0) {
+            long entry = pop();
+            int word = (int) entry;
+            int wordCost = cost[word];
+            if ((int) (entry >>> 32) != wordCost + estimate[word]) {
+                continue; // superseded by a cheaper route
+            }
+            if (word == target) {
+                return wordCost;
+            }
+            expanded++;
+
+            if (rules.isUniform()) {
+                for (int e = index.firstEdge(word), end = index.endEdge(word); e < end; e++) {
+                    relax(index.targetAt(e), word, wordCost + 1, dictionary);
+                }
+            } else {
+                String from = dictionary.wordAt(word);
+                for (int e = index.firstEdge(word), end = index.endEdge(word); e < end; e++) {
+                    int next = index.targetAt(e);
+                    String to = dictionary.wordAt(next);
+                    int i = 0;
+                    while (from.charAt(i) == to.charAt(i)) {
+                        i++;
+                    }
+                    relax(next, word, wordCost + rules.substitutionCost(to.charAt(i)), dictionary);
+                }
+            }
+            if (graph != null) {
+                for (int e = graph.firstAdd(word), end = graph.endAdd(word); e < end; e++) {
+                    relax(graph.addTargetAt(e), word, wordCost + rules.addCost(), dictionary);
+                }
+                for (int e = graph.firstRemove(word), end = graph.endRemove(word); e < end; e++) {
+                    relax(graph.removeTargetAt(e), word, wordCost + rules.removeCost(), dictionary);
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param id the word id
+     * @return true if the last search found some ladder to the word
+     */
+    public boolean isReached(int id) {
+        return stamp[id] == generation;
+    }
+
+    /**
+     * @param id a reached word id
+     * @return the cost of the cheapest ladder found to it so far; final for the target
+     */
+    public int costOf(int id) {
+        return cost[id];
+    }
+
+    /**
+     * @param id a reached word id
+     * @return the id it was reached from, or -1 for the start word
+     */
+    public int parentOf(int id) {
+        return parent[id];
+    }
+
+    /**
+     * @return the number of words expanded by the last search
+     */
+    public int expanded() {
+        return expanded;
+    }
+
+    /**
+     * Writes the ladder ending at a reached word into {@code out}, start word first.
+     *
+     * @param target a reached word id
+     * @param out    receives the ids; must hold at least {@code pathLength(target)} entries
+     * @return the number of ids written
+     */
+    public int copyPath(int target, int[] out) {
+        int length = pathLength(target);
+        for (int i = length - 1, id = target; i >= 0; i--, id = parent[id]) {
+            out[i] = id;
+        }
+        return length;
+    }
+
+    /**
+     * @param target a reached word id
+     * @return the number of words on the ladder from the start word to {@code target}
+     */
+    public int pathLength(int target) {
+        int length = 0;
+        for (int id = target; id >= 0; id = parent[id]) {
+            length++;
+        }
+        return length;
+    }
+
+    private void begin(int size) {
+        if (stamp.length < size) {
+            cost = new int[size];
+            estimate = new int[size];
+            parent = new int[size];
+            stamp = new int[size];
+            generation = 0;
+        }
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+        heapSize = 0;
+        expanded = 0;
+    }
+
+    private void relax(int id, int from, int newCost, Dictionary dictionary) {
+        if (!dictionary.contains(id)) {
+            return; // outside a subset dictionary
+        }
+        if (stamp[id] == generation) {
+            if (cost[id] <= newCost) {
+                return;
+            }
+        } else {
+            stamp[id] = generation;
+            estimate[id] = estimate(dictionary.wordAt(id));
+        }
+        cost[id] = newCost;
+        parent[id] = from;
+        push(((long) (newCost + estimate[id]) << 32) | id);
+    }
+
+    /**
+     * Sets up {@link #estimate(String)} for a target word: its letter counts and the
+     * cheapest way to put each letter into a word and to get rid of one.
+     */
+    private void prepareEstimates(LadderRules rules, String target) {
+        Arrays.fill(targetLetters, 0);
+        for (int i = 0; i < target.length(); i++) {
+            targetLetters[letterIndex(target.charAt(i))]++;
+        }
+        int cheapestSubstitution = Integer.MAX_VALUE;
+        for (int c = 0; c < 27; c++) {
+            int substitution = rules.substitutionCost(c < 26 ? (char) ('a' + c) : '?');
+            introduceCost[c] = rules.allowsAddRemove() ? Math.min(substitution, rules.addCost()) : substitution;
+            cheapestSubstitution = Math.min(cheapestSubstitution, substitution);
+        }
+        surplusCost = rules.allowsAddRemove() ? Math.min(cheapestSubstitution, rules.removeCost()) : cheapestSubstitution;
+    }
+
+    /**
+     * @return a lower bound on the cost of any ladder from the word to the target
+     */
+    private int estimate(String word) {
+        Arrays.fill(letters, 0);
+        for (int i = 0; i < word.length(); i++) {
+            letters[letterIndex(word.charAt(i))]++;
+        }
+        int missing = 0;
+        int surplus = 0;
+        for (int c = 0; c < 27; c++) {
+            int diff = targetLetters[c] - letters[c];
+            if (diff > 0) {
+                missing += diff * introduceCost[c];
+            } else {
+                surplus -= diff;
+            }
+        }
+        return Math.max(missing, surplus * surplusCost);
+    }
+
+    private static int letterIndex(char c) {
+        return c >= 'a' && c <= 'z' ? c - 'a' : 26;
+    }
+
+    private void push(long entry) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        int i = heapSize++;
+        while (i > 0) {
+            int up = (i - 1) >>> 1;
+            if (heap[up] <= entry) {
+                break;
+            }
+            heap[i] = heap[up];
+            i = up;
+        }
+        heap[i] = entry;
+    }
+
+    private long pop() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+        int i = 0;
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+}
@@ -1,48 +1,97 @@
 import java.util.*;
 
 public class Word {
-    private String word;
-    private Dictionary dictionary;
+    private final String word;
+    private final Dictionary dictionary;
+    private final int id;
+    private final int hash;
+    private Set<Word> neighbors; // canonical words only; immutable once set
 
+    /**
+     * Creates a detached word. Prefer {@link Dictionary#wordFor(String)}, which returns
+     * the dictionary's canonical instance for words it contains.
+     *
+     * @param word       the word (case-insensitive)
+     * @param dictionary the dictionary its neighbors come from
+     */
     public Word(String word, Dictionary dictionary) {
-        this.word = word.toLowerCase();
+        this(word.toLowerCase(), dictionary, -1);
+    }
+
+    /**
+     * Creates the canonical instance of a dictionary entry; see {@link Dictionary#canonicalWord(int)}.
+     */
+    Word(String word, Dictionary dictionary, int id) {
+        this.word = word;
         this.dictionary = dictionary;
+        this.id = id;
+        this.hash = word.hashCode();
     }
 
     public String getWord() {
         return word;
     }
 
+    /**
+     * @return the dictionary id of a canonical word, or -1 for a detached one
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * Generates all valid neighboring words that differ by exactly one letter.
      * <p>
      * A neighbor is defined as any word that:
      * <ul>
      *   <li>Has the same length as the current word</li>
-     *   <li>Differs by exactly one character</li>
+     *   <li>Differs by exactly one character, a letter from 'a' to 'z' changed into another</li>
      *   <li>Exists in the dictionary</li>
      * </ul>
      * This method iterates over each character in the word, attempts to replace it
      * with every other letter from 'a' to 'z', and checks if the resulting word is valid.
      * Valid neighbors are returned as {@code Word} objects.
+     * <p>
+     * For dictionary words the answer comes straight from the {@link NeighborIndex}: a
+     * read-only view of canonical words, built once per word and cached.
      *
      * @return A set of valid {@code Word} objects that are one letter different
      *         from the current word and exist in the dictionary.
      */
     public Set<Word> getNeighbors() {
+        if (id >= 0) {
+            Set<Word> cached = neighbors;
+            if (cached == null) {
+                cached = new NeighborSet(this);
+                neighbors = cached;
+            }
+            return cached;
+        }
+        int canonicalId = dictionary.idOf(word);
+        if (canonicalId >= 0) {
+            return dictionary.canonicalWord(canonicalId).getNeighbors();
+        }
+
+        // Not in the dictionary: generate candidates letter by letter
         Set<Word> neighbors = new HashSet<>();
         char[] wordChars = word.toCharArray(); // Convert word to char array to manipulate each letter
 
         // Try changing each letter of the word to any other letter from 'a' to 'z'
         for (int i = 0; i < word.length(); i++) {
             char originalChar = wordChars[i];
+            if (!NeighborIndex.isMoveLetter(originalChar)) {
+                continue;  // Only letters from 'a' to 'z' can be changed, as in the index
+            }
             for (char c = 'a'; c <= 'z'; c++) {
                 if (c != originalChar) {  // Skip the same character
                     wordChars[i] = c;  // Change the letter
+                    if (!dictionary.mightContain(wordChars)) {
+                        continue;  // Rejected by the prefilter without building a String
+                    }
                     String newWord = new String(wordChars);
                     // Check if the new word is valid and add to the set of neighbors
                     if (dictionary.isValidWord(newWord)) {
-                        neighbors.add(new Word(newWord, dictionary));  // Add valid neighbor
+                        neighbors.add(dictionary.wordFor(newWord));  // Add valid neighbor
                     }
                 }
             }
@@ -51,6 +100,62 @@ public class Word {
         return neighbors;
     }
 
+    /**
+     * Generates the neighbors of this word under the given rules: the one-letter
+     * substitutions of {@link #getNeighbors()}, plus, if the rules allow it, every
+     * dictionary word with one letter added or removed. Move costs do not matter here;
+     * any letter may be changed, only at a different price.
+     * <p>
+     * For dictionary words the add/remove neighbors come from the dictionary's
+     * {@link LadderGraph}; for other words the candidates are generated and looked up.
+     *
+     * @param rules the moves allowed
+     * @return the words reachable in one move, as canonical {@code Word}s
+     */
+    public Set<Word> getNeighbors(LadderRules rules) {
+        if (!rules.allowsAddRemove()) {
+            return getNeighbors();
+        }
+        Set<Word> neighbors = new LinkedHashSet<>(getNeighbors());
+        int canonicalId = id >= 0 ? id : dictionary.idOf(word);
+        if (canonicalId >= 0) {
+            LadderGraph graph = dictionary.getLadderGraph();
+            for (int e = graph.firstAdd(canonicalId), end = graph.endAdd(canonicalId); e < end; e++) {
+                if (dictionary.contains(graph.addTargetAt(e))) {
+                    neighbors.add(dictionary.canonicalWord(graph.addTargetAt(e)));
+                }
+            }
+            for (int e = graph.firstRemove(canonicalId), end = graph.endRemove(canonicalId); e < end; e++) {
+                if (dictionary.contains(graph.removeTargetAt(e))) {
+                    neighbors.add(dictionary.canonicalWord(graph.removeTargetAt(e)));
+                }
+            }
+            return Collections.unmodifiableSet(neighbors);
+        }
+
+        // Not in the dictionary: try every character of the dictionary in every gap (as
+        // the ladder graph links words through any dropped character), and dropping each
+        StringBuilder candidate = new StringBuilder(word.length() + 1);
+        char[] characters = dictionary.characters();
+        for (int i = 0; i <= word.length(); i++) {
+            for (char c : characters) {
+                candidate.setLength(0);
+                candidate.append(word, 0, i).append(c).append(word, i, word.length());
+                int found = dictionary.idOf(candidate.toString());
+                if (found >= 0) {
+                    neighbors.add(dictionary.canonicalWord(found));
+                }
+            }
+        }
+        for (int i = 0; i < word.length() && word.length() > 1; i++) {
+            int found = dictionary.idOf(word.substring(0, i) + word.substring(i + 1));
+            if (found >= 0) {
+                neighbors.add(dictionary.canonicalWord(found));
+            }
+        }
+        return Collections.unmodifiableSet(neighbors);
+    }
+
     /**
      * Checks whether this {@code Word} object is equal to another object.
      * <p>
@@ -76,14 +181,87 @@ public class Word {
         }
 
         Word word1 = (Word) obj;
-        return word.equals(word1.word);
+        if (id >= 0 && word1.id >= 0 && dictionary == word1.dictionary) {
+            return id == word1.id;  // canonical words of one dictionary
+        }
+        return hash == word1.hash && word.equals(word1.word);
     }
 
     public int hashCode() {
-        return word.hashCode();
+        return hash;
     }
 
     public String toString() {
         return word;
     }
-}
\ No newline at end of file
+
+    /**
+     * The neighbors of a canonical word as a view over its row of the neighbor index.
+     * Membership is a binary search on ids; iteration yields canonical words. In a subset
+     * dictionary, ids outside the subset are skipped.
+     */
+    private static final class NeighborSet extends AbstractSet<Word> {
+        private final Dictionary dictionary;
+        private final NeighborIndex index;
+        private final int id;
+
+        NeighborSet(Word word) {
+            this.dictionary = word.dictionary;
+            this.index = dictionary.getNeighborIndex();
+            this.id = word.id;
+        }
+
+        private int size = -1;
+
+        @Override
+        public int size() {
+            if (size < 0) {
+                int count = 0;
+                for (int e = index.firstEdge(id), end = index.endEdge(id); e < end; e++) {
+                    if (dictionary.contains(index.targetAt(e))) {
+                        count++;
+                    }
+                }
+                size = count;
+            }
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Word)) {
+                return false;
+            }
+            Word other = (Word) o;
+            int otherId = other.dictionary == dictionary ? other.id : -1;
+            if (otherId < 0) {
+                otherId = dictionary.idOf(other.word);
+            }
+            return otherId >= 0 && dictionary.contains(otherId) && index.isNeighbor(id, otherId);
+        }
+
+        @Override
+        public Iterator<Word> iterator() {
+            return new Iterator<Word>() {
+                private int edge = index.firstEdge(id);
+                private final int end = index.endEdge(id);
+
+                @Override
+                public boolean hasNext() {
+                    while (edge < end && !dictionary.contains(index.targetAt(edge))) {
+                        edge++;
+                    }
+                    return edge < end;
+                }
+
+                @Override
+                public Word next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return dictionary.canonicalWord(index.targetAt(edge++));
+                }
+            };
+        }
+    }
+}
@@ -3,9 +3,42 @@ import java.util.*;
 import java.util.List;
 
 public class WordLadderGUI {
+    public static final int WIDTH = 800;
+    public static final int HEIGHT = 600;
+
+    // Fonts and colors are created once rather than on every frame
+    private static final Font TITLE_FONT = new Font("Serif", Font.BOLD, 28);
+    private static final Font ARIAL_12 = new Font("Arial", Font.PLAIN, 12);
+    private static final Font ARIAL_14 = new Font("Arial", Font.PLAIN, 14);
+    private static final Font ARIAL_16 = new Font("Arial", Font.PLAIN, 16);
+    private static final Font ARIAL_18 = new Font("Arial", Font.PLAIN, 18);
+    private static final Font ARIAL_20 = new Font("Arial", Font.PLAIN, 20);
+    private static final Font ARIAL_BOLD_16 = new Font("Arial", Font.BOLD, 16);
+    private static final Font ARIAL_BOLD_18 = new Font("Arial", Font.BOLD, 18);
+    private static final Font ARIAL_BOLD_20 = new Font("Arial", Font.BOLD, 20);
+    private static final Font ARIAL_BOLD_24 = new Font("Arial", Font.BOLD, 24);
+    private static final Font ARIAL_BOLD_32 = new Font("Arial", Font.BOLD, 32);
+    private static final Color STATUS_BLUE = new Color(0, 102, 204);
+    private static final Color PAPER = new Color(255, 255, 240);
+    private static final Color SHADE = new Color(0, 0, 0, 150);
+
+    private final Canvas canvas;
+
+    /**
+     * Opens the game window.
+     */
     public WordLadderGUI() {
-        StdDraw.setCanvasSize(800, 600);
-        StdDraw.enableDoubleBuffering();
+        this(new StdDrawCanvas(WIDTH, HEIGHT));
+    }
+
+    /**
+     * Draws onto the given canvas instead of the game window, e.g. an
+     * {@link ImageCanvas} for headless rendering.
+     *
+     * @param canvas the drawing surface
+     */
+    public WordLadderGUI(Canvas canvas) {
+        this.canvas = canvas;
     }
 
     /**
@@ -25,97 +58,97 @@ public class WordLadderGUI {
                           String userInput, String statusMessage) {
 
         // Background
-        StdDraw.clear();
-        StdDraw.picture(0.5, 0.5, "background.png", 1.0, 1.0);
+        canvas.clear();
+        canvas.picture(0.5, 0.5, "background.png", 1.0, 1.0);
 
         // Title
-        StdDraw.setPenColor(Color.BLACK);
-        StdDraw.setFont(new Font("Serif", Font.BOLD, 28));
-        StdDraw.text(0.5, 0.95, "WORD LADDER");
+        canvas.setPenColor(Color.BLACK);
+        canvas.setFont(TITLE_FONT);
+        canvas.text(0.5, 0.95, "WORD LADDER");
 
         // Start and Target Words
-        StdDraw.setFont(new Font("Arial", Font.PLAIN, 18));
-        StdDraw.textLeft(0.25, 0.85, "Start Word: " + startWord.toUpperCase());
-        StdDraw.textRight(0.75, 0.85, "Target Word: " + endWord.toUpperCase());
+        canvas.setFont(ARIAL_18);
+        canvas.textLeft(0.25, 0.85, "Start Word: " + startWord.toUpperCase());
+        canvas.textRight(0.75, 0.85, "Target Word: " + endWord.toUpperCase());
 
         // Current Word Display
         double boxY = 0.78;
         double boxX = 0.35;
-        StdDraw.setFont(new Font("Arial", Font.BOLD, 24));
+        canvas.setFont(ARIAL_BOLD_24);
         for (int i = 0; i < currentWord.length(); i++) {
-            StdDraw.square(boxX + i * 0.06, boxY, 0.025);
-            StdDraw.text(boxX + i * 0.06, boxY, String.valueOf(currentWord.charAt(i)).toUpperCase());
+            canvas.square(boxX + i * 0.06, boxY, 0.025);
+            canvas.text(boxX + i * 0.06, boxY, String.valueOf(currentWord.charAt(i)).toUpperCase());
         }
 
         // Typing Guess Field (4 boxes)
-        StdDraw.setFont(new Font("Arial", Font.PLAIN, 16));
-        StdDraw.text(0.5, 0.65, "Type your guess below:");
+        canvas.setFont(ARIAL_16);
+        canvas.text(0.5, 0.65, "Type your guess below:");
 
         double inputY = 0.6;
         double inputX = 0.38;
         for (int i = 0; i < 4; i++) {
-            StdDraw.square(inputX + i * 0.06, inputY, 0.025);
+            canvas.square(inputX + i * 0.06, inputY, 0.025);
             if (i < userInput.length()) {
-                StdDraw.text(inputX + i * 0.06, inputY, String.valueOf(userInput.charAt(i)).toUpperCase());
+                canvas.text(inputX + i * 0.06, inputY, String.valueOf(userInput.charAt(i)).toUpperCase());
             }
         }
 
         // Move History
-        StdDraw.setFont(new Font("Arial", Font.PLAIN, 14));
-        StdDraw.textLeft(0.05, 0.85, "Move History:");
+        canvas.setFont(ARIAL_14);
+        canvas.textLeft(0.05, 0.85, "Move History:");
         double moveY = 0.81;
         for (int i = 0; i < Math.min(10, history.size()); i++) {
-            StdDraw.textLeft(0.05, moveY, history.get(i));
+            canvas.textLeft(0.05, moveY, history.get(i));
             moveY -= 0.035;
         }
 
         // Valid Neighbors
-        StdDraw.textRight(0.95, 0.85, "Valid Neighbors:");
+        canvas.textRight(0.95, 0.85, "Valid Neighbors:");
         double neighborY = 0.81;
         List<String> neighborList = new ArrayList<>(neighbors);
         for (int i = 0; i < Math.min(10, neighborList.size()); i++) {
-            StdDraw.textRight(0.95, neighborY, neighborList.get(i));
+            canvas.textRight(0.95, neighborY, neighborList.get(i));
             neighborY -= 0.035;
         }
 
         // Status Message
-        StdDraw.setFont(new Font("Arial", Font.BOLD, 16));
-        StdDraw.setPenColor(new Color(0, 102, 204));
-        StdDraw.text(0.5, 0.15, statusMessage);
+        canvas.setFont(ARIAL_BOLD_16);
+        canvas.setPenColor(STATUS_BLUE);
+        canvas.text(0.5, 0.15, statusMessage);
 
         // Instructions hint
-        StdDraw.setFont(new Font("Arial", Font.PLAIN, 12));
-        StdDraw.setPenColor(Color.DARK_GRAY);
-        StdDraw.text(0.5, 0.03, "Press '?' for Instructions");
+        canvas.setFont(ARIAL_12);
+        canvas.setPenColor(Color.DARK_GRAY);
+        canvas.text(0.5, 0.03, "Press '?' for Instructions");
 
         // BUTTONS
-        StdDraw.setFont(new Font("Arial", Font.PLAIN, 14));
+        canvas.setFont(ARIAL_14);
         double buttonY = 0.10;
         double buttonWidth = 0.08;
         double buttonHeight = 0.035;
 
         // Restart Button
-        StdDraw.setPenColor(Color.LIGHT_GRAY);
-        StdDraw.filledRectangle(0.3, buttonY, buttonWidth, buttonHeight);
-        StdDraw.setPenColor(Color.BLACK);
-        StdDraw.rectangle(0.3, buttonY, buttonWidth, buttonHeight);
-        StdDraw.text(0.3, buttonY, "Restart");
+        canvas.setPenColor(Color.LIGHT_GRAY);
+        canvas.filledRectangle(0.3, buttonY, buttonWidth, buttonHeight);
+        canvas.setPenColor(Color.BLACK);
+        canvas.rectangle(0.3, buttonY, buttonWidth, buttonHeight);
+        canvas.text(0.3, buttonY, "Restart");
 
         // Give Up Button
-        StdDraw.setPenColor(Color.LIGHT_GRAY);
-        StdDraw.filledRectangle(0.5, buttonY, buttonWidth, buttonHeight);
-        StdDraw.setPenColor(Color.BLACK);
-        StdDraw.rectangle(0.5, buttonY, buttonWidth, buttonHeight);
-        StdDraw.text(0.5, buttonY, "Give Up");
+        canvas.setPenColor(Color.LIGHT_GRAY);
+        canvas.filledRectangle(0.5, buttonY, buttonWidth, buttonHeight);
+        canvas.setPenColor(Color.BLACK);
+        canvas.rectangle(0.5, buttonY, buttonWidth, buttonHeight);
+        canvas.text(0.5, buttonY, "Give Up");
 
         // Quit Button
-        StdDraw.setPenColor(Color.LIGHT_GRAY);
-        StdDraw.filledRectangle(0.7, buttonY, buttonWidth, buttonHeight);
-        StdDraw.setPenColor(Color.BLACK);
-        StdDraw.rectangle(0.7, buttonY, buttonWidth, buttonHeight);
-        StdDraw.text(0.7, buttonY, "Quit");
+        canvas.setPenColor(Color.LIGHT_GRAY);
+        canvas.filledRectangle(0.7, buttonY, buttonWidth, buttonHeight);
+        canvas.setPenColor(Color.BLACK);
+        canvas.rectangle(0.7, buttonY, buttonWidth, buttonHeight);
+        canvas.text(0.7, buttonY, "Quit");
 
-        StdDraw.show();
+        canvas.show();
     }
 
     /**
@@ -125,28 +158,28 @@ public class WordLadderGUI {
      * @param path the list of words representing the shortest transformation path
      */
     public void drawSolutionPopup(List<String> path) {
-        StdDraw.clear();
-        StdDraw.setPenColor(new Color(255, 255, 240));
-        StdDraw.filledRectangle(0.5, 0.5, 0.45, 0.45);
+        canvas.clear();
+        canvas.setPenColor(PAPER);
+        canvas.filledRectangle(0.5, 0.5, 0.45, 0.45);
 
-        StdDraw.setPenColor(Color.BLACK);
-        StdDraw.rectangle(0.5, 0.5, 0.45, 0.45);
+        canvas.setPenColor(Color.BLACK);
+        canvas.rectangle(0.5, 0.5, 0.45, 0.45);
 
-        StdDraw.setFont(new Font("Arial", Font.BOLD, 20));
-        StdDraw.text(0.5, 0.85, "Shortest Path Found!");
+        canvas.setFont(ARIAL_BOLD_20);
+        canvas.text(0.5, 0.85, "Shortest Path Found!");
 
-        StdDraw.setFont(new Font("Arial", Font.PLAIN, 16));
+        canvas.setFont(ARIAL_16);
         double y = 0.75;
         for (String word : path) {
-            StdDraw.text(0.5, y, word);
+            canvas.text(0.5, y, word);
             y -= 0.04;
         }
 
-        StdDraw.setFont(new Font("Arial", Font.PLAIN, 12));
-        StdDraw.setPenColor(Color.DARK_GRAY);
-        StdDraw.text(0.5, 0.1, "Press any key to exit...");
+        canvas.setFont(ARIAL_12);
+        canvas.setPenColor(Color.DARK_GRAY);
+        canvas.text(0.5, 0.1, "Press any key to exit...");
 
-        StdDraw.show();
+        canvas.show();
     }
 
 
@@ -154,38 +187,38 @@ public class WordLadderGUI {
      * Draws a popup overlay for instructions.
      */
     public void drawInstructionsPopup() {
-        StdDraw.setPenColor(new Color(0, 0, 0, 150));
-        StdDraw.filledRectangle(0.5, 0.5, 0.5, 0.5);
+        canvas.setPenColor(SHADE);
+        canvas.filledRectangle(0.5, 0.5, 0.5, 0.5);
 
-        StdDraw.setPenColor(new Color(255, 255, 240));
-        StdDraw.filledRectangle(0.5, 0.5, 0.4, 0.4);
+        canvas.setPenColor(PAPER);
+        canvas.filledRectangle(0.5, 0.5, 0.4, 0.4);
 
-        StdDraw.setPenColor(Color.BLACK);
-        StdDraw.rectangle(0.5, 0.5, 0.4, 0.4);
+        canvas.setPenColor(Color.BLACK);
+        canvas.rectangle(0.5, 0.5, 0.4, 0.4);
 
-        StdDraw.setFont(new Font("Arial", Font.BOLD, 18));
-        StdDraw.text(0.5, 0.8, "📜 HOW TO PLAY 📜");
+        canvas.setFont(ARIAL_BOLD_18);
+        canvas.text(0.5, 0.8, "📜 HOW TO PLAY 📜");
 
-        StdDraw.setFont(new Font("Arial", Font.PLAIN, 14));
+        canvas.setFont(ARIAL_14);
         double y = 0.75;
         double gap = 0.05;
 
 
-        StdDraw.text(0.5, y -= gap, "Objective: Start ➔ Target by changing 1 letter.");
-        StdDraw.text(0.5, y -= gap, "You’ll be given a random start word and target word. ");
-        StdDraw.text(0.5, y -= gap, "Your goal is to reach the target word by " +
+        canvas.text(0.5, y -= gap, "Objective: Start ➔ Target by changing 1 letter.");
+        canvas.text(0.5, y -= gap, "You’ll be given a random start word and target word. ");
+        canvas.text(0.5, y -= gap, "Your goal is to reach the target word by " +
                 "guessing one-letter-different valid words.");
-        StdDraw.text(0.5, y -= gap, "No repeating previous words.");
-        StdDraw.text(0.5, y -= gap, "At each turn, valid neighbor " +
+        canvas.text(0.5, y -= gap, "No repeating previous words.");
+        canvas.text(0.5, y -= gap, "At each turn, valid neighbor " +
                 "words are displayed to help you.");
-        StdDraw.text(0.5, y -= gap, "Press [ENTER] to submit.");
-        StdDraw.text(0.5, y -= gap, "Use the buttons for Restart, Give Up, or Quit!");
+        canvas.text(0.5, y -= gap, "Press [ENTER] to submit, [!] for a hint.");
+        canvas.text(0.5, y -= gap, "Use the buttons for Restart, Give Up, or Quit!");
 
-        StdDraw.setFont(new Font("Arial", Font.PLAIN, 12));
-        StdDraw.setPenColor(Color.DARK_GRAY);
-        StdDraw.text(0.5, 0.18, "Press any key to close.");
+        canvas.setFont(ARIAL_12);
+        canvas.setPenColor(Color.DARK_GRAY);
+        canvas.text(0.5, 0.18, "Press any key to close.");
 
-        StdDraw.show();
+        canvas.show();
     }
 
     /**
@@ -197,29 +230,29 @@ public class WordLadderGUI {
      * @param history   the list of words used in the path
      */
     public void drawVictoryScreen(String startWord, String endWord, List<String> history) {
-        StdDraw.clear();
-        StdDraw.picture(0.5, 0.5, "victory_image.png", 1.0, 1.0);
+        canvas.clear();
+        canvas.picture(0.5, 0.5, "victory_image.png", 1.0, 1.0);
 
-        StdDraw.setFont(new Font("Arial", Font.BOLD, 32));
-        StdDraw.setPenColor(Color.BLACK);
-        StdDraw.text(0.5, 0.75, "🎉 Congratulations! 🎉");
+        canvas.setFont(ARIAL_BOLD_32);
+        canvas.setPenColor(Color.BLACK);
+        canvas.text(0.5, 0.75, "🎉 Congratulations! 🎉");
 
-        StdDraw.setFont(new Font("Arial", Font.PLAIN, 20));
-        StdDraw.text(0.5, 0.7, "You successfully transformed:");
-        StdDraw.text(0.5, 0.65, startWord.toUpperCase() + " ➡ " + endWord.toUpperCase());
+        canvas.setFont(ARIAL_20);
+        canvas.text(0.5, 0.7, "You successfully transformed:");
+        canvas.text(0.5, 0.65, startWord.toUpperCase() + " ➡ " + endWord.toUpperCase());
 
-        StdDraw.text(0.5, 0.55, "Total Moves: " + (history.size() - 1));
+        canvas.text(0.5, 0.55, "Total Moves: " + (history.size() - 1));
 
-        StdDraw.setFont(new Font("Arial", Font.PLAIN, 16));
+        canvas.setFont(ARIAL_16);
         double y = 0.45;
-        StdDraw.text(0.5, y, "Path:");
+        canvas.text(0.5, y, "Path:");
         y -= 0.05;
 
         for (String move : history) {
-            StdDraw.text(0.5, y, move);
+            canvas.text(0.5, y, move);
             y -= 0.035;
         }
 
-        StdDraw.show();
+        canvas.show();
     }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Exact membership structure behind a {@link Dictionary}.
+ * <p>
+ * Implementations hold normalized (trimmed, lowercase) words and number them densely
+ * in alphabetical order, so a word has the same id whichever store backs it.
+ */
+interface WordStore {
+
+    /**
+     * @return the number of words stored
+     */
+    int size();
+
+    /**
+     * @param word a normalized word
+     * @return true if the word is stored
+     */
+    boolean contains(String word);
+
+    /**
+     * @param word a normalized word
+     * @return the id of the word, or -1 if it is not stored
+     */
+    int idOf(String word);
+
+    /**
+     * @param id a word id in {@code [0, size())}
+     * @return the word with that id
+     */
+    String wordAt(int id);
+
+    /**
+     * Reports the id of every stored word that matches {@code pattern} at all positions
+     * except {@code wildcard}, where any letter from 'a' to 'z' is accepted (including the
+     * pattern's own).
+     *
+     * @param pattern  the word to match, as characters
+     * @param wildcard the position that may hold any letter
+     * @param action   receives the id of each matching word, in ascending order
+     */
+    void forEachMatch(char[] pattern, int wildcard, IntConsumer action);
+
+    /**
+     * @return the one-letter-different neighbor index over this store's ids
+     */
+    NeighborIndex buildNeighborIndex();
+
+    /**
+     * @return an unmodifiable view of the stored words
+     */
+    Set<String> asSet();
+}
@@ -0,0 +1,79 @@
+import java.util.Arrays;
+
+/**
+ * A time-based animation of one word turning into another, one changed letter at a
+ * time. The letters change at a fixed pace from the moment the tween starts. The game
+ * loop asks for the word to show at each frame's timestamp, so the animation runs at
+ * the same speed whatever the frame rate and never holds up input.
+ * <p>
+ * Words of different lengths (an added or removed letter) have no letter-by-letter
+ * animation and switch to the new word at once. Immutable.
+ */
+public final class WordTween {
+
+    private final String from;
+    private final String to;
+    private final long startNanos;
+    private final long stepNanos;
+    private final int[] changed; // positions that differ, in order
+
+    /**
+     * @param from       the word shown before the move
+     * @param to         the word the move leads to
+     * @param startNanos when the animation starts, on the frame clock
+     * @param stepNanos  how long each changed letter is shown before the next one changes
+     */
+    public WordTween(String from, String to, long startNanos, long stepNanos) {
+        this.from = from;
+        this.to = to;
+        this.startNanos = startNanos;
+        this.stepNanos = stepNanos;
+        if (from.length() != to.length()) {
+            this.changed = new int[0];
+            return;
+        }
+        int count = 0;
+        int[] positions = new int[from.length()];
+        for (int i = 0; i < from.length(); i++) {
+            if (from.charAt(i) != to.charAt(i)) {
+                positions[count++] = i;
+            }
+        }
+        this.changed = Arrays.copyOf(positions, count);
+    }
+
+    /**
+     * @param now a frame timestamp
+     * @return the word to show at that time: the first changed letter is shown at once,
+     *         each further one {@code stepNanos} after the previous one
+     */
+    public String wordAt(long now) {
+        if (changed.length == 0) {
+            return to;
+        }
+        long steps = Math.max(0, now - startNanos) / stepNanos + 1;
+        if (steps >= changed.length) {
+            return to;
+        }
+        char[] word = from.toCharArray();
+        for (int i = 0; i < steps; i++) {
+            word[changed[i]] = to.charAt(changed[i]);
+        }
+        return new String(word);
+    }
+
+    /**
+     * @param now a frame timestamp
+     * @return true once the last letter has been shown for a full step
+     */
+    public boolean isFinished(long now) {
+        return now - startNanos >= Math.max(1, changed.length) * stepNanos;
+    }
+
+    /**
+     * @return the word the animation ends on
+     */
+    public String getTarget() {
+        return to;
+    }
+}
@@ -0,0 +1,101 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+public class BloomFilterTest {
+
+    private Dictionary dictionary;
+
+    @BeforeEach
+    public void setUp() {
+        dictionary = new Dictionary("word_ladder_words.txt");
+    }
+
+    @Test
+    public void testNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(dictionary.size());
+        for (String w : dictionary.getAllWords()) {
+            filter.add(w);
+        }
+        for (String w : dictionary.getAllWords()) {
+            assertTrue(filter.mightContain(w));
+            assertTrue(filter.mightContain(w.toCharArray()));
+        }
+    }
+
+    @Test
+    public void testFalsePositiveRateIsLow() {
+        Random random = new Random(3);
+        Set<String> words = new HashSet<>();
+        while (words.size() < 20_000) {
+            words.add(randomWord(random));
+        }
+        BloomFilter filter = new BloomFilter(words.size());
+        for (String w : words) {
+            filter.add(w);
+        }
+
+        int trials = 0;
+        int falsePositives = 0;
+        while (trials < 100_000) {
+            String w = randomWord(random);
+            if (!words.contains(w)) {
+                trials++;
+                if (filter.mightContain(w)) {
+                    falsePositives++;
+                }
+            }
+        }
+        assertTrue(falsePositives < trials * 0.03, "False positive rate too high: " + falsePositives);
+    }
+
+    @Test
+    public void testPrefilteredDictionaryAgreesWithExact() {
+        Dictionary filtered = dictionary.withBloomPrefilter();
+        assertTrue(filtered.hasBloomPrefilter());
+        assertFalse(dictionary.hasBloomPrefilter());
+        assertSame(filtered, filtered.withBloomPrefilter());
+        assertSame(dictionary.getNeighborIndex(), filtered.getNeighborIndex());
+
+        for (String w : dictionary.getAllWords()) {
+            assertEquals(new Word(w, dictionary).getNeighbors(), new Word(w, filtered).getNeighbors());
+        }
+        assertTrue(filtered.isValidWord("Cold"));
+        assertFalse(filtered.isValidWord("zzzz"));
+        assertEquals(-1, filtered.idOf("zzzz"));
+    }
+
+    @Test
+    public void testPrefilteredNeighborsOfNonDictionaryWords() {
+        // Words outside the dictionary generate candidates, which the prefilter screens
+        Dictionary filtered = dictionary.withBloomPrefilter();
+        Random random = new Random(5);
+        int outsiders = 0;
+        int withNeighbors = 0;
+        for (String w : dictionary.getAllWords()) {
+            char[] chars = w.toCharArray();
+            chars[random.nextInt(chars.length)] = (char) ('a' + random.nextInt(26));
+            String outsider = new String(chars);
+            if (dictionary.isValidWord(outsider)) {
+                continue;
+            }
+            outsiders++;
+            Set<Word> exact = new Word(outsider, dictionary).getNeighbors();
+            assertEquals(exact, new Word(outsider, filtered).getNeighbors(), outsider);
+            if (!exact.isEmpty()) {
+                withNeighbors++;
+            }
+        }
+        assertTrue(outsiders > 100);
+        assertTrue(withNeighbors > outsiders / 2); // one letter from a word, so mostly connected
+    }
+
+    private static String randomWord(Random random) {
+        char[] w = new char[4 + random.nextInt(4)];
+        for (int i = 0; i < w.length; i++) {
+            w[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(w);
+    }
+}
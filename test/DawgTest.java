@@ -0,0 +1,81 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+public class DawgTest {
+
+    private Dictionary hashDictionary;
+    private Dictionary dawgDictionary;
+
+    @BeforeEach
+    public void setUp() {
+        hashDictionary = new Dictionary("word_ladder_words.txt");
+        dawgDictionary = new Dictionary("word_ladder_words.txt", Dictionary.Backend.DAWG);
+    }
+
+    @Test
+    public void testMembershipMatchesHashBackend() {
+        assertEquals(hashDictionary.size(), dawgDictionary.size());
+        assertEquals(hashDictionary.getAllWords(), dawgDictionary.getAllWords());
+        assertTrue(dawgDictionary.isValidWord("COLD"));
+        assertFalse(dawgDictionary.isValidWord("col"));
+        assertFalse(dawgDictionary.isValidWord("colds"));
+        assertFalse(dawgDictionary.isValidWord(""));
+    }
+
+    @Test
+    public void testIdsMatchHashBackend() {
+        for (int id = 0; id < hashDictionary.size(); id++) {
+            String word = hashDictionary.wordAt(id);
+            assertEquals(word, dawgDictionary.wordAt(id));
+            assertEquals(id, dawgDictionary.idOf(word));
+        }
+    }
+
+    @Test
+    public void testNeighborIndexMatchesHashBackend() {
+        NeighborIndex expected = hashDictionary.getNeighborIndex();
+        NeighborIndex actual = dawgDictionary.getNeighborIndex();
+        for (int id = 0; id < hashDictionary.size(); id++) {
+            assertArrayEquals(expected.neighbors(id), actual.neighbors(id));
+        }
+    }
+
+    @Test
+    public void testWildcardMatchOnRandomWords() {
+        Random random = new Random(11);
+        Set<String> words = new TreeSet<>();
+        for (int i = 0; i < 5000; i++) {
+            char[] w = new char[1 + random.nextInt(7)];
+            for (int j = 0; j < w.length; j++) {
+                w[j] = (char) ('a' + random.nextInt(6));
+            }
+            words.add(new String(w));
+        }
+        String[] sorted = words.toArray(new String[0]);
+        Dawg dawg = new Dawg(sorted);
+        HashWordStore hash = new HashWordStore(sorted);
+
+        assertEquals(sorted.length, dawg.size());
+        for (String w : sorted) {
+            char[] chars = w.toCharArray();
+            for (int pos = 0; pos < chars.length; pos++) {
+                List<Integer> expected = new ArrayList<>();
+                List<Integer> actual = new ArrayList<>();
+                hash.forEachMatch(chars, pos, expected::add);
+                dawg.forEachMatch(chars, pos, actual::add);
+                assertEquals(expected, actual);
+            }
+        }
+        assertTrue(dawg.nodeCount() < sorted.length);
+    }
+
+    @Test
+    public void testEmptyDawg() {
+        Dawg dawg = new Dawg(new String[0]);
+        assertEquals(0, dawg.size());
+        assertEquals(-1, dawg.idOf("a"));
+        assertFalse(dawg.iterator().hasNext());
+    }
+}
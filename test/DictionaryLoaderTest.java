@@ -0,0 +1,69 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+public class DictionaryLoaderTest {
+
+    private Path wordFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        wordFile = Files.createTempFile("words", ".txt");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(wordFile);
+    }
+
+    @Test
+    public void testTrimsLowercasesAndDeduplicates() throws IOException {
+        Files.write(wordFile, "  Cold\r\nCORD\n\n\tcard \ncold\nward".getBytes(StandardCharsets.US_ASCII));
+        DictionaryLoader.Result result = DictionaryLoader.load(wordFile);
+        assertEquals(Arrays.asList("card", "cold", "cord", "ward"), Arrays.asList(result.getWords()));
+        assertTrue(result.getBytes() > 0);
+    }
+
+    @Test
+    public void testNonAsciiLinesFallBackToUtf8() throws IOException {
+        Files.write(wordFile, "Éclair\nbold\n".getBytes(StandardCharsets.UTF_8));
+        DictionaryLoader.Result result = DictionaryLoader.load(wordFile);
+        assertEquals(Arrays.asList("bold", "éclair"), Arrays.asList(result.getWords()));
+    }
+
+    @Test
+    public void testParallelChunksMatchSequentialLoad() throws IOException {
+        Random random = new Random(7);
+        StringBuilder sb = new StringBuilder();
+        Set<String> expected = new TreeSet<>();
+        while (sb.length() < 3 * (1 << 20)) { // large enough to be split into chunks
+            char[] w = new char[3 + random.nextInt(8)];
+            for (int i = 0; i < w.length; i++) {
+                w[i] = (char) ('a' + random.nextInt(26));
+            }
+            String word = new String(w);
+            expected.add(word);
+            sb.append(random.nextBoolean() ? word.toUpperCase() : word).append('\n');
+        }
+        Files.write(wordFile, sb.toString().getBytes(StandardCharsets.US_ASCII));
+
+        List<String> sequential = Arrays.asList(DictionaryLoader.load(wordFile, 1).getWords());
+        List<String> parallel = Arrays.asList(DictionaryLoader.load(wordFile, 4).getWords());
+        assertEquals(new ArrayList<>(expected), sequential);
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        assertEquals(0, DictionaryLoader.load(wordFile).getWords().length);
+    }
+
+    @Test
+    public void testMissingFileThrows() {
+        assertThrows(IOException.class, () -> DictionaryLoader.load(Paths.get("no_such_file.txt")));
+    }
+}
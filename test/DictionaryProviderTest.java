@@ -0,0 +1,75 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class DictionaryProviderTest {
+
+    private Path wordFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        wordFile = Files.createTempFile("words", ".txt");
+        Files.write(wordFile, Arrays.asList("cold", "cord", "card"));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(wordFile);
+    }
+
+    @Test
+    public void testReloadSwapsSnapshotAndKeepsOldOneIntact() throws Exception {
+        DictionaryProvider provider = new DictionaryProvider(wordFile.toString());
+        Dictionary before = provider.current();
+
+        Files.write(wordFile, Arrays.asList("cold", "cord", "card", "ward", "word"));
+        Dictionary after = provider.reload(wordFile.toString()).get(5, TimeUnit.SECONDS);
+
+        assertSame(after, provider.current());
+        assertTrue(after.isValidWord("word"));
+        assertFalse(before.isValidWord("word")); // in-flight snapshot unchanged
+        assertEquals(3, before.size());
+        assertEquals(3, after.getNeighborIndex().degree(after.idOf("cord"))); // cold, card, word
+    }
+
+    @Test
+    public void testFailedReloadKeepsCurrentSnapshot() {
+        DictionaryProvider provider = new DictionaryProvider(wordFile.toString());
+        Dictionary before = provider.current();
+
+        CompletableFuture<Dictionary> reload = provider.reload("no_such_file.txt");
+        assertThrows(ExecutionException.class, () -> reload.get(5, TimeUnit.SECONDS));
+        assertSame(before, provider.current());
+    }
+
+    @Test
+    public void testReadersNeverSeeHalfBuiltIndex() throws Exception {
+        DictionaryProvider provider = new DictionaryProvider(wordFile.toString());
+        Files.write(wordFile, Arrays.asList("cold", "cord", "card", "ward", "word", "wore"));
+
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            results.add(readers.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    Dictionary d = provider.current();
+                    if (d.getNeighborIndex().size() != d.size()) {
+                        return false;
+                    }
+                }
+                return true;
+            }));
+        }
+        for (int i = 0; i < 5; i++) {
+            provider.reload(wordFile.toString()).get(5, TimeUnit.SECONDS);
+        }
+        for (Future<Boolean> r : results) {
+            assertTrue(r.get(30, TimeUnit.SECONDS));
+        }
+        readers.shutdown();
+    }
+}
@@ -0,0 +1,114 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+public class DictionaryRegistryTest {
+
+    private Path wordFile;
+    private Path blockFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        wordFile = Files.createTempFile("words", ".txt");
+        Files.write(wordFile, Arrays.asList("cold", "cord", "card", "ward", "warm", "wold", "word", "worm"));
+        blockFile = Files.createTempFile("blocked", ".txt");
+        Files.write(blockFile, Arrays.asList("cord", "zzzz"));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(wordFile);
+        Files.deleteIfExists(blockFile);
+    }
+
+    @Test
+    public void testEachDictionaryIsLoadedOnce() throws Exception {
+        DictionaryRegistry registry = new DictionaryRegistry();
+        registry.registerFile("en", wordFile.toString());
+        assertFalse(registry.isLoaded("en"));
+
+        ExecutorService sessions = Executors.newFixedThreadPool(4);
+        List<Future<Dictionary>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(sessions.submit(() -> registry.get("en")));
+        }
+        Dictionary first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<Dictionary> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        sessions.shutdown();
+        assertTrue(registry.isLoaded("en"));
+        assertThrows(IllegalArgumentException.class, () -> registry.get("fr"));
+        assertThrows(IllegalArgumentException.class, () -> registry.registerFile("en", wordFile.toString()));
+    }
+
+    @Test
+    public void testSubsetSharesStorageAndHonoursItsMask() throws Exception {
+        DictionaryRegistry registry = new DictionaryRegistry();
+        registry.registerFile("en", wordFile.toString());
+        registry.registerBlockList("en-clean", "en", blockFile.toString());
+        Dictionary base = registry.get("en");
+        Dictionary clean = registry.get("en-clean");
+
+        assertTrue(clean.isSubset());
+        assertSame(base, clean.getBase());
+        assertSame(base.getNeighborIndex(), clean.getNeighborIndex());
+        assertEquals(base.size(), clean.size());
+        assertEquals(base.size() - 1, clean.wordCount());
+        assertFalse(clean.isValidWord("cord"));
+        assertEquals(-1, clean.idOf("cord"));
+        assertEquals(base.idOf("card"), clean.idOf("card"));
+        assertFalse(clean.getAllWords().contains("cord"));
+        assertNotEquals(base.checksum(), clean.checksum());
+
+        Set<String> neighbors = clean.wordFor("card").getNeighbors().stream()
+                .map(Word::getWord).collect(Collectors.toSet());
+        assertEquals(new HashSet<>(Collections.singletonList("ward")), neighbors);
+        assertEquals(1, clean.wordFor("card").getNeighbors().size());
+    }
+
+    @Test
+    public void testSearchesStayInsideTheSubset() throws Exception {
+        DictionaryRegistry registry = new DictionaryRegistry();
+        registry.registerFile("en", wordFile.toString());
+        registry.registerSubset("en-no-word", "en", word -> !word.equals("word"));
+        registry.registerSubset("en-no-word-ward", "en-no-word", word -> !word.equals("ward"));
+        Dictionary base = registry.get("en");
+        Dictionary detour = registry.get("en-no-word");
+        Dictionary cut = registry.get("en-no-word-ward");
+
+        SearchContext search = SearchContext.forThread();
+        assertEquals(3, search.shortestPath(base, base.idOf("cold"), base.idOf("worm"))); // cold-cord-word-worm
+        assertEquals(5, search.shortestPath(detour, detour.idOf("cold"), detour.idOf("worm"))); // cold-cord-card-ward-warm-worm
+        assertEquals(-1, search.shortestPath(cut, cut.idOf("cold"), cut.idOf("worm")));
+        assertEquals(base.wordCount() - 2, cut.wordCount());
+
+        WeightedSearch weighted = WeightedSearch.forThread();
+        assertEquals(5, weighted.shortestPath(detour, LadderRules.ADD_REMOVE, detour.idOf("cold"), detour.idOf("worm")));
+        assertEquals(-1, weighted.shortestPath(cut, LadderRules.ADD_REMOVE, cut.idOf("cold"), cut.idOf("worm")));
+    }
+
+    @Test
+    public void testFailedLoadCanBeRetried() throws Exception {
+        Path later = wordFile.resolveSibling(wordFile.getFileName() + ".later");
+        DictionaryRegistry registry = new DictionaryRegistry();
+        registry.registerFile("later", later.toString());
+        registry.registerAllowList("kids", "later", wordFile.toString());
+
+        assertThrows(IOException.class, () -> registry.get("kids"));
+        assertFalse(registry.isLoaded("later"));
+        try {
+            Files.write(later, Arrays.asList("cold", "bold", "card"));
+            Dictionary kids = registry.get("kids");
+            assertEquals(2, kids.wordCount()); // cold and card are on the allow list
+            assertFalse(kids.isValidWord("bold"));
+        } finally {
+            Files.deleteIfExists(later);
+        }
+    }
+}
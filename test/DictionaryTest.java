@@ -2,6 +2,8 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Set;
 
 public class DictionaryTest {
@@ -42,4 +44,42 @@ public class DictionaryTest {
         assertTrue(allWords.contains("chat"));
         assertFalse(allWords.contains("giraffe"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetAllWordsIsUnmodifiable() {
+        assertThrows(UnsupportedOperationException.class,
+                () -> dictionary.getAllWords().add("zzzz"));
+    }
+
+    @Test
+    public void testIdsRoundTrip() {
+        int id = dictionary.idOf("Cold");
+        assertTrue(id >= 0);
+        assertEquals("cold", dictionary.wordAt(id));
+        assertEquals(-1, dictionary.idOf("zzzz"));
+        assertEquals(dictionary.getAllWords().size(), dictionary.size());
+    }
+
+    @Test
+    public void testNeighborIndexMatchesWordNeighbors() {
+        NeighborIndex index = dictionary.getNeighborIndex();
+        for (String w : dictionary.getAllWords()) {
+            Set<String> expected = new HashSet<>();
+            for (Word n : new Word(w, dictionary).getNeighbors()) {
+                expected.add(n.getWord());
+            }
+            Set<String> actual = new HashSet<>();
+            index.forEachNeighbor(dictionary.idOf(w), id -> actual.add(dictionary.wordAt(id)));
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testBuildFromCollectionNormalizes() {
+        Dictionary small = new Dictionary(Arrays.asList(" Cold ", "CORD", "", "cord"));
+        assertEquals(2, small.size());
+        assertTrue(small.isValidWord("cold"));
+        assertArrayEquals(new int[]{small.idOf("cord")},
+                small.getNeighborIndex().neighbors(small.idOf("cold")));
+    }
+}
@@ -0,0 +1,484 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Differential stress tests: every neighbor index and solver is checked against a plain
+ * reference implementation on randomly generated dictionaries.
+ * <p>
+ * The reference is the original algorithm, written out on strings. Neighbors are
+ * generated by trying every letter at every position (adding and removing letters too,
+ * under {@link LadderRules#ADD_REMOVE}) and looking the candidates up in a
+ * {@code HashSet}. Ladders are found by breadth-first search over those neighbors. Each
+ * engine must agree with it on whether a ladder exists and how long the shortest one
+ * is, and every ladder it returns must be a valid one between the right words.
+ * <p>
+ * Dictionaries vary in size, word lengths and letter distribution. Small alphabets give
+ * dense graphs; skewed ones give long chains and many components. Every run is seeded,
+ * and failures name the seed, dictionary and query. The concurrent test runs all
+ * thread-safe engines at once on fresh dictionaries, so lazily built shared structures
+ * are raced. Each test prints the time spent per engine.
+ */
+public class EngineDifferentialTest {
+
+    private static final long SEED = 0x5EED_2026L;
+    private static final int[] SIZES = {20, 200, 2_000, 8_000};
+    private static final String ENGLISH = "eeeeeeeeeeeeaaaaaaaaaiiiiiiiiioooooooonnnnnnrrrrrrttttttllllssssuuuuddddgggbbccmmppffhhvvwwyykjxqz";
+    /** Letters a move may change, mixed with characters it may not. */
+    private static final String MIXED = "abcdé'1";
+    private static final String[] ALPHABETS = {"abcd", "abcdefghijklmnopqrstuvwxyz", ENGLISH, MIXED};
+    private static final int QUERIES = 30;
+    private static final Map<Set<String>, char[]> CHARACTERS = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /** A random dictionary with its reference word set and queries. */
+    private static final class Fixture {
+        final String name;
+        final Set<String> words;
+        final List<String[]> queries = new ArrayList<>();
+        final Dictionary hash;
+        final Dictionary dawg;
+        final Dictionary bloom;
+
+        Fixture(String name, Set<String> words, Random random) {
+            this.name = name;
+            this.words = words;
+            this.hash = new Dictionary(words, Dictionary.Backend.HASH);
+            this.dawg = new Dictionary(words, Dictionary.Backend.DAWG);
+            this.bloom = new Dictionary(words, Dictionary.Backend.HASH).withBloomPrefilter();
+            List<String> list = new ArrayList<>(words);
+            Collections.sort(list);
+            for (int q = 0; q < QUERIES; q++) {
+                String from = list.get(random.nextInt(list.size()));
+                String to = list.get(random.nextInt(list.size()));
+                if (q % 10 == 0) {
+                    to = from; // zero-move ladders
+                }
+                queries.add(new String[]{from, to});
+            }
+        }
+    }
+
+    /** The answer of one engine to one query. */
+    private static final class Answer {
+        final int moves;           // -1 if there is no ladder
+        final List<String> path;   // null if the engine only reports a length
+
+        Answer(int moves, List<String> path) {
+            this.moves = moves;
+            this.path = path;
+        }
+    }
+
+    /** A solver under test. */
+    private interface Engine {
+        Answer solve(Fixture fixture, String from, String to) throws Exception;
+    }
+
+    private final Map<String, LongAdder> engineNanos = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> engineCalls = new ConcurrentHashMap<>();
+
+    @Test
+    public void testNeighborsMatchReference() {
+        Random random = new Random(SEED);
+        for (Fixture fixture : fixtures(random)) {
+            List<String> list = new ArrayList<>(fixture.words);
+            Collections.sort(list);
+            for (int i = 0; i < Math.min(300, list.size()); i++) {
+                String word = list.get(random.nextInt(list.size()));
+                for (Dictionary dictionary : Arrays.asList(fixture.hash, fixture.dawg, fixture.bloom)) {
+                    String where = fixture.name + "/" + dictionary.getBackend()
+                            + (dictionary.hasBloomPrefilter() ? "+bloom" : "") + " word " + word;
+                    assertEquals(referenceNeighbors(fixture.words, word, false),
+                            words(timed("neighbors/index", () -> dictionary.wordFor(word).getNeighbors())), where);
+                    assertEquals(referenceNeighbors(fixture.words, word, true),
+                            words(timed("neighbors/add-remove", () -> dictionary.wordFor(word).getNeighbors(LadderRules.ADD_REMOVE))),
+                            where + " (add/remove)");
+
+                    // A word outside the dictionary takes the candidate-generation path
+                    String outsider = mutate(word, random);
+                    if (!fixture.words.contains(outsider)) {
+                        assertEquals(referenceNeighbors(fixture.words, outsider, false),
+                                words(timed("neighbors/generated", () -> new Word(outsider, dictionary).getNeighbors())),
+                                where + " outsider " + outsider);
+                        assertEquals(referenceNeighbors(fixture.words, outsider, true),
+                                words(timed("neighbors/generated-add-remove",
+                                        () -> new Word(outsider, dictionary).getNeighbors(LadderRules.ADD_REMOVE))),
+                                where + " outsider " + outsider + " (add/remove)");
+                    }
+                }
+            }
+        }
+        printTimings("Neighbors");
+    }
+
+    @Test
+    public void testSolversMatchReference() throws Exception {
+        Random random = new Random(SEED + 1);
+        Map<String, Engine> engines = engines(false);
+        for (Fixture fixture : fixtures(random)) {
+            for (String[] query : fixture.queries) {
+                Answer expected = timedAnswer("reference/bfs", () -> reference(fixture.words, query[0], query[1], false));
+                Answer expectedAddRemove = timedAnswer("reference/bfs-add-remove",
+                        () -> reference(fixture.words, query[0], query[1], true));
+                for (Map.Entry<String, Engine> engine : engines.entrySet()) {
+                    boolean addRemove = engine.getKey().contains("add-remove");
+                    Answer answer = timedAnswer(engine.getKey(), () -> engine.getValue().solve(fixture, query[0], query[1]));
+                    check(fixture, engine.getKey(), query, addRemove ? expectedAddRemove : expected, answer,
+                            addRemove ? LadderRules.ADD_REMOVE : LadderRules.CLASSIC, fixture.words);
+                }
+            }
+        }
+        printTimings("Solvers");
+    }
+
+    @Test
+    public void testSubsetsMatchReferenceOnFilteredWords() {
+        Random random = new Random(SEED + 2);
+        for (Fixture fixture : fixtures(random)) {
+            int salt = random.nextInt();
+            Dictionary subset = fixture.hash.subset(word -> ((word.hashCode() ^ salt) & 3) != 0);
+            Set<String> kept = subset.getAllWords();
+            SearchContext search = SearchContext.forThread();
+            for (String[] query : fixture.queries) {
+                Answer expected = reference(kept, query[0], query[1], false);
+                int from = subset.idOf(query[0]);
+                int to = subset.idOf(query[1]);
+                Answer answer = timedAnswer("search-context/subset", () -> {
+                    if (from < 0 || to < 0) {
+                        return new Answer(-1, null);
+                    }
+                    int moves = search.shortestPath(subset, from, to);
+                    return new Answer(moves, moves < 0 ? null : readPath(subset, search, to));
+                });
+                check(fixture, "search-context/subset", query, expected, answer, LadderRules.CLASSIC, kept);
+            }
+        }
+        printTimings("Subsets");
+    }
+
+    @Test
+    public void testEnginesAgreeUnderConcurrentUse() throws Exception {
+        Random random = new Random(SEED + 3);
+        List<Fixture> fixtures = fixtures(random); // fresh dictionaries: lazy structures are built under contention
+        Map<String, Engine> engines = engines(true);
+        Map<String, Answer> expected = new HashMap<>();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Fixture fixture : fixtures) {
+            for (String[] query : fixture.queries) {
+                expected.put(fixture.name + query[0] + query[1] + false, reference(fixture.words, query[0], query[1], false));
+                expected.put(fixture.name + query[0] + query[1] + true, reference(fixture.words, query[0], query[1], true));
+                for (Map.Entry<String, Engine> engine : engines.entrySet()) {
+                    boolean addRemove = engine.getKey().contains("add-remove");
+                    tasks.add(() -> {
+                        Answer answer = timedAnswer(engine.getKey() + " (concurrent)",
+                                () -> engine.getValue().solve(fixture, query[0], query[1]));
+                        check(fixture, engine.getKey() + " (concurrent)", query,
+                                expected.get(fixture.name + query[0] + query[1] + addRemove), answer,
+                                addRemove ? LadderRules.ADD_REMOVE : LadderRules.CLASSIC, fixture.words);
+                        return null;
+                    });
+                }
+            }
+        }
+        Collections.shuffle(tasks, random);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (Future<Void> result : pool.invokeAll(tasks)) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof AssertionError ? (AssertionError) e.getCause() : new AssertionError(e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        printTimings("Concurrent (8 threads)");
+    }
+
+    /**
+     * The engines under test, by name. Names containing "add-remove" solve under
+     * {@link LadderRules#ADD_REMOVE}; the others under the classic rules.
+     *
+     * @param threadSafeOnly leave out engines that keep per-game state
+     */
+    private static Map<String, Engine> engines(boolean threadSafeOnly) {
+        Map<String, Engine> engines = new LinkedHashMap<>();
+        engines.put("search-context/hash", (f, from, to) -> searchContext(f.hash, from, to));
+        engines.put("search-context/dawg", (f, from, to) -> searchContext(f.dawg, from, to));
+        engines.put("search-context/bloom", (f, from, to) -> searchContext(f.bloom, from, to));
+        engines.put("word-neighbors/bfs", (f, from, to) -> wordNeighborBfs(f.hash, from, to));
+        engines.put("weighted/classic", (f, from, to) -> weighted(f.hash, LadderRules.CLASSIC, from, to));
+        engines.put("weighted/add-remove", (f, from, to) -> weighted(f.hash, LadderRules.ADD_REMOVE, from, to));
+        engines.put("weighted/add-remove-dawg", (f, from, to) -> weighted(f.dawg, LadderRules.ADD_REMOVE, from, to));
+        engines.put("puzzle-generator/distance", (f, from, to) ->
+                new Answer(new PuzzleGenerator(f.hash).shortestDistance(from, to), null));
+        engines.put("route-tracker", (f, from, to) -> {
+            List<String> path = new RouteTracker(f.hash, from, to, new BitSet()).shortestRemainingPath();
+            return new Answer(path == null ? -1 : path.size() - 1, path);
+        });
+        if (!threadSafeOnly) {
+            MoveSpeculator speculator = new MoveSpeculator();
+            engines.put("move-speculator", (f, from, to) -> {
+                speculator.newGame(f.hash, to);
+                List<String> path = speculator.pathToTarget(from);
+                return new Answer(path == null ? -1 : path.size() - 1, path);
+            });
+        }
+        return engines;
+    }
+
+    /**
+     * The search {@link Game#findShortestPath(String, String)} runs; the game itself needs
+     * a display.
+     */
+    private static Answer searchContext(Dictionary dictionary, String from, String to) {
+        SearchContext search = SearchContext.forThread();
+        int start = dictionary.idOf(from);
+        int target = dictionary.idOf(to);
+        int moves = search.shortestPath(dictionary, start, target);
+        return new Answer(moves, moves < 0 ? null : readPath(dictionary, search, target));
+    }
+
+    private static List<String> readPath(Dictionary dictionary, SearchContext search, int target) {
+        int[] ids = new int[search.pathLength(target)];
+        search.copyPath(target, ids);
+        List<String> path = new ArrayList<>();
+        for (int id : ids) {
+            path.add(dictionary.wordAt(id));
+        }
+        return path;
+    }
+
+    /**
+     * Breadth-first search over {@link Word#getNeighbors()}, the way the game originally
+     * solved ladders.
+     */
+    private static Answer wordNeighborBfs(Dictionary dictionary, String from, String to) {
+        Map<Word, Word> parent = new HashMap<>();
+        Deque<Word> queue = new ArrayDeque<>();
+        Word start = dictionary.wordFor(from);
+        Word target = dictionary.wordFor(to);
+        parent.put(start, null);
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            Word word = queue.poll();
+            if (word.equals(target)) {
+                LinkedList<String> path = new LinkedList<>();
+                for (Word w = word; w != null; w = parent.get(w)) {
+                    path.addFirst(w.getWord());
+                }
+                return new Answer(path.size() - 1, path);
+            }
+            for (Word next : word.getNeighbors()) {
+                if (!parent.containsKey(next)) {
+                    parent.put(next, word);
+                    queue.add(next);
+                }
+            }
+        }
+        return new Answer(-1, null);
+    }
+
+    private static Answer weighted(Dictionary dictionary, LadderRules rules, String from, String to) {
+        WeightedSearch search = WeightedSearch.forThread();
+        int target = dictionary.idOf(to);
+        int moves = search.shortestPath(dictionary, rules, dictionary.idOf(from), target);
+        if (moves < 0) {
+            return new Answer(-1, null);
+        }
+        int[] ids = new int[search.pathLength(target)];
+        search.copyPath(target, ids);
+        List<String> path = new ArrayList<>();
+        for (int id : ids) {
+            path.add(dictionary.wordAt(id));
+        }
+        return new Answer(moves, path);
+    }
+
+    /**
+     * The reference solver: breadth-first search on strings.
+     */
+    private static Answer reference(Set<String> words, String from, String to, boolean addRemove) {
+        if (!words.contains(from) || !words.contains(to)) {
+            return new Answer(-1, null);
+        }
+        Map<String, String> parent = new HashMap<>();
+        Deque<String> queue = new ArrayDeque<>();
+        parent.put(from, null);
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            String word = queue.poll();
+            if (word.equals(to)) {
+                LinkedList<String> path = new LinkedList<>();
+                for (String w = word; w != null; w = parent.get(w)) {
+                    path.addFirst(w);
+                }
+                return new Answer(path.size() - 1, path);
+            }
+            for (String next : referenceNeighbors(words, word, addRemove)) {
+                if (!parent.containsKey(next)) {
+                    parent.put(next, word);
+                    queue.add(next);
+                }
+            }
+        }
+        return new Answer(-1, null);
+    }
+
+    /**
+     * The reference neighbor generator: every substitution of a letter from 'a' to 'z' by
+     * another, and with {@code addRemove} every added and every dropped character, that is
+     * in the word set.
+     */
+    private static Set<String> referenceNeighbors(Set<String> words, String word, boolean addRemove) {
+        Set<String> neighbors = new TreeSet<>();
+        char[] chars = word.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            char original = chars[i];
+            if (original < 'a' || original > 'z') {
+                continue;
+            }
+            for (char c = 'a'; c <= 'z'; c++) {
+                chars[i] = c;
+                String candidate = new String(chars);
+                if (c != original && words.contains(candidate)) {
+                    neighbors.add(candidate);
+                }
+            }
+            chars[i] = original;
+        }
+        if (addRemove) {
+            for (int i = 0; i <= word.length(); i++) {
+                for (char c : charactersOf(words)) {
+                    String candidate = word.substring(0, i) + c + word.substring(i);
+                    if (words.contains(candidate)) {
+                        neighbors.add(candidate);
+                    }
+                }
+            }
+            for (int i = 0; i < word.length(); i++) {
+                String candidate = word.substring(0, i) + word.substring(i + 1);
+                if (words.contains(candidate)) {
+                    neighbors.add(candidate);
+                }
+            }
+        }
+        return neighbors;
+    }
+
+    /**
+     * @return every character used in the word set, which is every character an added
+     *         letter can be
+     */
+    private static char[] charactersOf(Set<String> words) {
+        return CHARACTERS.computeIfAbsent(words, set -> {
+            Set<Character> used = new TreeSet<>();
+            for (String word : set) {
+                for (char c : word.toCharArray()) {
+                    used.add(c);
+                }
+            }
+            char[] chars = new char[used.size()];
+            int i = 0;
+            for (char c : used) {
+                chars[i++] = c;
+            }
+            return chars;
+        });
+    }
+
+    /**
+     * Checks an engine's answer against the reference: the same ladder length, and a
+     * returned ladder that starts and ends right, stays in the dictionary and only makes
+     * moves the rules allow.
+     */
+    private static void check(Fixture fixture, String engine, String[] query, Answer expected, Answer actual,
+                              LadderRules rules, Set<String> words) {
+        String where = engine + " on " + fixture.name + " (base seed " + SEED + "): " + query[0] + " -> " + query[1];
+        assertEquals(expected.moves, actual.moves, where + " ladder length");
+        if (actual.path == null) {
+            return;
+        }
+        assertEquals(expected.moves + 1, actual.path.size(), where + " path size");
+        assertEquals(query[0], actual.path.get(0), where + " first word");
+        assertEquals(query[1], actual.path.get(actual.path.size() - 1), where + " last word");
+        for (int i = 0; i < actual.path.size(); i++) {
+            assertTrue(words.contains(actual.path.get(i)), where + ": " + actual.path.get(i) + " is not a word");
+            if (i > 0) {
+                assertTrue(rules.moveCost(actual.path.get(i - 1), actual.path.get(i)) >= 0,
+                        where + ": " + actual.path.get(i - 1) + " -> " + actual.path.get(i) + " is not a move");
+            }
+        }
+    }
+
+    /**
+     * Random dictionaries: every size with every alphabet, with word lengths of 3 to 5
+     * letters (mixed lengths for some, so add/remove edges exist).
+     */
+    private static List<Fixture> fixtures(Random random) {
+        List<Fixture> fixtures = new ArrayList<>();
+        for (int size : SIZES) {
+            for (String alphabet : ALPHABETS) {
+                int minLength = 3 + random.nextInt(2);
+                int maxLength = random.nextBoolean() ? minLength : minLength + 1;
+                Set<String> words = new HashSet<>();
+                for (int attempt = 0; attempt < size * 20 && words.size() < size; attempt++) {
+                    int length = minLength + random.nextInt(maxLength - minLength + 1);
+                    char[] word = new char[length];
+                    for (int i = 0; i < length; i++) {
+                        word[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+                    }
+                    words.add(new String(word));
+                }
+                String name = words.size() + " words, " + minLength + "-" + maxLength + " letters from "
+                        + (alphabet == ENGLISH ? "english frequencies"
+                        : alphabet == MIXED ? "\"" + MIXED + "\"" : alphabet.length() + " letters");
+                fixtures.add(new Fixture(name, words, random));
+            }
+        }
+        return fixtures;
+    }
+
+    private static String mutate(String word, Random random) {
+        char[] chars = word.toCharArray();
+        chars[random.nextInt(chars.length)] = (char) ('a' + random.nextInt(26));
+        return new String(chars);
+    }
+
+    private static Set<String> words(Set<Word> neighbors) {
+        Set<String> words = new TreeSet<>();
+        for (Word word : neighbors) {
+            words.add(word.getWord());
+        }
+        return words;
+    }
+
+    private <T> T timed(String engine, Callable<T> call) {
+        long started = System.nanoTime();
+        try {
+            return call.call();
+        } catch (Exception e) {
+            throw new AssertionError(engine + " failed", e);
+        } finally {
+            engineNanos.computeIfAbsent(engine, k -> new LongAdder()).add(System.nanoTime() - started);
+            engineCalls.computeIfAbsent(engine, k -> new LongAdder()).increment();
+        }
+    }
+
+    private Answer timedAnswer(String engine, Callable<Answer> call) {
+        return timed(engine, call);
+    }
+
+    private void printTimings(String title) {
+        System.out.println(title + " timings:");
+        for (Map.Entry<String, LongAdder> entry : engineNanos.entrySet()) {
+            long calls = engineCalls.get(entry.getKey()).sum();
+            System.out.printf("  %-40s %,7d calls %,12.1f us/call%n",
+                    entry.getKey(), calls, entry.getValue().sum() / 1e3 / calls);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+
+public class EngineSnapshotTest {
+
+    private Path dir;
+    private Path wordFile;
+    private Path snapshotFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("snapshot");
+        wordFile = dir.resolve("words.txt");
+        Files.copy(Paths.get("word_ladder_words.txt"), wordFile);
+        snapshotFile = dir.resolve("engine.snapshot");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path f : files) {
+                Files.delete(f);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    public void testRestoresTheSameEngineState() throws IOException {
+        Dictionary dictionary = Dictionary.load(wordFile.toString());
+        HardnessIndex hardness = HardnessIndex.build(dictionary);
+        new EngineSnapshot(dictionary, hardness).save(snapshotFile, wordFile);
+
+        EngineSnapshot restored = EngineSnapshot.load(snapshotFile, wordFile);
+        Dictionary copy = restored.getDictionary();
+        assertEquals(dictionary.size(), copy.size());
+        assertEquals(dictionary.checksum(), copy.checksum());
+        for (int id = 0; id < dictionary.size(); id++) {
+            assertEquals(dictionary.wordAt(id), copy.wordAt(id));
+            assertArrayEquals(dictionary.getNeighborIndex().neighbors(id), copy.getNeighborIndex().neighbors(id));
+        }
+        assertTrue(copy.isValidWord("cold"));
+
+        HardnessIndex restoredHardness = restored.getHardnessIndex();
+        assertSame(copy, restoredHardness.getDictionary());
+        assertEquals(hardness.size(), restoredHardness.size());
+        for (int rank = 0; rank < hardness.size(); rank += 97) {
+            assertEquals(hardness.puzzleAt(rank), restoredHardness.puzzleAt(rank));
+            assertEquals(hardness.hardnessAt(rank), restoredHardness.hardnessAt(rank));
+        }
+        assertEquals(hardness.select(PuzzleGenerator.Difficulty.HARD, 3),
+                restoredHardness.select(PuzzleGenerator.Difficulty.HARD, 3));
+    }
+
+    @Test
+    public void testRejectsStaleOrDamagedSnapshots() throws IOException {
+        Dictionary dictionary = Dictionary.load(wordFile.toString());
+        new EngineSnapshot(dictionary, HardnessIndex.build(dictionary)).save(snapshotFile, wordFile);
+
+        byte[] bytes = Files.readAllBytes(snapshotFile);
+        bytes[bytes.length / 2] ^= 1;
+        Path damaged = dir.resolve("damaged.snapshot");
+        Files.write(damaged, bytes);
+        assertThrows(IOException.class, () -> EngineSnapshot.load(damaged, wordFile));
+        Files.write(damaged, Arrays.copyOf(bytes, 100));
+        assertThrows(IOException.class, () -> EngineSnapshot.load(damaged, wordFile));
+
+        Files.setLastModifiedTime(wordFile, FileTime.fromMillis(Files.getLastModifiedTime(wordFile).toMillis() + 5_000));
+        assertThrows(IOException.class, () -> EngineSnapshot.load(snapshotFile, wordFile));
+    }
+}
@@ -0,0 +1,68 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+public class FrameExporterTest {
+
+    private Path dir;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("frames");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    public void testGuiDrawsOffscreen() {
+        ImageCanvas canvas = new ImageCanvas(400, 300);
+        WordLadderGUI gui = new WordLadderGUI(canvas);
+        gui.drawSolutionPopup(Arrays.asList("cold", "cord", "card"));
+
+        BufferedImage image = canvas.getImage();
+        assertEquals(400, image.getWidth());
+        assertEquals(0xFFFFFF, image.getRGB(2, 2) & 0xFFFFFF); // outside the popup
+        assertEquals(0xFFFFF0, image.getRGB(200, 150) & 0xFFFFFF); // popup paper
+        int ink = 0;
+        for (int x = 0; x < 400; x++) {
+            for (int y = 0; y < 300; y++) {
+                if ((image.getRGB(x, y) & 0xFFFFFF) == 0) {
+                    ink++;
+                }
+            }
+        }
+        assertTrue(ink > 100, "expected text and border pixels, got " + ink);
+    }
+
+    @Test
+    public void testExportsOneFilePerFrameInParallel() throws IOException {
+        Dictionary dictionary = new Dictionary("word_ladder_words.txt");
+        List<String> path = Arrays.asList("cold", "cord", "card", "ward", "warm");
+        List<FrameExporter.Frame> frames = FrameExporter.ladderFrames(dictionary, path);
+        assertEquals(path.size() + 1, frames.size());
+
+        try (FrameExporter exporter = new FrameExporter(3, 200, 150)) {
+            List<Path> files = exporter.exportPngs(frames, dir, "ladder");
+            assertEquals(frames.size(), files.size());
+            for (int i = 0; i < files.size(); i++) {
+                assertEquals(String.format("ladder-%04d.png", i), files.get(i).getFileName().toString());
+                BufferedImage image = ImageIO.read(files.get(i).toFile());
+                assertEquals(200, image.getWidth());
+                assertEquals(150, image.getHeight());
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+public class FrameSchedulerTest {
+
+    private static final long MS = 1_000_000L;
+
+    private long now;
+
+    private FrameScheduler scheduler(int ticksPerSecond) {
+        now = 1_000 * MS;
+        return new FrameScheduler(ticksPerSecond, () -> now, nanos -> now += nanos);
+    }
+
+    @Test
+    public void testFramesFollowAFixedGrid() {
+        FrameScheduler frames = scheduler(100); // 10 ms ticks
+        long first = frames.awaitNextFrame();
+        assertEquals(1_000 * MS, first);
+
+        now += 3 * MS; // work within the tick
+        assertEquals(first + 10 * MS, frames.awaitNextFrame());
+        now += 9 * MS;
+        assertEquals(first + 20 * MS, frames.awaitNextFrame());
+
+        assertEquals(3, frames.getFrames());
+        assertEquals(0, frames.getLateFrames());
+        assertEquals(10.0, frames.meanIntervalMillis(), 1e-9);
+        assertEquals(6.0, frames.meanWorkMillis(), 1e-9);
+        assertEquals(9.0, frames.maxWorkMillis(), 1e-9);
+    }
+
+    @Test
+    public void testLateFrameRunsAtOnceAndSkipsMissedTicks() {
+        FrameScheduler frames = scheduler(100);
+        long first = frames.awaitNextFrame();
+
+        now += 35 * MS; // a slow frame overruns three ticks
+        long late = frames.awaitNextFrame();
+        assertEquals(first + 35 * MS, late);
+        assertEquals(1, frames.getLateFrames());
+
+        // Back on the grid at the next tick, not three frames in a burst
+        assertEquals(first + 40 * MS, frames.awaitNextFrame());
+        assertEquals(first + 50 * MS, frames.awaitNextFrame());
+        assertEquals(35.0, frames.maxIntervalMillis(), 1e-9);
+        assertEquals(1, frames.getLateFrames());
+    }
+
+    @Test
+    public void testResetStartsANewGrid() {
+        FrameScheduler frames = scheduler(50);
+        frames.awaitNextFrame();
+        now += 500 * MS; // e.g. a blocking dialog between screens
+        frames.resetStats();
+
+        long first = frames.awaitNextFrame();
+        assertEquals(now, first);
+        assertEquals(first + 20 * MS, frames.awaitNextFrame());
+        assertEquals(2, frames.getFrames());
+        assertEquals(0, frames.getLateFrames());
+    }
+
+    @Test
+    public void testWordTweenChangesOneLetterPerStep() {
+        WordTween tween = new WordTween("cold", "ward", 0, 200 * MS);
+        assertEquals("wold", tween.wordAt(0));
+        assertEquals("wold", tween.wordAt(199 * MS));
+        assertEquals("wald", tween.wordAt(200 * MS));
+        assertEquals("ward", tween.wordAt(400 * MS));
+        assertFalse(tween.isFinished(599 * MS));
+        assertTrue(tween.isFinished(600 * MS));
+
+        WordTween added = new WordTween("cart", "chart", 0, 200 * MS);
+        assertEquals("chart", added.wordAt(0));
+        assertTrue(added.isFinished(200 * MS));
+    }
+}
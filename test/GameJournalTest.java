@@ -0,0 +1,141 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+public class GameJournalTest {
+
+    private Dictionary dictionary;
+    private Path dir;
+    private Path journalFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        dictionary = new Dictionary("word_ladder_words.txt");
+        dir = Files.createTempDirectory("journal");
+        journalFile = dir.resolve("games.journal");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path f : files) {
+                Files.delete(f);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    public void testEventsRoundTrip() throws IOException {
+        try (GameJournal journal = GameJournal.open(journalFile, dictionary)) {
+            int game = journal.beginGame("cold", "card");
+            journal.recordGuess(game, "cord", true);
+            journal.recordGuess(game, "xyzzy", false);
+            journal.recordGuess(game, "card", true);
+            journal.endGame(game, GameJournal.Outcome.SOLVED);
+        }
+
+        List<String> events = readAll();
+        assertEquals(Arrays.asList("open", "start 0 cold card", "guess 0 cord true",
+                "guess 0 xyzzy false", "guess 0 card true", "end 0 SOLVED"), events);
+    }
+
+    @Test
+    public void testReopenAppendsNewSession() throws IOException {
+        try (GameJournal journal = GameJournal.open(journalFile, dictionary)) {
+            journal.endGame(journal.beginGame("cold", "cord"), GameJournal.Outcome.GAVE_UP);
+        }
+        try (GameJournal journal = GameJournal.open(journalFile, dictionary)) {
+            journal.endGame(journal.beginGame("bold", "gold"), GameJournal.Outcome.ABANDONED);
+        }
+        assertEquals(Arrays.asList("open", "start 0 cold cord", "end 0 GAVE_UP",
+                "open", "start 0 bold gold", "end 0 ABANDONED"), readAll());
+    }
+
+    @Test
+    public void testTornFrameIsDroppedOnReopen() throws IOException {
+        try (GameJournal journal = GameJournal.open(journalFile, dictionary)) {
+            journal.beginGame("cold", "cord");
+            journal.flush();
+        }
+        long size = Files.size(journalFile);
+        try (GameJournal journal = GameJournal.open(journalFile, dictionary)) {
+            journal.beginGame("bold", "gold");
+        }
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(journalFile) - 1);
+        }
+        try (GameJournal journal = GameJournal.open(journalFile, dictionary)) {
+            journal.flush();
+        }
+        assertTrue(Files.size(journalFile) > size);
+        List<String> events = readAll();
+        assertEquals("start 0 cold cord", events.get(1));
+        assertFalse(events.contains("start 0 bold gold"));
+    }
+
+    @Test
+    public void testChangedDictionaryMovesOldJournalAside() throws IOException {
+        try (GameJournal journal = GameJournal.open(journalFile, dictionary)) {
+            journal.beginGame("cold", "cord");
+        }
+        Dictionary other = new Dictionary(Arrays.asList("cold", "cord"));
+        try (GameJournal journal = GameJournal.open(journalFile, other)) {
+            journal.beginGame("cord", "cold");
+        }
+        assertTrue(Files.exists(dir.resolve("games.journal." + Long.toHexString(dictionary.checksum()))));
+        assertThrows(IOException.class, () -> GameJournal.read(journalFile, dictionary, new Recorder()));
+    }
+
+    @Test
+    public void testReplayerAgreesWithRecordedDecisions() throws IOException {
+        try (GameJournal journal = GameJournal.open(journalFile, dictionary)) {
+            int game = journal.beginGame("cold", "card");
+            Player player = new Player("cold", dictionary);
+            for (String guess : Arrays.asList("core", "cord", "cold", "card")) {
+                journal.recordGuess(game, guess, player.makeMove(guess));
+            }
+            journal.endGame(game, GameJournal.Outcome.SOLVED);
+        }
+        JournalReplayer replayer = new JournalReplayer(dictionary);
+        replayer.replay(journalFile);
+        assertEquals(1, replayer.getGames());
+        assertEquals(1, replayer.getSolved());
+        assertEquals(4, replayer.getGuesses());
+        assertEquals(0, replayer.getMismatches());
+    }
+
+    private List<String> readAll() throws IOException {
+        Recorder recorder = new Recorder();
+        GameJournal.read(journalFile, dictionary, recorder);
+        return recorder.events;
+    }
+
+    private static class Recorder implements GameJournal.Visitor {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onOpen(long timeMillis) {
+            events.add("open");
+        }
+
+        @Override
+        public void onGameStart(int gameId, String startWord, String endWord, long timeMillis) {
+            events.add("start " + gameId + " " + startWord + " " + endWord);
+        }
+
+        @Override
+        public void onGuess(int gameId, String guess, boolean accepted, long timeMillis) {
+            events.add("guess " + gameId + " " + guess + " " + accepted);
+        }
+
+        @Override
+        public void onGameEnd(int gameId, GameJournal.Outcome outcome, long timeMillis) {
+            events.add("end " + gameId + " " + outcome);
+        }
+    }
+}
@@ -29,6 +29,20 @@ public class GameTest {
         assertNull(path); // assuming "zzzz" is not in dictionary
     }
 
+    @Test
+    public void testFindShortestPathUnderAddRemoveRules() {
+        List<String> classic = game.findShortestPath("cold", "cord", LadderRules.CLASSIC);
+        assertEquals(game.findShortestPath("cold", "cord"), classic);
+
+        List<String> path = game.findShortestPath("cold", "cord", LadderRules.ADD_REMOVE);
+        assertNotNull(path);
+        assertEquals(2, path.size());
+        for (int i = 1; i < path.size(); i++) {
+            assertTrue(LadderRules.ADD_REMOVE.moveCost(path.get(i - 1), path.get(i)) > 0);
+        }
+        assertNull(game.findShortestPath("cold", "zzzz", LadderRules.ADD_REMOVE));
+    }
+
     @Test
     public void testGetWordsOfSameLengthReturnsOnlyFourLetterWords() {
         Set<String> allWords = dictionary.getAllWords();
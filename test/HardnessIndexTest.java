@@ -0,0 +1,69 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+public class HardnessIndexTest {
+
+    @Test
+    public void testCountsOptimalRoutesAndWordFeatures() {
+        // cold -> bord has two optimal ladders: via cord and via bold; zone is a dead end off bone
+        Dictionary dictionary = new Dictionary(Arrays.asList("cold", "cord", "bold", "bord", "bone", "zone"));
+        HardnessIndex index = HardnessIndex.build(dictionary);
+
+        int bone = dictionary.idOf("bone");
+        assertEquals(1, index.degree(bone));
+        assertEquals(1, index.deadEndNeighbors(bone));
+        assertEquals(2, index.degree(dictionary.idOf("cold")));
+
+        boolean found = false;
+        for (int rank = 0; rank < index.size(); rank++) {
+            PuzzleGenerator.Puzzle puzzle = index.puzzleAt(rank);
+            if (puzzle.getStartWord().equals("cold") && puzzle.getEndWord().equals("bord")) {
+                assertEquals(2, puzzle.getOptimalMoves());
+                assertEquals(2, index.routesAt(rank));
+                found = true;
+            }
+        }
+        assertTrue(found);
+    }
+
+    @Test
+    public void testIndexIsSortedAndPuzzlesAreOptimal() {
+        Dictionary dictionary = new Dictionary("word_ladder_words.txt");
+        HardnessIndex index = HardnessIndex.build(dictionary);
+        PuzzleGenerator generator = new PuzzleGenerator(dictionary);
+
+        assertTrue(index.size() > 1000);
+        for (int rank = 1; rank < index.size(); rank++) {
+            assertTrue(index.hardnessAt(rank - 1) <= index.hardnessAt(rank));
+        }
+        for (int rank = 0; rank < index.size(); rank += index.size() / 50) {
+            PuzzleGenerator.Puzzle puzzle = index.puzzleAt(rank);
+            assertEquals(puzzle.getOptimalMoves(),
+                    generator.shortestDistance(puzzle.getStartWord(), puzzle.getEndWord()));
+        }
+    }
+
+    @Test
+    public void testSelectionHitsTargetHardnessDeterministically() {
+        Dictionary dictionary = new Dictionary("word_ladder_words.txt");
+        HardnessIndex index = HardnessIndex.build(dictionary);
+
+        assertEquals(index.select(PuzzleGenerator.Difficulty.MEDIUM, 5),
+                HardnessIndex.build(dictionary).select(PuzzleGenerator.Difficulty.MEDIUM, 5));
+
+        double easy = index.hardnessAtPercentile(0.15);
+        double hard = index.hardnessAtPercentile(0.9);
+        assertTrue(easy < hard);
+        double easyMoves = 0;
+        double hardMoves = 0;
+        for (long seed = 0; seed < 100; seed++) {
+            easyMoves += index.select(PuzzleGenerator.Difficulty.EASY, seed).getOptimalMoves();
+            hardMoves += index.select(PuzzleGenerator.Difficulty.HARD, seed).getOptimalMoves();
+        }
+        assertTrue(hardMoves > easyMoves);
+        assertNotNull(index.select(1e9, 1)); // beyond the hardest puzzle
+        assertNotNull(index.select(-1e9, 1));
+    }
+}
@@ -0,0 +1,56 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+public class MoveSpeculatorTest {
+
+    private Dictionary dictionary;
+    private MoveSpeculator speculator;
+
+    @BeforeEach
+    public void setUp() {
+        dictionary = new Dictionary(Arrays.asList("cold", "cord", "card", "ward", "warm", "bold", "zzzz"));
+        speculator = new MoveSpeculator();
+        speculator.newGame(dictionary, "warm");
+    }
+
+    @Test
+    public void testDistancesAndPathToTarget() {
+        assertEquals(0, speculator.distanceToTarget("warm"));
+        assertEquals(4, speculator.distanceToTarget("cold"));
+        assertEquals(5, speculator.distanceToTarget("bold"));
+        assertEquals(-1, speculator.distanceToTarget("zzzz"));
+        assertEquals(-1, speculator.distanceToTarget("nope"));
+
+        assertEquals(Arrays.asList("bold", "cold", "cord", "card", "ward", "warm"), speculator.pathToTarget("bold"));
+        assertNull(speculator.pathToTarget("zzzz"));
+        assertTrue(speculator.isTarget("WARM"));
+        assertFalse(speculator.isTarget("cold"));
+    }
+
+    @Test
+    public void testNeighborWordsMatchDictionary() {
+        assertEquals(new HashSet<>(Arrays.asList("cord", "bold")), speculator.neighborWords("cold"));
+        assertSame(speculator.neighborWords("cold"), speculator.neighborWords("cold"));
+    }
+
+    @Test
+    public void testTypingWarmsMatchingCandidates() throws Exception {
+        speculator.onInput("cold", "");
+        speculator.awaitIdle();
+        assertFalse(speculator.isWarmed("cord"));
+
+        speculator.onInput("cold", "co");
+        speculator.awaitIdle();
+        assertTrue(speculator.isWarmed("cord"));
+        assertFalse(speculator.isWarmed("bold")); // a neighbor, but not matching the prefix
+        assertFalse(speculator.isWarmed("cold")); // matching the prefix, but not a neighbor
+        Set<String> warmed = speculator.neighborWords("cord");
+        assertEquals(new HashSet<>(Arrays.asList("cold", "card")), warmed);
+
+        speculator.newGame(dictionary, "cold");
+        assertNotSame(warmed, speculator.neighborWords("cord"));
+        assertEquals(Arrays.asList("warm", "ward", "card", "cord", "cold"), speculator.pathToTarget("warm"));
+    }
+}
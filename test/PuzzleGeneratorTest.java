@@ -0,0 +1,86 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.*;
+
+public class PuzzleGeneratorTest {
+
+    private Dictionary dictionary;
+    private PuzzleGenerator generator;
+
+    @BeforeEach
+    public void setUp() {
+        dictionary = new Dictionary("word_ladder_words.txt");
+        generator = new PuzzleGenerator(dictionary);
+    }
+
+    @Test
+    public void testSameSeedGivesSamePuzzle() {
+        PuzzleGenerator other = new PuzzleGenerator(new Dictionary("word_ladder_words.txt"));
+        for (long seed = 0; seed < 20; seed++) {
+            assertEquals(generator.generate(seed, 4), other.generate(seed, 4));
+        }
+        assertNotEquals(generator.generate(1, 4), generator.generate(2, 4));
+    }
+
+    @Test
+    public void testGeneratedLengthIsOptimal() {
+        for (int moves = 1; moves <= 8; moves++) {
+            PuzzleGenerator.Puzzle puzzle = generator.generate(moves * 31L, moves);
+            assertNotNull(puzzle);
+            assertEquals(moves, puzzle.getOptimalMoves());
+            assertEquals(moves, generator.shortestDistance(puzzle.getStartWord(), puzzle.getEndWord()));
+        }
+    }
+
+    @Test
+    public void testDailyPuzzleIsStableAndWithinDifficulty() {
+        LocalDate day = LocalDate.of(2025, 3, 14);
+        for (PuzzleGenerator.Difficulty difficulty : PuzzleGenerator.Difficulty.values()) {
+            PuzzleGenerator.Puzzle puzzle = generator.daily(day, difficulty);
+            assertEquals(puzzle, generator.daily(day, difficulty));
+            assertTrue(puzzle.getOptimalMoves() >= difficulty.getMinMoves());
+            assertTrue(puzzle.getOptimalMoves() <= difficulty.getMaxMoves());
+        }
+        assertNotEquals(PuzzleGenerator.dailySeed(day, PuzzleGenerator.Difficulty.EASY),
+                PuzzleGenerator.dailySeed(day.plusDays(1), PuzzleGenerator.Difficulty.EASY));
+    }
+
+    @Test
+    public void testScheduleMatchesGeneratorAndSurvivesSaveLoad() throws IOException {
+        LocalDate first = LocalDate.of(2025, 1, 1);
+        DailyPuzzleSchedule schedule = DailyPuzzleSchedule.precompute(dictionary, first, 14);
+        for (int d = 0; d < 14; d++) {
+            for (PuzzleGenerator.Difficulty difficulty : PuzzleGenerator.Difficulty.values()) {
+                assertEquals(generator.daily(first.plusDays(d), difficulty),
+                        schedule.lookup(first.plusDays(d), difficulty));
+            }
+        }
+        assertNull(schedule.lookup(first.minusDays(1), PuzzleGenerator.Difficulty.EASY));
+        assertNull(schedule.lookup(first.plusDays(14), PuzzleGenerator.Difficulty.EASY));
+
+        Path file = Files.createTempFile("daily", ".dat");
+        try {
+            schedule.save(file);
+            DailyPuzzleSchedule loaded = DailyPuzzleSchedule.load(file, dictionary);
+            assertEquals(schedule.lookup(first.plusDays(5), PuzzleGenerator.Difficulty.HARD),
+                    loaded.lookup(first.plusDays(5), PuzzleGenerator.Difficulty.HARD));
+
+            Dictionary changed = new Dictionary(Arrays.asList("cold", "cord", "card"));
+            assertThrows(IOException.class, () -> DailyPuzzleSchedule.load(file, changed));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testTinyDictionaryFallsBackToLongestLadder() {
+        PuzzleGenerator small = new PuzzleGenerator(new Dictionary(Arrays.asList("cold", "cord", "card")));
+        PuzzleGenerator.Puzzle puzzle = small.generate(7, 5);
+        assertEquals(2, puzzle.getOptimalMoves());
+        assertNull(new PuzzleGenerator(new Dictionary(Arrays.asList("cold", "warm"))).generate(7, 1));
+    }
+}
@@ -0,0 +1,137 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public class RaceRoomTest {
+
+    private Dictionary dictionary;
+    private PuzzleGenerator.Puzzle puzzle;
+
+    @BeforeEach
+    public void setUp() {
+        dictionary = new Dictionary(Arrays.asList("cold", "cord", "card", "ward", "warm", "bold"));
+        puzzle = new PuzzleGenerator.Puzzle("cold", "card", 2);
+    }
+
+    /** Records everything a listener receives. */
+    private static final class Inbox implements RaceRoom.Listener {
+        final List<RaceRoom.Update> updates = new CopyOnWriteArrayList<>();
+        int batches;
+
+        @Override
+        public void onUpdates(RaceRoom room, List<RaceRoom.Update> batch) {
+            batches++;
+            updates.addAll(batch);
+        }
+
+        List<String> describe() {
+            List<String> out = new ArrayList<>();
+            for (RaceRoom.Update u : updates) {
+                out.add(u.getKind() + " " + u.getPlayer() + " " + u.getWord());
+            }
+            return out;
+        }
+    }
+
+    @Test
+    public void testMovesAreValidatedAndBroadcastToEveryone() {
+        RaceRoom room = new RaceRoom("r", dictionary, puzzle, Runnable::run, 4, 16);
+        Inbox ann = new Inbox();
+        Inbox bob = new Inbox();
+        int a = room.join("ann", ann);
+        int b = room.join("bob", bob);
+
+        assertTrue(room.submit(a, "cord"));
+        assertTrue(room.submit(b, "card")); // not one letter from cold
+        assertTrue(room.submit(a, "CARD"));
+        assertTrue(room.submit(b, "cord"));
+
+        List<String> expected = Arrays.asList("JOINED bob cold", "MOVED ann cord", "REJECTED bob card",
+                "FINISHED ann card", "MOVED bob cord");
+        assertEquals(expected, bob.describe().subList(1, bob.updates.size())); // after ann's roster entry
+        assertEquals("JOINED ann cold", bob.describe().get(0));
+        assertEquals(ann.describe().subList(1, ann.updates.size()), expected);
+        assertEquals(1, bob.updates.get(4).getRank());
+        assertEquals(2, bob.updates.get(4).getMoves());
+    }
+
+    @Test
+    public void testSeatsAndInboxAreBounded() {
+        List<Runnable> queued = new ArrayList<>();
+        RaceRoom room = new RaceRoom("r", dictionary, puzzle, queued::add, 1, 2);
+        Inbox ann = new Inbox();
+        int seat = room.join("ann", ann);
+        assertEquals(-1, room.join("bob", new Inbox()));
+
+        assertTrue(room.submit(seat, "cord"));
+        assertFalse(room.submit(seat, "card")); // join + one guess fill the inbox
+        assertEquals(1, queued.size()); // one drain scheduled for everything pending
+
+        queued.remove(0).run();
+        assertEquals(0, room.pendingEvents());
+        assertEquals(1, ann.batches);
+        assertTrue(room.submit(seat, "card"));
+        queued.remove(0).run();
+        assertEquals(RaceRoom.Update.Kind.FINISHED, ann.updates.get(ann.updates.size() - 1).getKind());
+    }
+
+    @Test
+    public void testConcurrentPlayersOnSharedLoops() throws Exception {
+        try (RaceServer server = new RaceServer(dictionary, 2)) {
+            RaceRoom room = server.createRoom("race", 7, 2, 8, 1024);
+            assertNull(server.createRoom("race", 7, 2, 8, 1024));
+            List<String> path = optimalLadder(room.getPuzzle());
+
+            Inbox watcher = new Inbox();
+            room.join("watcher", watcher);
+            int[] seats = new int[7];
+            for (int i = 0; i < seats.length; i++) {
+                seats[i] = room.join("p" + i, new Inbox());
+            }
+            ExecutorService players = Executors.newFixedThreadPool(4);
+            for (int seat : seats) {
+                players.execute(() -> {
+                    for (String word : path.subList(1, path.size())) {
+                        while (!room.submit(seat, word)) {
+                            Thread.yield();
+                        }
+                    }
+                });
+            }
+            players.shutdown();
+            assertTrue(players.awaitTermination(10, TimeUnit.SECONDS));
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (countFinished(watcher) < 7 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(7, countFinished(watcher), watcher.describe().toString());
+            Set<Integer> ranks = new HashSet<>();
+            for (RaceRoom.Update u : watcher.updates) {
+                if (u.getKind() == RaceRoom.Update.Kind.FINISHED) {
+                    ranks.add(u.getRank());
+                }
+            }
+            assertEquals(7, ranks.size());
+        }
+    }
+
+    private static long countFinished(Inbox inbox) {
+        return inbox.updates.stream().filter(u -> u.getKind() == RaceRoom.Update.Kind.FINISHED).count();
+    }
+
+    private List<String> optimalLadder(PuzzleGenerator.Puzzle race) {
+        SearchContext search = new SearchContext();
+        int end = dictionary.idOf(race.getEndWord());
+        search.shortestPath(dictionary.getNeighborIndex(), dictionary.idOf(race.getStartWord()), end);
+        int[] ids = new int[search.pathLength(end)];
+        search.copyPath(end, ids);
+        List<String> words = new ArrayList<>();
+        for (int id : ids) {
+            words.add(dictionary.wordAt(id));
+        }
+        return words;
+    }
+}
@@ -0,0 +1,90 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+public class RouteTrackerTest {
+
+    private Dictionary dictionary;
+
+    @BeforeEach
+    public void setUp() {
+        // cold-cord-card-ward-warm, with a parallel detour through bold-bord-bard and a dead end at colt-molt
+        dictionary = new Dictionary(Arrays.asList("cold", "cord", "card", "ward", "warm",
+                "bold", "bord", "bard", "colt", "molt"));
+    }
+
+    @Test
+    public void testFollowingTheRouteNeedsNoSearch() {
+        Player player = new Player("cold", dictionary);
+        RouteTracker tracker = new RouteTracker(dictionary, "cold", "warm", player.getVisitedIds());
+        assertEquals(Arrays.asList("cold", "cord", "card", "ward", "warm"), tracker.shortestRemainingPath());
+
+        assertTrue(tracker.moveTo("cord"));
+        assertEquals(0, tracker.lastExplored());
+        assertEquals("card", tracker.hint());
+        assertTrue(tracker.moveTo("card"));
+        assertTrue(tracker.moveTo("ward"));
+        assertTrue(tracker.moveTo("warm"));
+        assertEquals(Collections.singletonList("warm"), tracker.shortestRemainingPath());
+        assertNull(tracker.hint());
+    }
+
+    @Test
+    public void testDetourReconnectsAndHintIsShortest() {
+        RouteTracker tracker = new RouteTracker(dictionary, "cold", "warm", new BitSet());
+        assertTrue(tracker.moveTo("bold"));
+        assertTrue(tracker.lastExplored() <= 4); // stops at cord on the old route
+
+        // bold-bord-bard-ward-warm avoids the visited cold and beats rejoining at cord
+        assertEquals(Arrays.asList("bold", "bord", "bard", "ward", "warm"), tracker.shortestRemainingPath());
+        assertTrue(tracker.moveTo("bord"));
+        assertTrue(tracker.moveTo("cord")); // off the hinted route, onto the old one
+        assertEquals(Arrays.asList("cord", "card", "ward", "warm"), tracker.shortestRemainingPath());
+    }
+
+    @Test
+    public void testDeadEndIsReportedRightAway() {
+        RouteTracker tracker = new RouteTracker(dictionary, "cold", "warm", new BitSet());
+        assertFalse(tracker.moveTo("colt")); // its other neighbor, molt, leads nowhere else
+        assertFalse(tracker.isSolvable());
+        assertNull(tracker.hint());
+        assertNull(tracker.shortestRemainingPath());
+    }
+
+    @Test
+    public void testAgreesWithFullSearchOnRandomGames() {
+        Dictionary words = new Dictionary("word_ladder_words.txt");
+        NeighborIndex index = words.getNeighborIndex();
+        SearchContext search = new SearchContext();
+        Random random = new Random(3);
+        for (int game = 0; game < 200; game++) {
+            int start = random.nextInt(words.size());
+            int target = random.nextInt(words.size());
+            Player player = new Player(words.wordAt(start), words);
+            RouteTracker tracker = new RouteTracker(words, words.wordAt(start), words.wordAt(target),
+                    player.getVisitedIds());
+            int current = start;
+            for (int move = 0; move < 12; move++) {
+                BitSet visited = player.getVisitedIds();
+                int distance = search.shortestPath(index, current, target, visited);
+                assertEquals(distance >= 0, tracker.isSolvable());
+                if (distance >= 0) {
+                    assertEquals(distance + 1, tracker.shortestRemainingPath().size());
+                }
+                List<Integer> options = new ArrayList<>();
+                for (int next : index.neighbors(current)) {
+                    if (!visited.get(next)) {
+                        options.add(next);
+                    }
+                }
+                if (options.isEmpty() || current == target) {
+                    break;
+                }
+                current = options.get(random.nextInt(options.size()));
+                assertTrue(player.makeMove(words.wordAt(current)));
+                tracker.moveTo(words.wordAt(current));
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+public class SearchContextTest {
+
+    private Dictionary dictionary;
+
+    @BeforeEach
+    public void setUp() {
+        dictionary = new Dictionary(Arrays.asList("cold", "cord", "card", "ward", "warm", "bold", "zzzz"));
+    }
+
+    @Test
+    public void testShortestPathAndCopyPath() {
+        SearchContext context = new SearchContext();
+        int cold = dictionary.idOf("cold");
+        int warm = dictionary.idOf("warm");
+        assertEquals(4, context.shortestPath(dictionary.getNeighborIndex(), cold, warm));
+
+        int[] ids = new int[8];
+        assertEquals(5, context.copyPath(warm, ids));
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            words.add(dictionary.wordAt(ids[i]));
+        }
+        assertEquals(Arrays.asList("cold", "cord", "card", "ward", "warm"), words);
+    }
+
+    @Test
+    public void testReuseForgetsPreviousVisits() {
+        SearchContext context = new SearchContext();
+        NeighborIndex index = dictionary.getNeighborIndex();
+        int zzzz = dictionary.idOf("zzzz");
+        assertEquals(-1, context.shortestPath(index, dictionary.idOf("cold"), zzzz));
+        assertTrue(context.isVisited(dictionary.idOf("warm")));
+
+        assertEquals(0, context.shortestPath(index, zzzz, zzzz));
+        assertFalse(context.isVisited(dictionary.idOf("warm")));
+        assertEquals(1, context.shortestPath(index, dictionary.idOf("bold"), dictionary.idOf("cold")));
+    }
+
+    @Test
+    public void testExcludedWordsAreNeverEntered() {
+        SearchContext context = new SearchContext();
+        NeighborIndex index = dictionary.getNeighborIndex();
+        int cold = dictionary.idOf("cold");
+        int warm = dictionary.idOf("warm");
+        BitSet excluded = new BitSet();
+        excluded.set(cold); // the start may be excluded itself
+        assertEquals(4, context.shortestPath(index, cold, warm, excluded));
+        excluded.set(dictionary.idOf("card"));
+        assertEquals(-1, context.shortestPath(index, cold, warm, excluded));
+        assertFalse(context.isVisited(dictionary.idOf("ward")));
+
+        BitSet goals = new BitSet();
+        goals.set(dictionary.idOf("card"));
+        goals.set(warm);
+        assertEquals(dictionary.idOf("card"), context.reachAny(index, cold, goals, new BitSet()));
+        assertEquals(3, context.pathLength(dictionary.idOf("card")));
+        assertEquals(-1, context.reachAny(index, cold, goals, excluded));
+        assertEquals(warm, context.reachAny(index, warm, goals, excluded));
+    }
+
+    @Test
+    public void testContextIsPooledPerThread() throws InterruptedException {
+        SearchContext mine = SearchContext.forThread();
+        assertSame(mine, SearchContext.forThread());
+        SearchContext[] other = new SearchContext[1];
+        Thread thread = new Thread(() -> other[0] = SearchContext.forThread());
+        thread.start();
+        thread.join();
+        assertNotSame(mine, other[0]);
+    }
+}
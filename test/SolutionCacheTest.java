@@ -0,0 +1,103 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+public class SolutionCacheTest {
+
+    private Dictionary dictionary;
+    private Path cacheFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        dictionary = new Dictionary("word_ladder_words.txt");
+        cacheFile = Files.createTempFile("solutions", ".cache");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(cacheFile);
+    }
+
+    @Test
+    public void testSolvesPersistAcrossInstances() {
+        List<String> path = Arrays.asList("cold", "cord", "card");
+        try (SolutionCache cache = new SolutionCache(cacheFile, dictionary)) {
+            assertNull(cache.get("cold", "card"));
+            cache.put(path);
+            assertEquals(path, cache.get("cold", "card"));
+        }
+        try (SolutionCache reopened = new SolutionCache(cacheFile, dictionary)) {
+            assertEquals(path, reopened.get("cold", "card"));
+            assertEquals(Arrays.asList("card", "cord", "cold"), reopened.get("card", "cold"));
+            assertNull(reopened.get("cold", "gold"));
+        }
+    }
+
+    @Test
+    public void testChangedDictionaryInvalidatesCache() {
+        try (SolutionCache cache = new SolutionCache(cacheFile, dictionary)) {
+            cache.put(Arrays.asList("cold", "cord"));
+        }
+        Dictionary smaller = new Dictionary(Arrays.asList("cold", "cord", "card"));
+        try (SolutionCache cache = new SolutionCache(cacheFile, smaller)) {
+            assertNull(cache.get("cold", "cord"));
+        }
+        // The file was rewritten for the new dictionary, so the old one starts empty too
+        try (SolutionCache cache = new SolutionCache(cacheFile, dictionary)) {
+            assertNull(cache.get("cold", "cord"));
+        }
+    }
+
+    @Test
+    public void testTornTailIsIgnored() throws IOException {
+        try (SolutionCache cache = new SolutionCache(cacheFile, dictionary)) {
+            cache.put(Arrays.asList("cold", "cord"));
+            cache.put(Arrays.asList("bold", "gold"));
+        }
+        long size = Files.size(cacheFile);
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 2);
+        }
+        try (SolutionCache cache = new SolutionCache(cacheFile, dictionary)) {
+            assertEquals(Arrays.asList("cold", "cord"), cache.get("cold", "cord"));
+            assertNull(cache.get("bold", "gold"));
+            cache.put(Arrays.asList("bold", "gold"));
+        }
+        try (SolutionCache cache = new SolutionCache(cacheFile, dictionary)) {
+            assertEquals(Arrays.asList("bold", "gold"), cache.get("bold", "gold"));
+        }
+    }
+
+    @Test
+    public void testDamagedRecordIsDropped() throws IOException {
+        try (SolutionCache cache = new SolutionCache(cacheFile, dictionary)) {
+            cache.put(Arrays.asList("bold", "gold"));
+            cache.put(Arrays.asList("cold", "cord", "card"));
+            cache.put(Arrays.asList("card", "cart"));
+        }
+        long goodBytes = 16 + 4 + 2 * 4; // header and the first record
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.WRITE)) {
+            // Damage the middle id of the second record; its first and last ids stay valid
+            channel.write(ByteBuffer.allocate(4).putInt(0, Integer.MAX_VALUE), goodBytes + 8);
+        }
+        try (SolutionCache cache = new SolutionCache(cacheFile, dictionary)) {
+            assertEquals(Arrays.asList("bold", "gold"), cache.get("bold", "gold"));
+            assertNull(cache.get("cold", "card"));
+            assertNull(cache.get("card", "cart"));
+        }
+        assertEquals(goodBytes, Files.size(cacheFile));
+    }
+
+    @Test
+    public void testChecksumDependsOnlyOnWords() {
+        Dictionary dawg = new Dictionary("word_ladder_words.txt", Dictionary.Backend.DAWG);
+        assertEquals(dictionary.checksum(), dawg.checksum());
+        assertEquals(dictionary.checksum(), dictionary.withBloomPrefilter().checksum());
+        assertNotEquals(dictionary.checksum(), new Dictionary(Arrays.asList("cold")).checksum());
+    }
+}
@@ -0,0 +1,161 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class SolverCoordinatorTest {
+
+    private static final List<String> WORDS = Arrays.asList(
+            "cold", "cord", "card", "ward", "warm", "wold", "word", "worm",
+            "dish", "fish", "wish", "wash",
+            "cat", "cot", "dot", "dog",
+            "zzzz");
+
+    private Dictionary dictionary;
+    private SolverCoordinator coordinator;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        dictionary = new Dictionary(WORDS);
+        coordinator = SolverCoordinator.start(dictionary, 2, SolverCoordinator.Partitioning.COMPONENT);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        coordinator.close();
+    }
+
+    @Test
+    public void testAnswersMatchTheGame() {
+        for (String start : WORDS) {
+            for (String end : WORDS) {
+                List<String> expected = Game.findShortestPath(dictionary, start, end);
+                List<String> actual = coordinator.findShortestPath(start, end);
+                assertEquals(expected == null ? -1 : expected.size(), actual == null ? -1 : actual.size(),
+                        start + " -> " + end);
+                if (actual != null) {
+                    assertEquals(start, actual.get(0));
+                    assertEquals(end, actual.get(actual.size() - 1));
+                }
+            }
+        }
+        assertNull(coordinator.findShortestPath("cold", "xyzw"));
+        assertEquals(Collections.singletonList("cold"), coordinator.findShortestPath("COLD", "cold"));
+    }
+
+    @Test
+    public void testComponentsStayOnOneShard() {
+        int shard = coordinator.shardOf("cold");
+        for (String word : Arrays.asList("cord", "card", "ward", "warm", "wold", "word", "worm")) {
+            assertEquals(shard, coordinator.shardOf(word));
+        }
+        assertEquals(coordinator.shardOf("dish"), coordinator.shardOf("wash"));
+        assertEquals(-1, coordinator.shardOf("xyzw"));
+        // The two largest components are packed onto different shards
+        assertNotEquals(coordinator.shardOf("cold"), coordinator.shardOf("dish"));
+    }
+
+    @Test
+    public void testHintsAndBatchedQueriesMergeInOrder() throws Exception {
+        assertEquals("cot", coordinator.hintAsync("cat", "dog").get(5, TimeUnit.SECONDS));
+        assertNull(coordinator.hintAsync("dog", "dog").get(5, TimeUnit.SECONDS));
+        assertNull(coordinator.hintAsync("cat", "cold").get(5, TimeUnit.SECONDS));
+
+        List<String[]> queries = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            queries.add(i % 2 == 0 ? new String[] {"cold", "warm"} : new String[] {"fish", "wash"});
+        }
+        long requestsBefore = coordinator.requestsSent();
+        long batchesBefore = coordinator.batchesSent();
+        List<CompletableFuture<List<String>>> pending = new ArrayList<>();
+        coordinator.holdSending();
+        try {
+            for (String[] query : queries) {
+                pending.add(coordinator.findShortestPathAsync(query[0], query[1]));
+            }
+        } finally {
+            coordinator.resumeSending();
+        }
+        List<List<String>> paths = new ArrayList<>();
+        for (CompletableFuture<List<String>> path : pending) {
+            paths.add(path.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(200, paths.size());
+        for (int i = 0; i < paths.size(); i++) {
+            assertEquals(queries.get(i)[0], paths.get(i).get(0));
+            assertEquals(queries.get(i)[1], paths.get(i).get(paths.get(i).size() - 1));
+        }
+        assertEquals(200, coordinator.requestsSent() - requestsBefore);
+        assertEquals(2, coordinator.batchesSent() - batchesBefore); // one frame per shard
+
+        List<List<String>> merged = coordinator.findShortestPaths(queries);
+        for (int i = 0; i < merged.size(); i++) {
+            assertEquals(paths.get(i), merged.get(i));
+        }
+    }
+
+    @Test
+    public void testWorkerCrashFailsQueuedRequests() throws Exception {
+        List<CompletableFuture<List<String>>> pending = new ArrayList<>();
+        coordinator.holdSending();
+        try {
+            for (int i = 0; i < 3000; i++) {
+                pending.add(coordinator.findShortestPathAsync(i % 2 == 0 ? "cold" : "fish", i % 2 == 0 ? "warm" : "wash"));
+            }
+            killWorkers();
+        } finally {
+            coordinator.resumeSending();
+        }
+        for (CompletableFuture<List<String>> path : pending) {
+            ExecutionException failed = assertThrows(ExecutionException.class, () -> path.get(10, TimeUnit.SECONDS));
+            assertTrue(failed.getCause() instanceof IOException, String.valueOf(failed.getCause()));
+        }
+        assertThrows(CompletionException.class, () -> coordinator.findShortestPath("cold", "warm"));
+    }
+
+    @Test
+    public void testWorkerCrashUnderLoadCompletesEveryRequest() throws Exception {
+        List<CompletableFuture<List<String>>> pending = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            pending.add(coordinator.findShortestPathAsync(i % 2 == 0 ? "cold" : "fish", i % 2 == 0 ? "warm" : "wash"));
+        }
+        pending.get(0).get(10, TimeUnit.SECONDS); // the workers are answering
+        killWorkers();
+        int failed = 0;
+        for (CompletableFuture<List<String>> path : pending) {
+            try {
+                path.get(10, TimeUnit.SECONDS); // a TimeoutException here is a hung request
+            } catch (ExecutionException e) {
+                failed++;
+            }
+        }
+        assertTrue(failed > 0);
+    }
+
+    private static void killWorkers() throws InterruptedException {
+        for (ProcessHandle worker : ProcessHandle.current().children().toArray(ProcessHandle[]::new)) {
+            worker.destroyForcibly();
+            try {
+                worker.onExit().get(10, TimeUnit.SECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                throw new AssertionError("worker did not exit", e);
+            }
+        }
+    }
+
+    @Test
+    public void testLengthPartitioningAndClose() throws Exception {
+        try (SolverCoordinator byLength = SolverCoordinator.start(dictionary, 3, SolverCoordinator.Partitioning.LENGTH)) {
+            assertEquals(byLength.shardOf("cold"), byLength.shardOf("dish"));
+            assertNotEquals(byLength.shardOf("cold"), byLength.shardOf("cat"));
+            assertEquals(5, byLength.findShortestPath("cold", "warm").size());
+            assertNull(byLength.findShortestPath("cold", "dish"));
+        }
+
+        coordinator.close();
+        CompletableFuture<List<String>> afterClose = coordinator.findShortestPathAsync("cold", "warm");
+        assertThrows(CompletionException.class, afterClose::join);
+    }
+}
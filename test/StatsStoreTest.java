@@ -0,0 +1,118 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class StatsStoreTest {
+
+    private Path snapshot;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        snapshot = Files.createTempFile("stats", ".snapshot");
+        Files.delete(snapshot);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Test
+    public void testAggregatesPerPlayerAndPuzzle() {
+        StatsStore store = new StatsStore(5);
+        store.recordCompletion("ann", "cold", "card", true, 2, 2, 3000);
+        store.recordCompletion("ann", "cold", "card", true, 4, 2, 5000);
+        store.recordCompletion("ann", "bold", "gold", false, 3, 0, 9000);
+
+        StatsStore.Stats ann = store.getPlayerStats("ann");
+        assertEquals(3, ann.getGames());
+        assertEquals(2, ann.getSolved());
+        assertEquals(2.0 / 3, ann.solveRate(), 1e-9);
+        assertEquals(3.0, ann.averageMoves(), 1e-9);
+        assertEquals(2.0, ann.averageOptimalMoves(), 1e-9);
+        assertEquals(4000.0, ann.averageSolveMillis(), 1e-9);
+        assertEquals(150, ann.getPoints()); // 100 for the optimal solve + 50 for the detour
+
+        assertEquals(2, store.getPuzzleStats("cold", "card").getGames());
+        assertNull(store.getPlayerStats("bob"));
+    }
+
+    @Test
+    public void testLeaderboardsMatchBruteForce() {
+        StatsStore store = new StatsStore(10);
+        Random random = new Random(5);
+        Map<String, Long> points = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            String player = "p" + random.nextInt(200);
+            int optimal = 1 + random.nextInt(6);
+            int moves = optimal + random.nextInt(4);
+            store.recordCompletion(player, "w" + random.nextInt(50), "x", true, moves, optimal, 1000);
+            points.merge(player, Math.round(100.0 * optimal / moves), Long::sum);
+        }
+
+        List<StatsStore.Entry> top = store.topPlayers(10);
+        assertEquals(10, top.size());
+        List<Long> expected = new ArrayList<>(points.values());
+        expected.sort(Collections.reverseOrder());
+        for (int i = 0; i < 10; i++) {
+            assertEquals((long) expected.get(i), top.get(i).getScore());
+            assertEquals((long) points.get(top.get(i).getKey()), top.get(i).getScore());
+        }
+        assertEquals(3, store.topPuzzles(3).size());
+    }
+
+    @Test
+    public void testLeaderboardSizeMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new StatsStore(0));
+        StatsStore store = new StatsStore(1);
+        store.recordCompletion("ann", "cold", "card", true, 2, 2, 3000);
+        store.recordCompletion("bob", "cold", "card", true, 1, 1, 1000);
+        assertEquals(1, store.topPlayers(5).size());
+    }
+
+    @Test
+    public void testSnapshotRoundTrip() {
+        StatsStore store = new StatsStore(5, snapshot, 0);
+        store.recordCompletion("ann", "cold", "card", true, 2, 2, 3000);
+        store.recordCompletion("bob", "cold", "card", false, 1, 0, 1000);
+        store.close();
+
+        StatsStore restored = new StatsStore(5, snapshot, 0);
+        assertEquals(100, restored.getPlayerStats("ann").getPoints());
+        assertEquals(1, restored.getPlayerStats("bob").getGames());
+        assertEquals(2, restored.getPuzzleStats("cold", "card").getGames());
+        assertEquals("ann", restored.topPlayers(1).get(0).getKey());
+    }
+
+    @Test
+    public void testConcurrentCompletionsAreAllCounted() throws Exception {
+        StatsStore store = new StatsStore(10);
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    store.recordCompletion("p" + (i % 16), "cold", "card", true, 2, 2, 100 + id);
+                }
+            }));
+        }
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        pool.shutdown();
+
+        assertEquals(threads * perThread, store.getPuzzleStats("cold", "card").getGames());
+        long total = 0;
+        for (StatsStore.Entry e : store.topPlayers(10)) {
+            total += e.getScore();
+        }
+        assertEquals(10 * (threads * perThread / 16) * 100L, total);
+    }
+}
@@ -0,0 +1,194 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+public class WeightedSearchTest {
+
+    private Dictionary dictionary;
+
+    @BeforeEach
+    public void setUp() {
+        dictionary = new Dictionary(Arrays.asList("cat", "car", "cart", "card", "care", "art", "bat", "bet", "bt", "zzzz"));
+    }
+
+    @Test
+    public void testMoveCost() {
+        LadderRules scrabble = LadderRules.scrabble(true, 2, 3);
+        assertEquals(1, LadderRules.CLASSIC.moveCost("cat", "car"));
+        assertEquals(-1, LadderRules.CLASSIC.moveCost("cat", "cart"));
+        assertEquals(-1, LadderRules.CLASSIC.moveCost("cat", "cat"));
+        assertEquals(1, LadderRules.ADD_REMOVE.moveCost("cat", "cart"));
+        assertEquals(1, LadderRules.ADD_REMOVE.moveCost("cart", "art"));
+        assertEquals(-1, LadderRules.ADD_REMOVE.moveCost("cat", "card"));
+        assertEquals(10, scrabble.moveCost("cat", "qat"));
+        assertEquals(2, scrabble.moveCost("cat", "scat"));
+        assertEquals(3, scrabble.moveCost("cart", "car"));
+        assertThrows(IllegalArgumentException.class, () -> new LadderRules(true, new int[26], 1, 1));
+    }
+
+    @Test
+    public void testLadderGraphLinksWordsOneLetterApart() {
+        LadderGraph graph = dictionary.getLadderGraph();
+        assertSame(graph, dictionary.getLadderGraph());
+        int cart = dictionary.idOf("cart");
+        assertEquals(new HashSet<>(Arrays.asList("art", "car", "cat")), removeNeighbors(graph, cart));
+        int car = dictionary.idOf("car");
+        List<String> added = new ArrayList<>();
+        for (int e = graph.firstAdd(car); e < graph.endAdd(car); e++) {
+            added.add(dictionary.wordAt(graph.addTargetAt(e)));
+        }
+        assertEquals(Arrays.asList("card", "care", "cart"), added); // sorted by id
+        assertTrue(graph.isAddRemovePair(cart, car));
+        assertTrue(graph.isAddRemovePair(car, cart));
+        assertFalse(graph.isAddRemovePair(car, dictionary.idOf("cat")));
+    }
+
+    @Test
+    public void testCheapestLadderMayChangeLength() {
+        int[] costs = new int[26];
+        Arrays.fill(costs, 1);
+        costs['e' - 'a'] = 10;
+        LadderRules rules = new LadderRules(true, costs, 1, 1);
+        WeightedSearch search = new WeightedSearch();
+        int bat = dictionary.idOf("bat");
+        int bet = dictionary.idOf("bet");
+
+        // bat -> bet costs 10 directly, 2 through "bt"
+        assertEquals(2, search.shortestPath(dictionary, rules, bat, bet));
+        int[] ids = new int[search.pathLength(bet)];
+        search.copyPath(bet, ids);
+        assertArrayEquals(new int[]{bat, dictionary.idOf("bt"), bet}, ids);
+
+        assertEquals(1, search.shortestPath(dictionary, LadderRules.ADD_REMOVE, bat, bet));
+        assertEquals(10, search.shortestPath(dictionary, new LadderRules(false, costs, 1, 1), bat, bet));
+        assertEquals(2, search.shortestPath(dictionary, LadderRules.ADD_REMOVE,
+                dictionary.idOf("cat"), dictionary.idOf("card")));
+        assertEquals(-1, search.shortestPath(dictionary, LadderRules.ADD_REMOVE, bat, dictionary.idOf("zzzz")));
+        assertEquals(0, search.shortestPath(dictionary, rules, bat, bat));
+    }
+
+    @Test
+    public void testUnitCostsMatchBreadthFirstSearch() {
+        Dictionary words = new Dictionary("word_ladder_words.txt");
+        WeightedSearch weighted = new WeightedSearch();
+        SearchContext bfs = new SearchContext();
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            int start = random.nextInt(words.size());
+            int end = random.nextInt(words.size());
+            assertEquals(bfs.shortestPath(words.getNeighborIndex(), start, end),
+                    weighted.shortestPath(words, LadderRules.CLASSIC, start, end));
+        }
+    }
+
+    @Test
+    public void testCheapestCostsMatchExhaustiveSearch() {
+        // Small dense mixed-length dictionary; reference costs from a quadratic Dijkstra over moveCost
+        Random random = new Random(11);
+        Set<String> source = new HashSet<>();
+        while (source.size() < 300) {
+            StringBuilder word = new StringBuilder();
+            for (int i = 1 + random.nextInt(4); i > 0; i--) {
+                word.append("aeqxz".charAt(random.nextInt(5)));
+            }
+            source.add(word.toString());
+        }
+        Dictionary words = new Dictionary(source);
+        WeightedSearch search = new WeightedSearch();
+        for (LadderRules rules : new LadderRules[]{LadderRules.ADD_REMOVE, LadderRules.scrabble(true, 3, 2),
+                LadderRules.scrabble(false, 1, 1)}) {
+            for (int trial = 0; trial < 10; trial++) {
+                int start = random.nextInt(words.size());
+                int[] expected = referenceCosts(words, rules, start);
+                for (int target = 0; target < words.size(); target++) {
+                    int cost = search.shortestPath(words, rules, start, target);
+                    assertEquals(expected[target], cost, rules + ": " + words.wordAt(start) + " -> " + words.wordAt(target));
+                    if (cost > 0) {
+                        int[] ids = new int[search.pathLength(target)];
+                        search.copyPath(target, ids);
+                        int sum = 0;
+                        for (int i = 1; i < ids.length; i++) {
+                            sum += rules.moveCost(words.wordAt(ids[i - 1]), words.wordAt(ids[i]));
+                        }
+                        assertEquals(cost, sum);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNeighborsAndMovesUnderAddRemoveRules() {
+        Set<String> neighbors = new HashSet<>();
+        for (Word w : dictionary.wordFor("car").getNeighbors(LadderRules.ADD_REMOVE)) {
+            neighbors.add(w.getWord());
+        }
+        assertEquals(new HashSet<>(Arrays.asList("cat", "card", "care", "cart")), neighbors);
+        assertEquals(dictionary.wordFor("car").getNeighbors(), dictionary.wordFor("car").getNeighbors(LadderRules.CLASSIC));
+
+        Set<String> detached = new HashSet<>();
+        for (Word w : new Word("caat", dictionary).getNeighbors(LadderRules.ADD_REMOVE)) {
+            detached.add(w.getWord());
+        }
+        assertEquals(new HashSet<>(Arrays.asList("cat", "cart")), detached);
+
+        Player player = new Player("cat", dictionary, LadderRules.scrabble(true, 2, 2));
+        assertTrue(player.makeMove("cart"));
+        assertTrue(player.makeMove("card"));
+        assertFalse(player.makeMove("bet"));
+        assertEquals(4, player.getTotalCost());
+        assertTrue(player.hasReachedGoal("card"));
+    }
+
+    @Test
+    public void testDetachedWordsAddAnyCharacterOfTheDictionary() {
+        Dictionary withAb = new Dictionary(Arrays.asList("ab'", "ab", "cd"));
+        Dictionary withoutAb = new Dictionary(Arrays.asList("ab'", "cd"));
+        Set<String> canonical = new HashSet<>();
+        for (Word w : withAb.wordFor("ab").getNeighbors(LadderRules.ADD_REMOVE)) {
+            canonical.add(w.getWord());
+        }
+        Set<String> detached = new HashSet<>();
+        for (Word w : new Word("ab", withoutAb).getNeighbors(LadderRules.ADD_REMOVE)) {
+            detached.add(w.getWord());
+        }
+        assertEquals(Collections.singleton("ab'"), canonical);
+        assertEquals(canonical, detached);
+    }
+
+    private static int[] referenceCosts(Dictionary words, LadderRules rules, int start) {
+        int n = words.size();
+        int[] cost = new int[n];
+        boolean[] done = new boolean[n];
+        Arrays.fill(cost, -1);
+        cost[start] = 0;
+        for (int round = 0; round < n; round++) {
+            int best = -1;
+            for (int id = 0; id < n; id++) {
+                if (!done[id] && cost[id] >= 0 && (best < 0 || cost[id] < cost[best])) {
+                    best = id;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            done[best] = true;
+            for (int id = 0; id < n; id++) {
+                int move = rules.moveCost(words.wordAt(best), words.wordAt(id));
+                if (move > 0 && (cost[id] < 0 || cost[best] + move < cost[id])) {
+                    cost[id] = cost[best] + move;
+                }
+            }
+        }
+        return cost;
+    }
+
+    private Set<String> removeNeighbors(LadderGraph graph, int id) {
+        Set<String> words = new HashSet<>();
+        for (int e = graph.firstRemove(id); e < graph.endRemove(id); e++) {
+            words.add(dictionary.wordAt(graph.removeTargetAt(e)));
+        }
+        return words;
+    }
+}
@@ -50,4 +50,32 @@ public class WordTest {
         Word word = new Word("Back", dictionary);
         assertEquals("back", word.toString());
     }
+
+    @Test
+    public void testDictionaryHandsOutCanonicalWords() {
+        Word cold = dictionary.wordFor("COLD");
+        assertSame(cold, dictionary.wordFor("cold"));
+        assertSame(cold, dictionary.canonicalWord(dictionary.idOf("cold")));
+        assertEquals(dictionary.idOf("cold"), cold.getId());
+        assertEquals(new Word("cold", dictionary), cold);
+        assertEquals(new Word("cold", dictionary).hashCode(), cold.hashCode());
+
+        Word unknown = dictionary.wordFor("qqqq");
+        assertEquals(-1, unknown.getId());
+        assertNotSame(unknown, dictionary.wordFor("qqqq"));
+    }
+
+    @Test
+    public void testCanonicalNeighborsAreCachedAndCanonical() {
+        Word cold = dictionary.wordFor("cold");
+        Set<Word> neighbors = cold.getNeighbors();
+        assertSame(neighbors, cold.getNeighbors());
+        assertEquals(neighbors, new Word("cold", dictionary).getNeighbors());
+        assertEquals(dictionary.getNeighborIndex().degree(cold.getId()), neighbors.size());
+        for (Word neighbor : neighbors) {
+            assertSame(dictionary.wordFor(neighbor.getWord()), neighbor);
+        }
+        assertTrue(neighbors.contains(new Word("CORD", dictionary)));
+        assertFalse(neighbors.contains(dictionary.wordFor("card")));
+    }
 }